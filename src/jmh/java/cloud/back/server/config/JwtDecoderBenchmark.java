@@ -0,0 +1,77 @@
+package cloud.back.server.config;
+
+import cloud.back.server.security.CachingReactiveJwtDecoder;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SecurityConfiguration.reactiveJwtDecoder 로 만든 decoder 의 HS512 토큰 디코딩
+ * - uncached: 캐시 없이 매번 서명 검증 + claim 파싱 (Hs512ReactiveJwtDecoder)
+ * - cached: 같은 토큰 반복 (캐시 hit)
+ * ./gradlew jmh -PjmhIncludes=JwtDecoderBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtDecoderBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-benchmark-jwt-secret-benchmark-jwt-secret-0";
+
+    private ReactiveJwtDecoder uncachedDecoder;
+    private ReactiveJwtDecoder cachedDecoder;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        JwtCacheProperties disabled = new JwtCacheProperties();
+        disabled.setEnabled(false);
+        JwtCacheProperties enabled = new JwtCacheProperties();
+        Cache<CachingReactiveJwtDecoder.TokenDigest, Jwt> cache = new CacheConfig().verifiedJwtCache(enabled);
+
+        SecurityConfiguration configuration = new SecurityConfiguration();
+        ReflectionTestUtils.setField(configuration, "jwtSecret", SECRET);
+        uncachedDecoder = configuration.reactiveJwtDecoder(disabled, cache);
+        cachedDecoder = configuration.reactiveJwtDecoder(enabled, cache);
+
+        token = Jwts.builder()
+                .subject("홍길동")
+                .claim("userKey", "U-1234567890")
+                .claim("role", "USER")
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plusSeconds(3600)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+                .compact();
+    }
+
+    @Benchmark
+    public Jwt uncached() {
+        return uncachedDecoder.decode(token).block();
+    }
+
+    @Benchmark
+    public Jwt cached() {
+        return cachedDecoder.decode(token).block();
+    }
+}
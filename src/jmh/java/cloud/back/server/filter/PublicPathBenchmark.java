@@ -0,0 +1,47 @@
+package cloud.back.server.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter.isPublicPath (AntPathMatcher) 비용
+ * ./gradlew jmh -PjmhIncludes=PublicPathBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PublicPathBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-benchmark-jwt-secret-benchmark-jwt-secret-0";
+
+    // 공개 경로 / 메서드 조건에 걸리는 경로 / 모든 패턴을 다 보는 비공개 경로
+    @Param({"/auth/login", "/api/users", "/api/muse/v1/albums/42/tracks"})
+    public String path;
+
+    private JwtAuthenticationFilter filter;
+
+    @Setup
+    public void setUp() {
+        filter = new JwtAuthenticationFilter(SECRET);
+    }
+
+    @Benchmark
+    public boolean isPublicPath() {
+        return filter.isPublicPath(path, HttpMethod.GET);
+    }
+}
@@ -0,0 +1,84 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.security.GatewayServiceAuthenticationToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserHeaderFilter - 인증 정보에서 X-User-* 헤더를 만드는 비용
+ * ./gradlew jmh -PjmhIncludes=UserHeaderFilterBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserHeaderFilterBenchmark {
+
+    private final UserHeaderFilter filter = new UserHeaderFilter();
+    private ServerWebExchange exchange;
+    private Authentication jwtAuthentication;
+    private Authentication gatewayAuthentication;
+    private GatewayFilterChain chain;
+    private ServerWebExchange forwarded;
+
+    @Setup
+    public void setUp() {
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/muse/v1/albums")
+                .header("Authorization", "Bearer token"));
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS512")
+                .subject("홍길동")
+                .claim("userKey", "U-1234567890")
+                .claim("role", "USER")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+        jwtAuthentication = new JwtAuthenticationToken(jwt);
+        gatewayAuthentication = GatewayServiceAuthenticationToken.authenticated(
+                "GW-STORE-001", "POST", "/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat",
+                "1760000000000", "nonce", "signature"
+        );
+        chain = mutated -> {
+            forwarded = mutated;
+            return Mono.empty();
+        };
+    }
+
+    @Benchmark
+    public ServerWebExchange jwtUser() {
+        filter.filter(exchange, chain)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(jwtAuthentication))
+                .block();
+        return forwarded;
+    }
+
+    @Benchmark
+    public ServerWebExchange gatewayService() {
+        filter.filter(exchange, chain)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(gatewayAuthentication))
+                .block();
+        return forwarded;
+    }
+}
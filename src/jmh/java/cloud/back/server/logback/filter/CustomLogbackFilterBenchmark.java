@@ -0,0 +1,52 @@
+package cloud.back.server.logback.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CustomLogbackFilter.decide - appender 마다 모든 로그 이벤트에서 호출됩니다
+ * ./gradlew jmh -PjmhIncludes=CustomLogbackFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomLogbackFilterBenchmark {
+
+    private final CustomLogbackFilter filter = new CustomLogbackFilter();
+    private final LoggingEvent accepted = new LoggingEvent();
+    private final LoggingEvent denied = new LoggingEvent();
+
+    @Setup
+    public void setUp() {
+        filter.setLevels("WARN|ERROR");
+        filter.start();
+        accepted.setLevel(Level.ERROR);
+        denied.setLevel(Level.DEBUG);
+    }
+
+    @Benchmark
+    public FilterReply accept() {
+        return filter.decide(accepted);
+    }
+
+    @Benchmark
+    public FilterReply deny() {
+        return filter.decide(denied);
+    }
+}
@@ -0,0 +1,68 @@
+package cloud.back.server.ratelimit;
+
+import cloud.back.server.config.RateLimitProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서로 다른 키 수에 따른 rate limiter 판정 비용 (4 스레드 동시)
+ * - 한도는 운영 기본값 (gateway.rate-limit.maximum-keys) 을 씁니다.
+ *   4백만 키는 한도를 넘으므로, warmup 중에 테이블이 찬 뒤에는 새 키 거절 경로 (rejectedNewKeyCount) 를 같이 잽니다.
+ * ./gradlew jmh -PjmhIncludes=RouteRateLimiterBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+@Threads(4)
+public class RouteRateLimiterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        @Param({"1000", "1000000", "4000000"})
+        public int keyCount;
+
+        RouteRateLimiter limiter;
+        String[] keys;
+
+        @Setup
+        public void setUp() {
+            limiter = new RouteRateLimiter(20.0, 40, Duration.ofMinutes(10), new RateLimitProperties().getMaximumKeys());
+            keys = new String[keyCount];
+            for (int i = 0; i < keyCount; i++) {
+                keys[i] = "gateway:GW-STORE-" + i;
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        @Setup
+        public void setUp() {
+            next = (int) (Thread.currentThread().threadId() * 7919);
+        }
+    }
+
+    @Benchmark
+    public boolean tryAcquire(Shared shared, Cursor cursor) {
+        int index = Math.floorMod(cursor.next++, shared.keys.length);
+        return shared.limiter.tryAcquire(shared.keys[index], System.nanoTime()).allowed();
+    }
+}
@@ -0,0 +1,99 @@
+package cloud.back.server.route;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cloud.gateway.handler.predicate.PathRoutePredicateFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * 합성 라우트 수백 개에서 순차 predicate 평가 vs {@link RouteMatchIndex}
+ * 요청은 마지막에 등록된 라우트에 매칭됩니다 (순차 평가의 최악 경우).
+ * ./gradlew jmh -PjmhIncludes=RouteMatchIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteMatchIndexBenchmark {
+
+    @Param({"12", "100", "500"})
+    public int routeCount;
+
+    private final PathRoutePredicateFactory pathFactory = new PathRoutePredicateFactory();
+    private List<Route> routes;
+    private List<Predicate<ServerWebExchange>> predicates;
+    private final Map<Route, Predicate<ServerWebExchange>> predicateByRoute = new IdentityHashMap<>();
+    private RouteMatchIndex index;
+    private ServerWebExchange exchange;
+
+    @Setup
+    public void setUp() {
+        routes = new ArrayList<>(routeCount);
+        predicates = new ArrayList<>(routeCount);
+        for (int i = 0; i < routeCount; i++) {
+            String pattern = "/api/service-" + i + "/v1/**";
+            Predicate<ServerWebExchange> predicate = pathFactory.apply(config -> config.setPatterns(List.of(pattern)));
+            predicates.add(predicate);
+            Route route = Route.async()
+                    .id("service-" + i)
+                    .uri("lb://service-" + i)
+                    .predicate(predicate)
+                    .metadata(RouteMatchIndex.PATH, pattern)
+                    .build();
+            routes.add(route);
+            predicateByRoute.put(route, predicate);
+        }
+        index = new RouteMatchIndex(routes);
+        exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/service-" + (routeCount - 1) + "/v1/items/42"));
+    }
+
+    /**
+     * 기존 방식: 라우트 순서대로 path predicate 평가
+     */
+    @Benchmark
+    public Route sequential() {
+        for (int i = 0; i < predicates.size(); i++) {
+            if (predicates.get(i).test(exchange)) {
+                return routes.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 인덱스 후보 조회 + 후보 predicate 확인
+     */
+    @Benchmark
+    public Route indexed() {
+        ServerHttpRequest request = exchange.getRequest();
+        for (Route route : index.candidates(request.getPath().pathWithinApplication(), request.getMethod())) {
+            if (predicateByRoute.get(route).test(exchange)) {
+                return route;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,102 @@
+package cloud.back.server.security;
+
+import cloud.back.server.config.GatewayServiceAuthProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gateway 서비스 인증 경로 (converter + authentication manager)
+ * ./gradlew jmh -PjmhIncludes=GatewayAuthenticationBenchmark
+ *
+ * authenticate 는 같은 nonce 를 두 번 받을 수 없으므로 SingleShotTime + batchSize 로 측정합니다.
+ * iteration 마다 (측정 밖에서) 새 manager 와 새로 서명한 토큰 TOKENS 개를 만들고, 호출마다 다음 토큰을 인증합니다.
+ * authenticate 점수는 TOKENS 건 한 묶음의 시간이며, gc.alloc.rate.norm 은 호출 한 번 (토큰 한 건) 기준입니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewayAuthenticationBenchmark {
+
+    private static final String SECRET = "zeroq-gateway-local-shared-secret";
+    private static final String GATEWAY_ID = "GW-STORE-001";
+    private static final String PATH = "/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat";
+    private static final int TOKENS = 16_384;
+
+    private final GatewayServiceAuthenticationConverter converter = new GatewayServiceAuthenticationConverter();
+    private final GatewayServiceAuthProperties properties = new GatewayServiceAuthProperties();
+    private GatewayServiceAuthenticationToken[] tokens;
+    private int next;
+    private GatewayServiceAuthenticationManager manager;
+    private ServerWebExchange exchange;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() throws Exception {
+        properties.setSharedSecret(SECRET);
+        properties.setAllowedClockSkewSeconds(300);
+        // 토큰 묶음 전체가 한 버킷에 들어가도록 설정
+        properties.setNonceBucketSeconds(300);
+        properties.setNonceBucketCapacity(TOKENS);
+
+        GatewayServiceAuthenticationToken token = signedTokens(1)[0];
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.POST, PATH)
+                .header(GatewayServiceAuthenticationConverter.GATEWAY_ID_HEADER, GATEWAY_ID)
+                .header(GatewayServiceAuthenticationConverter.TIMESTAMP_HEADER, token.getTimestamp())
+                .header(GatewayServiceAuthenticationConverter.NONCE_HEADER, token.getNonce())
+                .header(GatewayServiceAuthenticationConverter.SIGNATURE_HEADER, token.getSignature()));
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() throws Exception {
+        manager = new GatewayServiceAuthenticationManager(properties);
+        tokens = signedTokens(TOKENS);
+        next = 0;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = TOKENS)
+    @Measurement(iterations = 20, batchSize = TOKENS)
+    public Authentication authenticate() {
+        return manager.authenticate(tokens[next++]).block();
+    }
+
+    @Benchmark
+    public Authentication convert() {
+        return converter.convert(exchange).block();
+    }
+
+    private static GatewayServiceAuthenticationToken[] signedTokens(int count) throws Exception {
+        String timestamp = String.valueOf(Instant.now().toEpochMilli());
+        GatewayServiceAuthenticationToken[] signed = new GatewayServiceAuthenticationToken[count];
+        for (int i = 0; i < count; i++) {
+            String nonce = UUID.randomUUID().toString();
+            String signature = GatewayServiceAuthenticationManager.hmacHex(
+                    GatewayServiceAuthenticationManager.buildPayload(GATEWAY_ID, "POST", PATH, timestamp, nonce),
+                    SECRET
+            );
+            signed[i] = new GatewayServiceAuthenticationToken(GATEWAY_ID, "POST", PATH, timestamp, nonce, signature);
+        }
+        return signed;
+    }
+}
@@ -0,0 +1,67 @@
+package cloud.back.server.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gateway 서명 검증 전/후 비교
+ * ./gradlew jmh -PjmhIncludes=GatewaySignatureBenchmark  (gc profiler 의 gc.alloc.rate.norm 참고)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GatewaySignatureBenchmark {
+
+    private static final String SECRET = "zeroq-gateway-local-shared-secret";
+
+    private final String gatewayId = "GW-STORE-001";
+    private final String method = "POST";
+    private final String path = "/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat";
+    private final String timestamp = "1760000000000";
+    private final String nonce = "6c0b5d0e-3f4c-4b8e-9a57-0c8f0f7f6b21";
+
+    private GatewaySignatureEngine engine;
+    private String signature;
+
+    @Setup
+    public void setUp() throws Exception {
+        engine = new GatewaySignatureEngine(SECRET);
+        signature = GatewayServiceAuthenticationManager.hmacHex(
+                GatewayServiceAuthenticationManager.buildPayload(gatewayId, method, path, timestamp, nonce),
+                SECRET
+        );
+    }
+
+    /**
+     * 기존 방식: 요청마다 Mac.getInstance + SecretKeySpec + String.join + hex 문자열 비교
+     */
+    @Benchmark
+    public boolean legacyVerify() throws Exception {
+        String payload = GatewayServiceAuthenticationManager.buildPayload(gatewayId, method, path, timestamp, nonce);
+        String expected = GatewayServiceAuthenticationManager.hmacHex(payload, SECRET);
+        return MessageDigest.isEqual(
+                expected.getBytes(StandardCharsets.UTF_8),
+                signature.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    @Benchmark
+    public boolean engineVerify() {
+        return engine.verify(gatewayId, method, path, timestamp, nonce, signature);
+    }
+}
@@ -0,0 +1,97 @@
+package cloud.back.server.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HS512 토큰 검증 (캐시 없이 매번 서명 검증)
+ * - jjwt: JwtAuthenticationFilter 방식 (요청마다 Jwts.parser().verifyWith(...).build())
+ * - nimbus: 기존 reactiveJwtDecoder (NimbusReactiveJwtDecoder)
+ * - hs512Verify: Hs512JwtVerifier.verify + sub/userKey/role 읽기
+ * - hs512Decode: Hs512ReactiveJwtDecoder (Spring Security 용 Jwt 생성 포함)
+ * ./gradlew jmh -PjmhIncludes=Hs512JwtVerifierBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Hs512JwtVerifierBenchmark {
+
+    private static final String SECRET = "benchmark-jwt-secret-benchmark-jwt-secret-benchmark-jwt-secret-0";
+
+    private SecretKey jjwtKey;
+    private ReactiveJwtDecoder nimbusDecoder;
+    private Hs512JwtVerifier verifier;
+    private ReactiveJwtDecoder hs512Decoder;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jjwtKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        nimbusDecoder = NimbusReactiveJwtDecoder
+                .withSecretKey(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA512"))
+                .macAlgorithm(MacAlgorithm.HS512)
+                .build();
+        verifier = new Hs512JwtVerifier(SECRET, Duration.ofSeconds(60));
+        hs512Decoder = new Hs512ReactiveJwtDecoder(verifier);
+
+        token = Jwts.builder()
+                .subject("홍길동")
+                .claim("userKey", "U-1234567890")
+                .claim("role", "USER")
+                .issuedAt(new Date())
+                .expiration(Date.from(Instant.now().plusSeconds(3600)))
+                .signWith(jjwtKey, Jwts.SIG.HS512)
+                .compact();
+    }
+
+    @Benchmark
+    public Jws<Claims> jjwt() {
+        return Jwts.parser()
+                .verifyWith(jjwtKey)
+                .build()
+                .parseSignedClaims(token);
+    }
+
+    @Benchmark
+    public Jwt nimbus() {
+        return nimbusDecoder.decode(token).block();
+    }
+
+    @Benchmark
+    public String hs512Verify() {
+        Hs512JwtVerifier.VerifiedToken verified = verifier.verify(token);
+        return verified.subject() + verified.stringClaim("userKey") + verified.stringClaim("role");
+    }
+
+    @Benchmark
+    public Jwt hs512Decode() {
+        return hs512Decoder.decode(token).block();
+    }
+}
@@ -0,0 +1,120 @@
+package cloud.back.server.security;
+
+import cloud.back.server.config.SecurityConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 보안 체인 선택 비용
+ * - chained: 기존 설정처럼 체인별 pathMatchers 를 순서대로 보고, 기본 체인에서는 permitAll 규칙 6개를 차례로 평가
+ * - indexed: SecurityDispatchIndex (정규화한 경로 + 메서드별 캐시)
+ * - path=ids 는 ID segment / matrix 변수가 섞인 서로 다른 경로 32768 개 (캐시 크기 10,000 보다 많음) 를 돌아가며 씁니다.
+ * ./gradlew jmh -PjmhIncludes=SecurityDispatchBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityDispatchBenchmark {
+
+    private static final String ID_PATHS = "ids";
+    private static final int ID_PATH_COUNT = 1 << 15;
+
+    // 공개 체인 / 익명 permitAll (muse) / 모든 규칙을 다 보는 인증 경로 / ID 가 들어간 경로 혼합
+    @Param({"/.well-known/jwks.json", "/api/muse/v1/artworks/42", "/api/zeroq/v1/stores/42/sensors", ID_PATHS})
+    public String path;
+
+    private MockServerWebExchange[] exchanges;
+    private int next;
+    private List<ServerWebExchangeMatcher> chainMatchers;
+    private List<ServerWebExchangeMatcher> permitAllMatchers;
+    private SecurityDispatchIndex index;
+
+    @Setup
+    public void setUp() {
+        if (ID_PATHS.equals(path)) {
+            SplittableRandom random = new SplittableRandom(42);
+            exchanges = new MockServerWebExchange[ID_PATH_COUNT];
+            for (int i = 0; i < ID_PATH_COUNT; i++) {
+                exchanges[i] = MockServerWebExchange.from(MockServerHttpRequest.get(idPath(i, random.nextInt(1_000_000))));
+            }
+        } else {
+            exchanges = new MockServerWebExchange[]{MockServerWebExchange.from(MockServerHttpRequest.get(path))};
+        }
+        chainMatchers = List.of(
+                ServerWebExchangeMatchers.pathMatchers(
+                        "/auth/login", "/auth/refresh",
+                        "/oauth2/**", "/login/**", "/.well-known/**"
+                ),
+                ServerWebExchangeMatchers.pathMatchers("/internal/zeroq/gateway/**")
+        );
+        permitAllMatchers = List.of(
+                ServerWebExchangeMatchers.pathMatchers(HttpMethod.POST, "/api/users"),
+                ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET, "/api/muse/v1/home"),
+                ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET, "/api/muse/v1/overview"),
+                ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET, "/api/muse/v1/contests/**"),
+                ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET, "/api/muse/v1/gallery/**"),
+                ServerWebExchangeMatchers.pathMatchers(HttpMethod.GET, "/api/muse/v1/artworks/**")
+        );
+        index = new SecurityConfiguration().securityDispatchIndex();
+    }
+
+    private static String idPath(int i, int id) {
+        return switch (i % 4) {
+            case 0 -> "/api/muse/v1/artworks/" + id;
+            case 1 -> "/api/zeroq/v1/stores/" + id + "/sensors";
+            case 2 -> "/api/zeroq/v1/stores/" + id + ";v=" + (id % 7);
+            default -> "/api/users/" + id + "/";
+        };
+    }
+
+    private MockServerWebExchange exchange() {
+        MockServerWebExchange exchange = exchanges[next];
+        next = next + 1 == exchanges.length ? 0 : next + 1;
+        return exchange;
+    }
+
+    @Benchmark
+    public int chained() {
+        MockServerWebExchange exchange = exchange();
+        for (int i = 0; i < chainMatchers.size(); i++) {
+            if (chainMatchers.get(i).matches(exchange).block().isMatch()) {
+                return i;
+            }
+        }
+        for (ServerWebExchangeMatcher matcher : permitAllMatchers) {
+            if (matcher.matches(exchange).block().isMatch()) {
+                return chainMatchers.size();
+            }
+        }
+        return chainMatchers.size() + 1;
+    }
+
+    @Benchmark
+    public SecurityDispatchIndex.Chain indexed() {
+        // 요청마다 새 exchange 인 것처럼 체인 선택 결과 속성을 비웁니다
+        MockServerWebExchange exchange = exchange();
+        exchange.getAttributes().clear();
+        return index.chainFor(exchange);
+    }
+}
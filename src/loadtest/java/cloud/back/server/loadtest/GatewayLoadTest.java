@@ -0,0 +1,105 @@
+package cloud.back.server.loadtest;
+
+import ch.qos.logback.classic.LoggerContext;
+import cloud.back.server.CloudBackServerApplication;
+import cloud.back.server.logback.CountingAsyncAppender;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 오프라인 end-to-end 부하 테스트
+ * - lb:// 서비스들을 내장 Netty stub 으로 띄우고, Eureka 대신 simple discovery client 로 연결합니다.
+ * - 게이트웨이를 같은 JVM 에서 임의 포트로 띄운 뒤 {@link LoadGenerator} 로 부하를 주고 라우트별 결과를 출력합니다.
+ *
+ * ./gradlew loadTest -PloadTestArgs="--duration=60s --concurrency=128 --stub-latency=10ms"
+ */
+public final class GatewayLoadTest {
+
+    static final List<String> SERVICES = List.of(
+            "auth-back-server",
+            "zeroq-back-sensor",
+            "zeroq-back-service",
+            "semo-back-service",
+            "muse-back-service"
+    );
+
+    private static final String JWT_SECRET = "loadtest-jwt-secret-loadtest-jwt-secret-loadtest-jwt-secret-0000";
+    private static final String GATEWAY_SECRET = "loadtest-gateway-shared-secret";
+
+    private GatewayLoadTest() {
+    }
+
+    public static void main(String[] args) {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        List<StubBackend> stubs = new ArrayList<>();
+        try {
+            for (String service : SERVICES) {
+                stubs.add(StubBackend.start(service, options.stubLatency(), options.payloadBytes()));
+            }
+            try (ConfigurableApplicationContext gateway = startGateway(options, stubs)) {
+                int port = Integer.parseInt(gateway.getEnvironment().getRequiredProperty("local.server.port"));
+                LoadGenerator generator = new LoadGenerator(port, options, JWT_SECRET, GATEWAY_SECRET);
+                try {
+                    System.out.printf("warmup %s, concurrency %d, stub latency %s, payload %d bytes%n",
+                            options.warmup(), options.concurrency(), options.stubLatency(), options.payloadBytes());
+                    generator.run(options.warmup()).block();
+                    generator.reset();
+
+                    long startNanos = System.nanoTime();
+                    generator.run(options.duration()).block();
+                    generator.report(Duration.ofNanos(System.nanoTime() - startNanos), System.out);
+                    reportDroppedLogEvents();
+                } finally {
+                    generator.close();
+                }
+            }
+        } finally {
+            stubs.forEach(StubBackend::close);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * prod 로깅 프로필 (--spring.profiles.active=prod) 로 돌렸을 때 async appender 가 버린 이벤트 수
+     */
+    private static void reportDroppedLogEvents() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        for (CountingAsyncAppender appender : CountingAsyncAppender.find(context)) {
+            System.out.printf("log appender %-22s discarded %8d  queue full %8d%n",
+                    appender.getName(), appender.discardedCount(), appender.queueFullCount());
+        }
+    }
+
+    private static ConfigurableApplicationContext startGateway(LoadTestOptions options, List<StubBackend> stubs) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("management.server.port", 0);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("eureka.client.enabled", false);
+        for (StubBackend stub : stubs) {
+            properties.put("spring.cloud.discovery.client.simple.instances." + stub.serviceId() + "[0].uri", stub.uri());
+        }
+        properties.put("app.jwt.secret", JWT_SECRET);
+        properties.put("gateway.auth.shared-secret", GATEWAY_SECRET);
+        // 센서 시나리오는 초당 수천 개의 nonce 를 쓰므로 버킷 용량을 늘립니다
+        properties.put("gateway.auth.nonce-bucket-capacity", 262_144);
+        // 센서 시나리오는 gateway id 하나로 보내므로 rate limit 이 켜져 있으면 대부분 429 를 재게 됩니다
+        // 제한을 켠 채로 재려면 --gateway.rate-limit.enabled=true 와 routes 를 넘깁니다
+        properties.put("gateway.rate-limit.enabled", false);
+        properties.put("logging.level.cloud.back", "WARN");
+        properties.putAll(options.gatewayProperties());
+
+        return new SpringApplicationBuilder(CloudBackServerApplication.class)
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,210 @@
+package cloud.back.server.loadtest;
+
+import cloud.back.server.security.GatewayServiceAuthenticationConverter;
+import cloud.back.server.security.GatewaySignatureEngine;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.crypto.SecretKey;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 게이트웨이로 요청을 보내는 closed-loop 부하 생성기
+ * concurrency 개의 worker 가 응답을 받는 즉시 다음 요청을 보내고, 시나리오별로 지연 시간을 HdrHistogram 에 기록합니다.
+ */
+final class LoadGenerator {
+
+    private static final String GATEWAY_ID = "GW-LOADTEST-001";
+    private static final byte[] HEARTBEAT_BODY =
+            ("{\"gatewayId\":\"" + GATEWAY_ID + "\",\"status\":\"UP\"}").getBytes(StandardCharsets.UTF_8);
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    private final HttpClient client;
+    private final ConnectionProvider connectionProvider;
+    private final int concurrency;
+    private final Scenario[] schedule;
+    private final GatewaySignatureEngine signer;
+    private final String[] bearerTokens;
+    private final Map<Scenario, ScenarioStats> stats = new EnumMap<>(Scenario.class);
+
+    LoadGenerator(int gatewayPort, LoadTestOptions options, String jwtSecret, String gatewaySecret) {
+        this.concurrency = options.concurrency();
+        this.connectionProvider = ConnectionProvider.builder("loadtest")
+                .maxConnections(concurrency)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.client = HttpClient.create(connectionProvider).baseUrl("http://127.0.0.1:" + gatewayPort);
+        this.schedule = schedule(options.mix());
+        this.signer = new GatewaySignatureEngine(gatewaySecret);
+        this.bearerTokens = bearerTokens(jwtSecret, options.jwtUsers());
+        for (Scenario scenario : options.mix().keySet()) {
+            stats.put(scenario, new ScenarioStats());
+        }
+    }
+
+    /**
+     * duration 동안 부하를 주고 완료되면 끝나는 Mono
+     */
+    Mono<Void> run(Duration duration) {
+        long deadline = System.nanoTime() + duration.toNanos();
+        return Flux.range(0, concurrency)
+                .flatMap(worker -> Mono.defer(this::send).repeat(() -> System.nanoTime() < deadline), concurrency)
+                .then();
+    }
+
+    /**
+     * warmup 결과를 버립니다
+     */
+    void reset() {
+        stats.values().forEach(ScenarioStats::reset);
+    }
+
+    void report(Duration elapsed, PrintStream out) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        out.printf("%n%-36s %10s %8s %10s %9s %9s %9s %9s%n",
+                "route", "requests", "errors", "req/s", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (Map.Entry<Scenario, ScenarioStats> entry : stats.entrySet()) {
+            ScenarioStats scenarioStats = entry.getValue();
+            Histogram histogram = scenarioStats.latency.getIntervalHistogram();
+            long requests = scenarioStats.completed.sum();
+            out.printf("%-36s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey().routeId(),
+                    requests,
+                    scenarioStats.failed.sum(),
+                    requests / seconds,
+                    millis(histogram.getValueAtPercentile(50.0)),
+                    millis(histogram.getValueAtPercentile(99.0)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+            String lastFailure = scenarioStats.lastFailure;
+            if (lastFailure != null) {
+                out.printf("  last failure: %s%n", lastFailure);
+            }
+        }
+    }
+
+    void close() {
+        connectionProvider.disposeLater().block(Duration.ofSeconds(5));
+    }
+
+    private Mono<Void> send() {
+        Scenario scenario = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+        ScenarioStats scenarioStats = stats.get(scenario);
+        long startNanos = System.nanoTime();
+        return client.request(scenario.method())
+                .uri(scenario.path())
+                .send((request, outbound) -> {
+                    switch (scenario) {
+                        case SENSOR -> {
+                            String timestamp = String.valueOf(Instant.now().toEpochMilli());
+                            String nonce = UUID.randomUUID().toString();
+                            request.header(GatewayServiceAuthenticationConverter.GATEWAY_ID_HEADER, GATEWAY_ID)
+                                    .header(GatewayServiceAuthenticationConverter.TIMESTAMP_HEADER, timestamp)
+                                    .header(GatewayServiceAuthenticationConverter.NONCE_HEADER, nonce)
+                                    .header(GatewayServiceAuthenticationConverter.SIGNATURE_HEADER, signer.signHex(
+                                            GATEWAY_ID, scenario.method().name(), scenario.path(), timestamp, nonce))
+                                    .header(HttpHeaderNames.CONTENT_TYPE, "application/json");
+                            return outbound.sendByteArray(Mono.just(HEARTBEAT_BODY));
+                        }
+                        case JWT -> request.header(HttpHeaderNames.AUTHORIZATION,
+                                bearerTokens[ThreadLocalRandom.current().nextInt(bearerTokens.length)]);
+                        case MUSE -> {
+                        }
+                    }
+                    return outbound;
+                })
+                .response((response, body) -> body.then(Mono.just(response.status().code())))
+                .next()
+                .doOnNext(status -> scenarioStats.record(startNanos, status))
+                .onErrorResume(ex -> {
+                    scenarioStats.recordFailure(startNanos, ex.toString());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static Scenario[] schedule(Map<Scenario, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Scenario[] schedule = new Scenario[total];
+        int index = 0;
+        for (Map.Entry<Scenario, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[index++] = entry.getKey();
+            }
+        }
+        return schedule;
+    }
+
+    private static String[] bearerTokens(String jwtSecret, int users) {
+        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        Date issuedAt = new Date();
+        Date expiresAt = Date.from(Instant.now().plus(Duration.ofHours(1)));
+        String[] tokens = new String[Math.max(1, users)];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = "Bearer " + Jwts.builder()
+                    .subject("loadtest-user-" + i)
+                    .claim("userKey", "LT-" + i)
+                    .claim("role", "USER")
+                    .issuedAt(issuedAt)
+                    .expiration(expiresAt)
+                    .signWith(key, Jwts.SIG.HS512)
+                    .compact();
+        }
+        return tokens;
+    }
+
+    private static final class ScenarioStats {
+        private final Recorder latency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private volatile String lastFailure;
+
+        private void record(long startNanos, int status) {
+            recordLatency(startNanos);
+            if (status >= 400) {
+                failed.increment();
+                lastFailure = "HTTP " + status;
+            }
+        }
+
+        private void recordFailure(long startNanos, String failure) {
+            recordLatency(startNanos);
+            failed.increment();
+            lastFailure = failure;
+        }
+
+        private void recordLatency(long startNanos) {
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+            latency.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            completed.increment();
+        }
+
+        private void reset() {
+            latency.reset();
+            completed.reset();
+            failed.reset();
+            lastFailure = null;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package cloud.back.server.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 옵션 (--key=value)
+ * - --duration=30s --warmup=10s --concurrency=64
+ * - --stub-latency=5ms --payload-bytes=1024
+ * - --mix=sensor:1,jwt:1,muse:1 (시나리오 가중치)
+ * - --jwt-users=100 (서로 다른 JWT 수)
+ * - 그 밖의 --spring.x=y, --gateway.x=y, --app.x=y 는 게이트웨이 설정으로 그대로 넘깁니다.
+ */
+record LoadTestOptions(
+        Duration duration,
+        Duration warmup,
+        int concurrency,
+        Duration stubLatency,
+        int payloadBytes,
+        Map<Scenario, Integer> mix,
+        int jwtUsers,
+        Map<String, Object> gatewayProperties
+) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, Object> gatewayProperties = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            String key = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (key.startsWith("spring.") || key.startsWith("gateway.") || key.startsWith("app.")
+                    || key.startsWith("management.") || key.startsWith("logging.")) {
+                gatewayProperties.put(key, value);
+            } else {
+                values.put(key, value);
+            }
+        }
+        return new LoadTestOptions(
+                duration(values.getOrDefault("duration", "30s")),
+                duration(values.getOrDefault("warmup", "10s")),
+                Integer.parseInt(values.getOrDefault("concurrency", "64")),
+                duration(values.getOrDefault("stub-latency", "5ms")),
+                Integer.parseInt(values.getOrDefault("payload-bytes", "1024")),
+                mix(values.getOrDefault("mix", "sensor:1,jwt:1,muse:1")),
+                Integer.parseInt(values.getOrDefault("jwt-users", "100")),
+                gatewayProperties
+        );
+    }
+
+    private static Duration duration(String value) {
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofMillis(Long.parseLong(value));
+    }
+
+    private static Map<Scenario, Integer> mix(String value) {
+        Map<Scenario, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+            if (weight > 0) {
+                mix.put(Scenario.valueOf(parts[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("--mix must enable at least one scenario");
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,46 @@
+package cloud.back.server.loadtest;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * 부하 시나리오 - 요청 경로와 그 경로가 매칭되는 라우트 id
+ */
+enum Scenario {
+
+    /**
+     * HMAC 서명된 센서 heartbeat (gateway service 인증 체인)
+     */
+    SENSOR("zeroq-gateway-internal-sensor-api", HttpMethod.POST, "/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat"),
+
+    /**
+     * JWT 인증 API (oauth2 resource server 체인)
+     */
+    JWT("zeroq-back-service-api", HttpMethod.GET, "/api/zeroq/v1/stores"),
+
+    /**
+     * 인증 없는 muse 공개 GET
+     */
+    MUSE("muse-back-service-api", HttpMethod.GET, "/api/muse/v1/home");
+
+    private final String routeId;
+    private final HttpMethod method;
+    private final String path;
+
+    Scenario(String routeId, HttpMethod method, String path) {
+        this.routeId = routeId;
+        this.method = method;
+        this.path = path;
+    }
+
+    String routeId() {
+        return routeId;
+    }
+
+    HttpMethod method() {
+        return method;
+    }
+
+    String path() {
+        return path;
+    }
+}
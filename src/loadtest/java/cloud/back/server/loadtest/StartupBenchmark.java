@@ -0,0 +1,195 @@
+package cloud.back.server.loadtest;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 기동 시간 벤치마크 - 새 JVM 을 띄운 순간부터 첫 라우팅 요청이 성공할 때까지의 시간
+ * - lb:// 서비스는 이 프로세스에서 내장 Netty stub 으로 띄우고, 게이트웨이는 매 회 별도 프로세스 (java -jar) 로 띄웁니다.
+ * - 첫 라우팅 요청: 토큰 없이 허용되는 GET /api/muse/v1/home 이 muse stub 응답으로 200 을 받을 때까지 polling 합니다.
+ * - 회차별 로그는 --log-dir 에 남고, 로그의 "Started ... in N seconds" 도 같이 출력합니다.
+ *
+ * ./gradlew startupBenchmark [-Paot] -PstartupArgs="--runs=10"
+ */
+public final class StartupBenchmark {
+
+    private static final String PROBE_PATH = "/api/muse/v1/home";
+    private static final String PROBE_SERVICE = "muse-back-service";
+    private static final String JWT_SECRET = "startup-jwt-secret-startup-jwt-secret-startup-jwt-secret-000000";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        Files.createDirectories(options.logDir());
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+
+        List<StubBackend> stubs = new ArrayList<>();
+        try {
+            for (String service : GatewayLoadTest.SERVICES) {
+                stubs.add(StubBackend.start(service, Duration.ZERO, 256));
+            }
+            System.out.printf("jar %s, jvm args %s, runs %d%n", options.jar(), options.jvmArgs(), options.runs());
+
+            long[] routedNanos = new long[options.runs()];
+            for (int run = 0; run < options.runs(); run++) {
+                Path log = options.logDir().resolve("run-" + (run + 1) + ".log");
+                routedNanos[run] = measure(options, stubs, client, log);
+                System.out.printf("run %2d  first routed request %7.0f ms  spring started %s%n",
+                        run + 1, routedNanos[run] / 1e6, startedSeconds(log));
+            }
+            report(routedNanos);
+        } finally {
+            stubs.forEach(StubBackend::close);
+        }
+        System.exit(0);
+    }
+
+    private static long measure(Options options, List<StubBackend> stubs, HttpClient client, Path log)
+            throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(options.java());
+        command.addAll(options.jvmArgs());
+        command.add("-jar");
+        command.add(options.jar().toString());
+        command.add("--server.port=" + port);
+        command.add("--management.server.port=0");
+        command.add("--spring.main.banner-mode=off");
+        // AOT 빌드는 Eureka 를 켠 채로 bean 구성을 정하므로, 두 방식 모두 Eureka client 는 두고 등록 / 조회만 끕니다
+        command.add("--eureka.client.register-with-eureka=false");
+        command.add("--eureka.client.fetch-registry=false");
+        command.add("--app.jwt.secret=" + JWT_SECRET);
+        for (StubBackend stub : stubs) {
+            command.add("--spring.cloud.discovery.client.simple.instances." + stub.serviceId() + "[0].uri=" + stub.uri());
+        }
+        command.addAll(options.gatewayArgs());
+
+        HttpRequest probe = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + PROBE_PATH))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+        long startNanos = System.nanoTime();
+        Process gateway = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            long deadline = startNanos + options.timeout().toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!gateway.isAlive()) {
+                    throw new IllegalStateException("Gateway exited with " + gateway.exitValue() + ", see " + log);
+                }
+                if (routed(client, probe)) {
+                    return System.nanoTime() - startNanos;
+                }
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+            throw new IllegalStateException("No routed response within " + options.timeout() + ", see " + log);
+        } finally {
+            gateway.destroy();
+            if (!gateway.waitFor(30, TimeUnit.SECONDS)) {
+                gateway.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static boolean routed(HttpClient client, HttpRequest probe) throws InterruptedException {
+        try {
+            HttpResponse<String> response = client.send(probe, HttpResponse.BodyHandlers.ofString());
+            // 게이트웨이 자체 응답 (401, 503 등) 이 아니라 stub 까지 다녀온 응답만 셉니다
+            return response.statusCode() == 200 && response.body().contains("\"service\":\"" + PROBE_SERVICE + "\"");
+        } catch (IOException notListeningYet) {
+            return false;
+        }
+    }
+
+    private static String startedSeconds(Path log) throws IOException {
+        Matcher matcher = STARTED.matcher(Files.readString(log, StandardCharsets.UTF_8));
+        return matcher.find() ? matcher.group(1) + " s" : "-";
+    }
+
+    private static void report(long[] routedNanos) {
+        long[] sorted = routedNanos.clone();
+        Arrays.sort(sorted);
+        System.out.printf("first routed request  min %7.0f ms  median %7.0f ms  max %7.0f ms%n",
+                sorted[0] / 1e6, sorted[sorted.length / 2] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * --jar=path (필수) --runs=5 --timeout=120s --log-dir=build/startup-benchmark
+     * --jvm-arg=X (여러 번) 는 게이트웨이 JVM 옵션, --spring.x=y / --gateway.x=y 등은 게이트웨이 설정으로 넘깁니다.
+     */
+    private record Options(
+            String java,
+            Path jar,
+            int runs,
+            Duration timeout,
+            Path logDir,
+            List<String> jvmArgs,
+            List<String> gatewayArgs
+    ) {
+
+        static Options parse(String[] args) {
+            Path jar = null;
+            int runs = 5;
+            Duration timeout = Duration.ofSeconds(120);
+            Path logDir = Path.of("build", "startup-benchmark");
+            List<String> jvmArgs = new ArrayList<>();
+            List<String> gatewayArgs = new ArrayList<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+                }
+                String key = arg.substring(2, arg.indexOf('='));
+                String value = arg.substring(arg.indexOf('=') + 1);
+                switch (key) {
+                    case "jar" -> jar = Path.of(value);
+                    case "runs" -> runs = Integer.parseInt(value);
+                    case "timeout" -> timeout = Duration.ofSeconds(Long.parseLong(value.replaceFirst("s$", "")));
+                    case "log-dir" -> logDir = Path.of(value);
+                    case "jvm-arg" -> jvmArgs.add(value);
+                    default -> gatewayArgs.add(arg);
+                }
+            }
+            if (jar == null) {
+                throw new IllegalArgumentException("--jar is required");
+            }
+            if (runs <= 0) {
+                throw new IllegalArgumentException("--runs must be positive");
+            }
+            // 같은 JDK 로 게이트웨이를 띄웁니다 (CDS archive 는 만든 JDK 에서만 쓸 수 있습니다)
+            String java = ProcessHandle.current().info().command()
+                    .orElseGet(() -> Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            return new Options(java, jar, runs, timeout, logDir, List.copyOf(jvmArgs), List.copyOf(gatewayArgs));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package cloud.back.server.loadtest;
+
+import io.netty.buffer.Unpooled;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * lb://{serviceId} 대신 응답하는 내장 Netty 서버
+ * 요청 본문을 모두 읽은 뒤 설정한 지연 후에 고정 크기 JSON 을 돌려줍니다.
+ */
+final class StubBackend implements AutoCloseable {
+
+    private final String serviceId;
+    private final DisposableServer server;
+
+    private StubBackend(String serviceId, DisposableServer server) {
+        this.serviceId = serviceId;
+        this.server = server;
+    }
+
+    static StubBackend start(String serviceId, Duration latency, int payloadBytes) {
+        byte[] payload = payload(serviceId, payloadBytes);
+        Mono<Void> delay = latency.isZero() ? Mono.empty() : Mono.delay(latency).then();
+        DisposableServer server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> request.receive().then()
+                        .then(delay)
+                        .then(Mono.defer(() -> response
+                                .header("Content-Type", "application/json")
+                                .header("Content-Length", String.valueOf(payload.length))
+                                .send(Mono.just(Unpooled.wrappedBuffer(payload)))
+                                .then())))
+                .bindNow();
+        return new StubBackend(serviceId, server);
+    }
+
+    String serviceId() {
+        return serviceId;
+    }
+
+    String uri() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private static byte[] payload(String serviceId, int payloadBytes) {
+        String prefix = "{\"service\":\"" + serviceId + "\",\"data\":\"";
+        String suffix = "\"}";
+        int padding = Math.max(0, payloadBytes - prefix.length() - suffix.length());
+        char[] data = new char[padding];
+        Arrays.fill(data, 'x');
+        return (prefix + new String(data) + suffix).getBytes(StandardCharsets.UTF_8);
+    }
+}
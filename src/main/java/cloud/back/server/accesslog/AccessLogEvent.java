@@ -0,0 +1,59 @@
+package cloud.back.server.accesslog;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ring buffer 슬롯에 미리 만들어 두고 재사용하는 접근 로그 항목
+ * 요청 스레드는 참조와 숫자만 채우고, 문자열 조립은 writer 스레드에서 합니다.
+ */
+public final class AccessLogEvent {
+    String method;
+    String path;
+    String routeId;
+    int status;
+    long bytesWritten;
+    URI upstream;
+    long durationNanos;
+    long firstByteNanos;
+    List<String> headerNames = List.of();
+    private final String[] headerValues;
+
+    AccessLogEvent(int maxHeaders) {
+        this.headerValues = new String[maxHeaders];
+    }
+
+    public void set(String method, String path, String routeId, int status, long bytesWritten,
+                    URI upstream, long durationNanos, long firstByteNanos) {
+        this.method = method;
+        this.path = path;
+        this.routeId = routeId;
+        this.status = status;
+        this.bytesWritten = bytesWritten;
+        this.upstream = upstream;
+        this.durationNanos = durationNanos;
+        this.firstByteNanos = firstByteNanos;
+    }
+
+    /**
+     * 기록할 헤더 이름 목록을 지정하고, 값을 채울 배열을 반환합니다 (names 순서와 동일)
+     */
+    public String[] headers(List<String> names) {
+        this.headerNames = names.size() <= headerValues.length ? names : names.subList(0, headerValues.length);
+        return headerValues;
+    }
+
+    String headerValue(int index) {
+        return headerValues[index];
+    }
+
+    void clear() {
+        method = null;
+        path = null;
+        routeId = null;
+        upstream = null;
+        headerNames = List.of();
+        Arrays.fill(headerValues, null);
+    }
+}
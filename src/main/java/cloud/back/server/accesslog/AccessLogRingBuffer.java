@@ -0,0 +1,114 @@
+package cloud.back.server.accesslog;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 다중 생산자 / 단일 소비자 lock-free ring buffer
+ * - 슬롯의 {@link AccessLogEvent} 는 미리 할당해서 재사용합니다.
+ * - 생산자는 CAS 로 순번을 받고, 채운 뒤 published 배열에 순번을 기록해서 공개합니다.
+ * - 가득 차면 기다리지 않고 버리며 dropped 카운터를 올립니다 (요청 스레드를 절대 막지 않음).
+ * - 소비자 handler 가 예외를 던져도 그 항목만 failed 로 세고 다음 항목으로 넘어갑니다.
+ */
+public class AccessLogRingBuffer {
+
+    private final AccessLogEvent[] slots;
+    private final AtomicLongArray published;
+    private final int mask;
+    private final AtomicLong producerSequence = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile RuntimeException lastFailure;
+    private volatile long consumerSequence;
+
+    public AccessLogRingBuffer(int requestedSize, int maxHeaders) {
+        int size = Integer.highestOneBit(Math.max(2, requestedSize) * 2 - 1);
+        this.slots = new AccessLogEvent[size];
+        this.published = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new AccessLogEvent(maxHeaders);
+            published.set(i, -1L);
+        }
+    }
+
+    /**
+     * 슬롯 순번을 받습니다. 가득 찼으면 -1 을 반환합니다.
+     */
+    public long tryClaim() {
+        while (true) {
+            long sequence = producerSequence.get();
+            if (sequence - consumerSequence >= slots.length) {
+                dropped.increment();
+                return -1L;
+            }
+            if (producerSequence.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    public AccessLogEvent get(long sequence) {
+        return slots[(int) sequence & mask];
+    }
+
+    public void publish(long sequence) {
+        published.lazySet((int) sequence & mask, sequence);
+    }
+
+    /**
+     * 공개된 항목을 순서대로 최대 limit 개 처리합니다 (소비자 스레드 전용)
+     */
+    public int drain(EventHandler handler, int limit) {
+        long next = consumerSequence;
+        int processed = 0;
+        while (processed < limit) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) {
+                break;
+            }
+            AccessLogEvent event = slots[index];
+            try {
+                handler.onEvent(event);
+            } catch (RuntimeException ex) {
+                failed.increment();
+                lastFailure = ex;
+            } finally {
+                event.clear();
+            }
+            next++;
+            processed++;
+            consumerSequence = next;
+        }
+        return processed;
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * 가장 최근에 handler 가 던진 예외 (없으면 null)
+     */
+    public RuntimeException lastFailure() {
+        return lastFailure;
+    }
+
+    public long pendingCount() {
+        return producerSequence.get() - consumerSequence;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    @FunctionalInterface
+    public interface EventHandler {
+        void onEvent(AccessLogEvent event);
+    }
+}
@@ -0,0 +1,210 @@
+package cloud.back.server.accesslog;
+
+import cloud.back.server.config.AccessLogProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ring buffer 를 비우면서 접근 로그를 한 줄씩 기록하는 백그라운드 writer
+ * 로그는 "cloud.back.access" logger 로 나갑니다.
+ * 클라이언트가 정하는 값 (method, path, 헤더) 은 escape 해서 줄바꿈이나 공백 / 따옴표로 항목을 위조할 수 없게 합니다.
+ * (query 는 기록하지 않습니다)
+ */
+@Slf4j
+@Component
+public class AccessLogWriter implements DisposableBean {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("cloud.back.access");
+    private static final int DRAIN_BATCH = 256;
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final AccessLogRingBuffer ringBuffer;
+    private final long idleWaitNanos;
+    private final StringBuilder line = new StringBuilder(256);
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long reportedDropped;
+    private long reportedFailed;
+    private long nextDropReportAt;
+
+    public AccessLogWriter(AccessLogProperties properties) {
+        this.ringBuffer = new AccessLogRingBuffer(properties.getBufferSize(), properties.maxHeaderCount());
+        this.idleWaitNanos = properties.getIdleWait().toNanos();
+        this.thread = new Thread(this::run, "access-log-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public AccessLogRingBuffer ringBuffer() {
+        return ringBuffer;
+    }
+
+    /**
+     * buffer 가 가득 차서 버려진 접근 로그 수
+     */
+    public long droppedCount() {
+        return ringBuffer.droppedCount();
+    }
+
+    /**
+     * 기록 중 예외가 나서 건너뛴 접근 로그 수
+     */
+    public long failedCount() {
+        return ringBuffer.failedCount();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void run() {
+        nextDropReportAt = System.nanoTime() + DROP_REPORT_INTERVAL_NANOS;
+        while (running) {
+            int drained = drain();
+            reportDrops();
+            if (drained == 0) {
+                LockSupport.parkNanos(idleWaitNanos);
+            }
+        }
+        // 종료 시 남은 항목 기록
+        while (drain() > 0) {
+            // keep draining
+        }
+    }
+
+    private int drain() {
+        return ringBuffer.drain(this::write, DRAIN_BATCH);
+    }
+
+    private void write(AccessLogEvent event) {
+        StringBuilder sb = line;
+        sb.setLength(0);
+        format(event, sb);
+        ACCESS_LOG.info(sb.toString());
+    }
+
+    static void format(AccessLogEvent event, StringBuilder sb) {
+        sb.append("method=");
+        appendEscaped(sb, event.method, false);
+        sb.append(" path=");
+        appendEscaped(sb, event.path, false);
+        sb.append(" route=").append(event.routeId == null ? "-" : event.routeId)
+                .append(" status=").append(event.status)
+                .append(" bytes=").append(event.bytesWritten)
+                .append(" upstream=");
+        appendUpstream(sb, event.upstream);
+        sb.append(" durationMs=");
+        appendMillis(sb, event.durationNanos);
+        sb.append(" ttfbMs=");
+        if (event.firstByteNanos >= 0) {
+            appendMillis(sb, event.firstByteNanos);
+        } else {
+            sb.append('-');
+        }
+        for (int i = 0; i < event.headerNames.size(); i++) {
+            String value = event.headerValue(i);
+            if (value != null) {
+                sb.append(' ').append(event.headerNames.get(i)).append("=\"");
+                appendEscaped(sb, value, true);
+                sb.append('"');
+            }
+        }
+    }
+
+    /**
+     * 제어 문자, 역슬래시, 따옴표를 escape 합니다. 따옴표 밖의 값은 공백도 escape 합니다.
+     * 줄바꿈과 탭은 \n / \r / \t, 그 밖의 제어 문자와 유니코드 줄 구분자는 4자리 16진수 유니코드 escape 로 씁니다.
+     */
+    static void appendEscaped(StringBuilder sb, String value, boolean quoted) {
+        if (value == null) {
+            sb.append('-');
+            return;
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"', '\\' -> sb.append('\\').append(c);
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                case ' ' -> {
+                    if (quoted) {
+                        sb.append(c);
+                    } else {
+                        sb.append("\\u0020");
+                    }
+                }
+                default -> {
+                    if (c < 0x20 || c == 0x7F || c == 0x85 || c == 0x2028 || c == 0x2029) {
+                        appendUnicodeEscape(sb, c);
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void appendUnicodeEscape(StringBuilder sb, char c) {
+        sb.append("\\u");
+        String hex = Integer.toHexString(c);
+        for (int i = hex.length(); i < 4; i++) {
+            sb.append('0');
+        }
+        sb.append(hex);
+    }
+
+    private static void appendUpstream(StringBuilder sb, URI upstream) {
+        if (upstream == null || upstream.getHost() == null) {
+            sb.append('-');
+            return;
+        }
+        sb.append(upstream.getHost());
+        if (upstream.getPort() >= 0) {
+            sb.append(':').append(upstream.getPort());
+        }
+    }
+
+    private static void appendMillis(StringBuilder sb, long nanos) {
+        long micros = nanos / 1_000L;
+        sb.append(micros / 1_000L).append('.');
+        long fraction = micros % 1_000L;
+        if (fraction < 100) {
+            sb.append('0');
+        }
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    private void reportDrops() {
+        long now = System.nanoTime();
+        if (now < nextDropReportAt) {
+            return;
+        }
+        nextDropReportAt = now + DROP_REPORT_INTERVAL_NANOS;
+        long dropped = ringBuffer.droppedCount();
+        if (dropped > reportedDropped) {
+            log.warn("Access log buffer full - dropped {} events (total {})", dropped - reportedDropped, dropped);
+            reportedDropped = dropped;
+        }
+        long failed = ringBuffer.failedCount();
+        if (failed > reportedFailed) {
+            log.warn("Failed to write {} access log events (total {}): {}",
+                    failed - reportedFailed, failed, String.valueOf(ringBuffer.lastFailure()));
+            reportedFailed = failed;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package cloud.back.server.cache;
+
+/**
+ * 응답 Cache-Control 중 공유 캐시가 쓰는 지시자
+ * - 공유 캐시이므로 s-maxage 가 있으면 max-age 보다 우선합니다.
+ * - 값이 없는 시간 지시자는 -1 입니다.
+ * - must-revalidate / proxy-revalidate 는 공유 캐시에서 같은 의미이므로 mustRevalidate 하나로 봅니다.
+ */
+public record CacheDirectives(boolean noStore,
+                              boolean noCache,
+                              boolean privateResponse,
+                              boolean mustRevalidate,
+                              long maxAgeSeconds,
+                              long staleWhileRevalidateSeconds) {
+
+    public static final CacheDirectives NONE = new CacheDirectives(false, false, false, false, -1L, -1L);
+
+    public static CacheDirectives parse(String cacheControl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return NONE;
+        }
+        boolean noStore = false;
+        boolean noCache = false;
+        boolean privateResponse = false;
+        boolean mustRevalidate = false;
+        long maxAge = -1L;
+        long sharedMaxAge = -1L;
+        long staleWhileRevalidate = -1L;
+        for (String part : cacheControl.split(",")) {
+            String directive = part.trim();
+            int eq = directive.indexOf('=');
+            String name = (eq < 0 ? directive : directive.substring(0, eq)).trim().toLowerCase();
+            String value = eq < 0 ? null : directive.substring(eq + 1).trim();
+            switch (name) {
+                case "no-store" -> noStore = true;
+                case "no-cache" -> noCache = true;
+                case "private" -> privateResponse = true;
+                case "must-revalidate", "proxy-revalidate" -> mustRevalidate = true;
+                case "max-age" -> maxAge = seconds(value);
+                case "s-maxage" -> sharedMaxAge = seconds(value);
+                case "stale-while-revalidate" -> staleWhileRevalidate = seconds(value);
+                default -> {
+                }
+            }
+        }
+        return new CacheDirectives(noStore, noCache, privateResponse, mustRevalidate,
+                sharedMaxAge >= 0 ? sharedMaxAge : maxAge, staleWhileRevalidate);
+    }
+
+    /**
+     * 공유 캐시에 저장해도 되는 응답인지 (신선 기간은 따로 판단)
+     */
+    public boolean storable() {
+        return !noStore && !noCache && !privateResponse;
+    }
+
+    /**
+     * 신선 기간이 지난 뒤 재검증하는 동안 그대로 응답해도 되는 시간.
+     * backend 가 stale-while-revalidate 를 보냈을 때만 있고, must-revalidate / proxy-revalidate 가 있으면 0 입니다.
+     */
+    public long staleServingSeconds() {
+        return mustRevalidate ? 0L : Math.max(0L, staleWhileRevalidateSeconds);
+    }
+
+    private static long seconds(String value) {
+        if (value == null) {
+            return -1L;
+        }
+        if (value.length() >= 2 && value.charAt(0) == '"' && value.charAt(value.length() - 1) == '"') {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Math.max(0L, Long.parseLong(value));
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+}
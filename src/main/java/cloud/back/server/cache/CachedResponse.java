@@ -0,0 +1,75 @@
+package cloud.back.server.cache;
+
+import org.springframework.http.HttpHeaders;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 캐시된 응답 하나
+ * - body 는 읽기 전용 direct ByteBuffer 이고, 응답할 때는 duplicate() 를 감싸서 복사 없이 씁니다.
+ *   (캐시에서 밀려나도 응답 중인 요청이 참조하는 동안은 GC 가 회수하지 않습니다)
+ * - headers 는 저장 시 만든 사본이며 수정하지 않습니다.
+ */
+public record CachedResponse(int status,
+                             HttpHeaders headers,
+                             ByteBuffer body,
+                             String etag,
+                             long storedAtNanos,
+                             long freshUntilNanos,
+                             long staleUntilNanos) {
+
+    public boolean isFresh(long nowNanos) {
+        return nowNanos < freshUntilNanos;
+    }
+
+    /**
+     * 신선 기간은 지났지만 stale-while-revalidate 기간 안이라서 바로 응답해도 되는지
+     */
+    public boolean isServableStale(long nowNanos) {
+        return nowNanos >= freshUntilNanos && nowNanos < staleUntilNanos;
+    }
+
+    public long ageSeconds(long nowNanos) {
+        return TimeUnit.NANOSECONDS.toSeconds(Math.max(0L, nowNanos - storedAtNanos));
+    }
+
+    public CachedResponse withFreshness(long storedAtNanos, long freshUntilNanos, long staleUntilNanos) {
+        return new CachedResponse(status, headers, body, etag, storedAtNanos, freshUntilNanos, staleUntilNanos);
+    }
+
+    /**
+     * Caffeine weigher - 본문 크기 + 헤더 크기 (문자당 2 bytes) + 고정 오버헤드
+     */
+    public int weight() {
+        long headerBytes = 0L;
+        for (String name : headers.headerNames()) {
+            headerBytes += name.length();
+            for (String value : headers.getValuesAsList(name)) {
+                headerBytes += value.length();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, body.capacity() + headerBytes * 2 + 256L);
+    }
+
+    /**
+     * If-None-Match 가 저장된 ETag 와 맞는지 (weak 비교, "*" 포함)
+     */
+    public static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String target = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || opaque(trimmed).equals(target)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String opaque(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,168 @@
+package cloud.back.server.cache;
+
+import cloud.back.server.config.ResponseCacheProperties;
+import cloud.back.server.filter.BodyCapturingResponseDecorator;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 응답 캐시 저장소
+ * - 크기는 항목 수가 아니라 바이트 (본문 + 헤더) 로 제한합니다.
+ * - 본문은 direct ByteBuffer 에 한 번 복사해 두므로 heap 과 GC 에 부담을 주지 않습니다.
+ * - 항목은 신선 기간 + stale-while-revalidate 기간이 끝나면 만료됩니다.
+ *   stale 응답은 backend 가 stale-while-revalidate 를 보냈을 때만 쓰고, must-revalidate / proxy-revalidate 가 있으면 쓰지 않습니다.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private final ResponseCacheProperties properties;
+    private final Cache<String, CachedResponse> cache;
+    private final Set<String> revalidating = ConcurrentHashMap.newKeySet();
+    private final LongAdder revalidations = new LongAdder();
+
+    public ResponseCacheStore(ResponseCacheProperties properties) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((String key, CachedResponse value) -> value.weight())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return Math.max(0L, value.staleUntilNanos() - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return Math.max(0L, value.staleUntilNanos() - currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * backend 응답을 저장합니다. 캐시할 수 없는 응답이면 기존 항목도 지우고 null 을 반환합니다.
+     */
+    public CachedResponse put(String key, int status, HttpHeaders headers, byte[] body, int length, long nowNanos) {
+        CachedResponse entry = entry(status, headers, body, length, nowNanos);
+        if (entry == null) {
+            cache.invalidate(key);
+            return null;
+        }
+        cache.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * 304 로 재검증된 항목의 신선 기간을 갱신합니다 (본문은 그대로)
+     */
+    public CachedResponse refresh(String key, CachedResponse stale, HttpHeaders notModifiedHeaders, long nowNanos) {
+        String cacheControl = notModifiedHeaders.getCacheControl();
+        CacheDirectives directives = CacheDirectives.parse(
+                cacheControl != null ? cacheControl : stale.headers().getCacheControl());
+        long freshNanos = freshNanos(directives, notModifiedHeaders);
+        if (!directives.storable() || freshNanos <= 0L) {
+            cache.invalidate(key);
+            return null;
+        }
+        CachedResponse refreshed = stale.withFreshness(nowNanos, nowNanos + freshNanos,
+                nowNanos + freshNanos + staleNanos(directives));
+        cache.put(key, refreshed);
+        return refreshed;
+    }
+
+    public void invalidate(String key) {
+        cache.invalidate(key);
+    }
+
+    /**
+     * 키별로 재검증 요청이 하나만 나가도록 합니다. true 이면 호출한 쪽이 재검증하고 endRevalidation 을 불러야 합니다.
+     */
+    public boolean beginRevalidation(String key) {
+        if (revalidating.add(key)) {
+            revalidations.increment();
+            return true;
+        }
+        return false;
+    }
+
+    public void endRevalidation(String key) {
+        revalidating.remove(key);
+    }
+
+    public long revalidationCount() {
+        return revalidations.sum();
+    }
+
+    public Cache<String, CachedResponse> cache() {
+        return cache;
+    }
+
+    CachedResponse entry(int status, HttpHeaders headers, byte[] body, int length, long nowNanos) {
+        if (status != 200 || length > properties.getMaximumEntrySize().toBytes()
+                || headers.containsHeader(HttpHeaders.SET_COOKIE) || !varyAllowed(headers)) {
+            return null;
+        }
+        CacheDirectives directives = CacheDirectives.parse(headers.getCacheControl());
+        long freshNanos = freshNanos(directives, headers);
+        if (!directives.storable() || freshNanos <= 0L) {
+            return null;
+        }
+
+        HttpHeaders copy = BodyCapturingResponseDecorator.replayableHeaders(headers);
+        ByteBuffer direct = ByteBuffer.allocateDirect(length);
+        direct.put(body, 0, length).flip();
+        return new CachedResponse(status, copy, direct.asReadOnlyBuffer(), headers.getETag(),
+                nowNanos, nowNanos + freshNanos, nowNanos + freshNanos + staleNanos(directives));
+    }
+
+    private long freshNanos(CacheDirectives directives, HttpHeaders headers) {
+        if (directives.maxAgeSeconds() < 0) {
+            return properties.getDefaultTtl().toNanos();
+        }
+        // backend 앞에 다른 캐시가 있었다면 이미 지난 시간만큼 뺍니다
+        long ageSeconds = 0L;
+        String age = headers.getFirst(HttpHeaders.AGE);
+        if (age != null) {
+            try {
+                ageSeconds = Math.max(0L, Long.parseLong(age.trim()));
+            } catch (NumberFormatException ignored) {
+                // 잘못된 Age 는 무시합니다
+            }
+        }
+        return TimeUnit.SECONDS.toNanos(Math.max(0L, directives.maxAgeSeconds() - ageSeconds));
+    }
+
+    private static long staleNanos(CacheDirectives directives) {
+        return TimeUnit.SECONDS.toNanos(directives.staleServingSeconds());
+    }
+
+    // Vary 가 Accept-Encoding 과 CORS 값뿐인 응답만 캐시합니다 (키에 다른 요청 헤더를 넣지 않으므로)
+    // CORS 헤더는 저장하지 않고 요청마다 CORS 처리가 다시 붙입니다
+    private static boolean varyAllowed(HttpHeaders headers) {
+        for (String vary : headers.getVary()) {
+            if (!vary.equalsIgnoreCase(HttpHeaders.ACCEPT_ENCODING) && !BodyCapturingResponseDecorator.isCorsVary(vary)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,33 @@
+package cloud.back.server.circuitbreaker;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * /actuator/circuitbreakers - upstream 서비스별 breaker 상태 / window 통계 / bulkhead 사용량
+ * upstream 서비스 목록과 상태가 드러나므로 내부 management 포트 (management.server.port) 로만 노출합니다.
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+public class CircuitBreakersEndpoint {
+
+    private final ServiceCircuitBreakerRegistry registry;
+
+    public CircuitBreakersEndpoint(ServiceCircuitBreakerRegistry registry) {
+        this.registry = registry;
+    }
+
+    @ReadOperation
+    public Map<String, ServiceCircuitBreaker.Snapshot> circuitBreakers() {
+        return registry.snapshots();
+    }
+
+    @ReadOperation
+    public ServiceCircuitBreaker.Snapshot circuitBreaker(@Selector String serviceId) {
+        return registry.snapshots().get(serviceId);
+    }
+}
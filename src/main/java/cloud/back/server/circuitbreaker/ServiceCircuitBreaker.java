@@ -0,0 +1,239 @@
+package cloud.back.server.circuitbreaker;
+
+import cloud.back.server.config.CircuitBreakerProperties;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * upstream 서비스 하나의 circuit breaker + bulkhead
+ * - CLOSED: window 내 호출이 minimumCalls 이상이고 실패율/느린 호출 비율이 기준 이상이면 OPEN
+ * - OPEN: waitDurationInOpen 동안 바로 거절, 이후 첫 요청이 HALF_OPEN 으로 전환
+ * - HALF_OPEN: permittedCallsInHalfOpen 개의 probe 만 통과, 하나라도 실패하면 OPEN, 모두 성공하면 CLOSED
+ * - bulkhead: 상태와 관계없이 동시에 진행 중인 호출을 maxConcurrentCalls 로 제한
+ * 모든 상태 전환은 CAS 로 하고 락은 쓰지 않습니다.
+ */
+@Slf4j
+public class ServiceCircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    public enum Decision {
+        PERMITTED,
+        PROBE,
+        REJECTED_OPEN,
+        REJECTED_BULKHEAD
+    }
+
+    private final String serviceId;
+    private final SlidingWindow window;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long waitInOpenNanos;
+    private final int permittedCallsInHalfOpen;
+    private final int maxConcurrentCalls;
+
+    private final AtomicReference<Phase> phase;
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+    private final LongAdder rejectedOpen = new LongAdder();
+    private final LongAdder rejectedBulkhead = new LongAdder();
+
+    public ServiceCircuitBreaker(String serviceId, CircuitBreakerProperties.Settings settings) {
+        this.serviceId = serviceId;
+        this.window = new SlidingWindow(settings.getWindowSeconds());
+        this.minimumCalls = settings.getMinimumCalls();
+        this.failureRateThreshold = settings.getFailureRateThreshold();
+        this.slowCallRateThreshold = settings.getSlowCallRateThreshold();
+        this.slowCallNanos = settings.getSlowCallDuration().toNanos();
+        this.waitInOpenNanos = settings.getWaitDurationInOpen().toNanos();
+        this.permittedCallsInHalfOpen = settings.getPermittedCallsInHalfOpen();
+        this.maxConcurrentCalls = settings.getMaxConcurrentCalls();
+        this.phase = new AtomicReference<>(Phase.closed());
+    }
+
+    /**
+     * 호출 전에 한 번 부릅니다. PERMITTED / PROBE 이면 호출이 끝난 뒤 반드시 {@link #onComplete} 나 {@link #onCancel} 을 불러야 합니다.
+     */
+    public Decision tryAcquire(long nowNanos) {
+        Decision decision = acquirePermission(nowNanos);
+        if (decision == Decision.REJECTED_OPEN) {
+            rejectedOpen.increment();
+            return decision;
+        }
+        if (!enterBulkhead()) {
+            if (decision == Decision.PROBE) {
+                releaseProbe();
+            }
+            rejectedBulkhead.increment();
+            return Decision.REJECTED_BULKHEAD;
+        }
+        return decision;
+    }
+
+    public void onComplete(Decision decision, long durationNanos, boolean failure, long nowNanos) {
+        concurrentCalls.decrementAndGet();
+        boolean slow = durationNanos >= slowCallNanos;
+        if (decision == Decision.PROBE) {
+            onProbeResult(failure || slow, nowNanos);
+            return;
+        }
+        window.record(TimeUnit.NANOSECONDS.toSeconds(nowNanos), failure, slow);
+        if ((failure || slow) && phase.get().state == State.CLOSED) {
+            SlidingWindow.Totals totals = window.totals(TimeUnit.NANOSECONDS.toSeconds(nowNanos));
+            if (totals.calls() >= minimumCalls
+                    && (totals.failureRate() >= failureRateThreshold || totals.slowCallRate() >= slowCallRateThreshold)) {
+                Phase current = phase.get();
+                if (current.state == State.CLOSED && phase.compareAndSet(current, Phase.open(nowNanos))) {
+                    log.warn("Circuit breaker opened for {} (failure rate {}%, slow call rate {}%, calls {})",
+                            serviceId, totals.failureRate(), totals.slowCallRate(), totals.calls());
+                }
+            }
+        }
+    }
+
+    /**
+     * 응답 없이 취소된 호출 - 결과로 세지 않습니다
+     */
+    public void onCancel(Decision decision) {
+        concurrentCalls.decrementAndGet();
+        if (decision == Decision.PROBE) {
+            releaseProbe();
+        }
+    }
+
+    /**
+     * OPEN 상태가 끝날 때까지 남은 시간 (OPEN 이 아니면 0)
+     */
+    public long remainingOpenNanos(long nowNanos) {
+        Phase current = phase.get();
+        return current.state == State.OPEN ? Math.max(0L, current.openedAtNanos + waitInOpenNanos - nowNanos) : 0L;
+    }
+
+    public Snapshot snapshot(long nowNanos) {
+        SlidingWindow.Totals totals = window.totals(TimeUnit.NANOSECONDS.toSeconds(nowNanos));
+        return new Snapshot(
+                phase.get().state,
+                totals.calls(),
+                totals.failureRate(),
+                totals.slowCallRate(),
+                concurrentCalls.get(),
+                maxConcurrentCalls,
+                rejectedOpen.sum(),
+                rejectedBulkhead.sum()
+        );
+    }
+
+    public State state() {
+        return phase.get().state;
+    }
+
+    private Decision acquirePermission(long nowNanos) {
+        while (true) {
+            Phase current = phase.get();
+            switch (current.state) {
+                case CLOSED:
+                    return Decision.PERMITTED;
+                case OPEN:
+                    if (nowNanos - current.openedAtNanos < waitInOpenNanos) {
+                        return Decision.REJECTED_OPEN;
+                    }
+                    phase.compareAndSet(current, Phase.halfOpen(permittedCallsInHalfOpen));
+                    continue;
+                default:
+                    int remaining = current.probePermits.getAndDecrement();
+                    if (remaining > 0) {
+                        return Decision.PROBE;
+                    }
+                    current.probePermits.incrementAndGet();
+                    return Decision.REJECTED_OPEN;
+            }
+        }
+    }
+
+    private void onProbeResult(boolean failed, long nowNanos) {
+        Phase current = phase.get();
+        if (current.state != State.HALF_OPEN) {
+            return;
+        }
+        if (failed) {
+            if (phase.compareAndSet(current, Phase.open(nowNanos))) {
+                log.warn("Circuit breaker re-opened for {} after a failed probe", serviceId);
+            }
+            return;
+        }
+        if (current.probeSuccesses.incrementAndGet() >= permittedCallsInHalfOpen
+                && phase.compareAndSet(current, Phase.closed())) {
+            window.reset();
+            log.info("Circuit breaker closed for {}", serviceId);
+        }
+    }
+
+    private void releaseProbe() {
+        Phase current = phase.get();
+        if (current.state == State.HALF_OPEN) {
+            current.probePermits.incrementAndGet();
+        }
+    }
+
+    private boolean enterBulkhead() {
+        while (true) {
+            int current = concurrentCalls.get();
+            if (current >= maxConcurrentCalls) {
+                return false;
+            }
+            if (concurrentCalls.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 상태와 그 상태에 딸린 값 - 전환할 때마다 새 객체로 CAS 해서 half-open 카운터가 이전 주기와 섞이지 않게 합니다
+     */
+    private static final class Phase {
+        private final State state;
+        private final long openedAtNanos;
+        private final AtomicInteger probePermits;
+        private final AtomicInteger probeSuccesses;
+
+        private Phase(State state, long openedAtNanos, int probePermits) {
+            this.state = state;
+            this.openedAtNanos = openedAtNanos;
+            this.probePermits = new AtomicInteger(probePermits);
+            this.probeSuccesses = new AtomicInteger();
+        }
+
+        static Phase closed() {
+            return new Phase(State.CLOSED, 0L, 0);
+        }
+
+        static Phase open(long nowNanos) {
+            return new Phase(State.OPEN, nowNanos, 0);
+        }
+
+        static Phase halfOpen(int permits) {
+            return new Phase(State.HALF_OPEN, 0L, permits);
+        }
+    }
+
+    public record Snapshot(
+            State state,
+            long calls,
+            int failureRate,
+            int slowCallRate,
+            int concurrentCalls,
+            int maxConcurrentCalls,
+            long rejectedOpen,
+            long rejectedBulkhead
+    ) {
+    }
+}
@@ -0,0 +1,38 @@
+package cloud.back.server.circuitbreaker;
+
+import cloud.back.server.config.CircuitBreakerProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * upstream 서비스 id 별 circuit breaker (처음 호출될 때 만들어집니다)
+ */
+@Component
+public class ServiceCircuitBreakerRegistry {
+
+    private final CircuitBreakerProperties properties;
+    private final ConcurrentMap<String, ServiceCircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public ServiceCircuitBreakerRegistry(CircuitBreakerProperties properties) {
+        this.properties = properties;
+    }
+
+    public ServiceCircuitBreaker breaker(String serviceId) {
+        ServiceCircuitBreaker breaker = breakers.get(serviceId);
+        if (breaker != null) {
+            return breaker;
+        }
+        return breakers.computeIfAbsent(serviceId, id -> new ServiceCircuitBreaker(id, properties.settingsFor(id)));
+    }
+
+    public Map<String, ServiceCircuitBreaker.Snapshot> snapshots() {
+        long now = System.nanoTime();
+        Map<String, ServiceCircuitBreaker.Snapshot> snapshots = new TreeMap<>();
+        breakers.forEach((serviceId, breaker) -> snapshots.put(serviceId, breaker.snapshot(now)));
+        return snapshots;
+    }
+}
@@ -0,0 +1,85 @@
+package cloud.back.server.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 초 단위 버킷으로 나눈 lock-free sliding window
+ * 버킷 하나는 long 하나에 [epoch 16bit | calls 16bit | failures 16bit | slow 16bit] 로 담겨서
+ * 기록은 CAS 한 번, 다른 초의 버킷 재사용도 같은 CAS 안에서 처리됩니다.
+ * 버킷별 카운트는 65535 에서 멈춥니다 (비율 계산에는 충분).
+ */
+final class SlidingWindow {
+
+    private static final long MASK = 0xFFFFL;
+
+    private final AtomicLongArray buckets;
+    private final int size;
+
+    SlidingWindow(int seconds) {
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("windowSeconds must be positive");
+        }
+        this.size = seconds;
+        this.buckets = new AtomicLongArray(seconds);
+    }
+
+    void record(long epochSecond, boolean failure, boolean slow) {
+        int index = (int) Math.floorMod(epochSecond, (long) size);
+        long epoch = epochSecond & MASK;
+        while (true) {
+            long current = buckets.get(index);
+            long calls;
+            long failures;
+            long slows;
+            if (((current >>> 48) & MASK) == epoch && current != 0L) {
+                calls = Math.min(MASK, ((current >>> 32) & MASK) + 1);
+                failures = Math.min(MASK, ((current >>> 16) & MASK) + (failure ? 1 : 0));
+                slows = Math.min(MASK, (current & MASK) + (slow ? 1 : 0));
+            } else {
+                calls = 1;
+                failures = failure ? 1 : 0;
+                slows = slow ? 1 : 0;
+            }
+            long updated = (epoch << 48) | (calls << 32) | (failures << 16) | slows;
+            if (buckets.compareAndSet(index, current, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 최근 window 의 [calls, failures, slow] 합계
+     */
+    Totals totals(long epochSecond) {
+        long calls = 0;
+        long failures = 0;
+        long slows = 0;
+        for (int i = 0; i < size; i++) {
+            long second = epochSecond - i;
+            long bucket = buckets.get((int) Math.floorMod(second, (long) size));
+            if (bucket != 0L && ((bucket >>> 48) & MASK) == (second & MASK)) {
+                calls += (bucket >>> 32) & MASK;
+                failures += (bucket >>> 16) & MASK;
+                slows += bucket & MASK;
+            }
+        }
+        return new Totals(calls, failures, slows);
+    }
+
+    void reset() {
+        for (int i = 0; i < size; i++) {
+            buckets.set(i, 0L);
+        }
+    }
+
+    record Totals(long calls, long failures, long slowCalls) {
+
+        int failureRate() {
+            return calls == 0 ? 0 : (int) (failures * 100 / calls);
+        }
+
+        int slowCallRate() {
+            return calls == 0 ? 0 : (int) (slowCalls * 100 / calls);
+        }
+    }
+}
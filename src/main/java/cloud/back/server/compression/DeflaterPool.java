@@ -0,0 +1,37 @@
+package cloud.back.server.compression;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.zip.Deflater;
+
+/**
+ * Deflater 재사용 풀
+ * Deflater 는 native 메모리 (zlib 상태, 수백 KB) 를 잡으므로 응답마다 만들지 않고 reset 해서 다시 씁니다.
+ * 풀이 비어 있으면 새로 만들고, 가득 찬 상태에서 반납되면 end() 로 바로 해제합니다.
+ */
+public class DeflaterPool {
+
+    private final int level;
+    private final ArrayBlockingQueue<Deflater> gzip;
+    private final ArrayBlockingQueue<Deflater> zlib;
+
+    public DeflaterPool(int level, int capacity) {
+        this.level = level;
+        this.gzip = new ArrayBlockingQueue<>(capacity);
+        this.zlib = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * @param raw true 면 헤더 없는 deflate 스트림 (gzip 은 헤더/트레일러를 직접 씁니다), false 면 zlib 형식
+     */
+    public Deflater acquire(boolean raw) {
+        Deflater deflater = (raw ? gzip : zlib).poll();
+        return deflater != null ? deflater : new Deflater(level, raw);
+    }
+
+    public void release(Deflater deflater, boolean raw) {
+        deflater.reset();
+        if (!(raw ? gzip : zlib).offer(deflater)) {
+            deflater.end();
+        }
+    }
+}
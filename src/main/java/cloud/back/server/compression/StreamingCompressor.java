@@ -0,0 +1,114 @@
+package cloud.back.server.compression;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 응답 하나의 gzip / deflate 스트림
+ * - 들어온 DataBuffer 를 바로 압축해서 bufferFactory 가 준 (Netty 면 pooled) 버퍼에 씁니다. 본문 전체를 모으지 않습니다.
+ * - 입력은 ByteBuffer 그대로 Deflater 에 넘기고, 출력도 대상 버퍼의 ByteBuffer 에 바로 씁니다 (중간 byte[] 없음).
+ * - Deflater 는 DeflaterPool 에서 빌리고 close() 에서 반납합니다. close 이후의 호출은 입력을 버립니다.
+ */
+public class StreamingCompressor {
+
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+    private static final int OUTPUT_CHUNK = 4 * 1024;
+
+    private final DeflaterPool pool;
+    private final boolean gzip;
+    private final CRC32 crc = new CRC32();
+    private Deflater deflater;
+    private boolean headerWritten;
+
+    public StreamingCompressor(DeflaterPool pool, ContentCoding coding) {
+        if (coding == ContentCoding.IDENTITY) {
+            throw new IllegalArgumentException("identity is not a compression coding");
+        }
+        this.pool = pool;
+        this.gzip = coding == ContentCoding.GZIP;
+        this.deflater = pool.acquire(gzip);
+    }
+
+    /**
+     * input 을 압축해서 새 버퍼로 반환하고 input 은 해제합니다 (출력이 아직 없으면 빈 버퍼)
+     */
+    public synchronized DataBuffer compress(DataBuffer input, DataBufferFactory factory) {
+        try {
+            DataBuffer output = factory.allocateBuffer(Math.max(64, input.readableByteCount() / 2));
+            if (deflater == null) {
+                return output;
+            }
+            writeHeader(output);
+            try (DataBuffer.ByteBufferIterator iterator = input.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    ByteBuffer chunk = iterator.next();
+                    if (gzip) {
+                        crc.update(chunk.duplicate());
+                    }
+                    deflater.setInput(chunk);
+                    while (!deflater.needsInput()) {
+                        deflateInto(output);
+                    }
+                }
+            }
+            return output;
+        } finally {
+            DataBufferUtils.release(input);
+        }
+    }
+
+    /**
+     * 남은 출력과 gzip 트레일러를 씁니다
+     */
+    public synchronized DataBuffer finish(DataBufferFactory factory) {
+        DataBuffer output = factory.allocateBuffer(OUTPUT_CHUNK);
+        if (deflater == null) {
+            return output;
+        }
+        writeHeader(output);
+        deflater.finish();
+        while (!deflater.finished()) {
+            deflateInto(output);
+        }
+        if (gzip) {
+            writeIntLittleEndian(output, (int) crc.getValue());
+            writeIntLittleEndian(output, (int) deflater.getBytesRead());
+        }
+        return output;
+    }
+
+    public synchronized void close() {
+        if (deflater != null) {
+            pool.release(deflater, gzip);
+            deflater = null;
+        }
+    }
+
+    private void writeHeader(DataBuffer output) {
+        if (gzip && !headerWritten) {
+            output.write(GZIP_HEADER);
+        }
+        headerWritten = true;
+    }
+
+    private void deflateInto(DataBuffer output) {
+        output.ensureWritable(OUTPUT_CHUNK);
+        try (DataBuffer.ByteBufferIterator iterator = output.writableByteBuffers()) {
+            ByteBuffer target = iterator.next();
+            int written = deflater.deflate(target);
+            output.writePosition(output.writePosition() + written);
+        }
+    }
+
+    private static void writeIntLittleEndian(DataBuffer output, int value) {
+        output.write((byte) value);
+        output.write((byte) (value >>> 8));
+        output.write((byte) (value >>> 16));
+        output.write((byte) (value >>> 24));
+    }
+}
@@ -0,0 +1,56 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 접근 로그 설정 (요청당 한 줄, 비동기 기록)
+ * routes 에 route id 별로 샘플링 비율과 기록할 헤더 목록을 따로 지정할 수 있습니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+    private boolean enabled = true;
+    private int bufferSize = 8192;                                   // ring buffer 크기 (2의 제곱수로 올림)
+    private double sampleRate = 1.0;                                 // 기본 샘플링 비율 (0.0 ~ 1.0)
+    private boolean alwaysLogErrors = true;                          // 4xx/5xx 는 샘플링과 관계없이 기록
+    private List<String> headers = List.of("User-Agent", "X-Forwarded-For");
+    private Duration idleWait = Duration.ofMillis(1);                // 비어 있을 때 writer 대기 시간
+    private Map<String, RouteSettings> routes = new HashMap<>();
+
+    public double sampleRateFor(String routeId) {
+        RouteSettings settings = routeId == null ? null : routes.get(routeId);
+        return settings != null && settings.getSampleRate() != null ? settings.getSampleRate() : sampleRate;
+    }
+
+    public List<String> headersFor(String routeId) {
+        RouteSettings settings = routeId == null ? null : routes.get(routeId);
+        return settings != null && settings.getHeaders() != null ? settings.getHeaders() : headers;
+    }
+
+    public int maxHeaderCount() {
+        int max = headers.size();
+        for (RouteSettings settings : routes.values()) {
+            if (settings.getHeaders() != null) {
+                max = Math.max(max, settings.getHeaders().size());
+            }
+        }
+        return max;
+    }
+
+    @Getter
+    @Setter
+    public static class RouteSettings {
+        private Double sampleRate;
+        private List<String> headers;
+    }
+}
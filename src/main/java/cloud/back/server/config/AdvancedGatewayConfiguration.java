@@ -1,11 +1,14 @@
 package cloud.back.server.config;
 
-import cloud.back.server.filter.PostLoggingFilter;
-import cloud.back.server.filter.PreLoggingFilter;
+import cloud.back.server.filter.CustomCircuitBreakerFilter;
+import cloud.back.server.rejection.Rejection;
+import cloud.back.server.rejection.RejectionCatalogue;
+import cloud.back.server.route.IndexedRoutes;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
@@ -13,11 +16,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
 @Configuration
@@ -36,51 +35,21 @@ public class AdvancedGatewayConfiguration {
         return new ObjectMapper();
     }
 
-    /**
-     * 글로벌 요청 필터 - 모든 요청을 로깅합니다
-     */
-    @Bean
-    @Order(-100)
-    public GlobalFilter requestLoggingFilter() {
-        return (exchange, chain) -> {
-            ServerHttpRequest request = exchange.getRequest();
-            log.info(">>> Incoming Request");
-            log.info("  Method: {}", request.getMethod());
-            log.info("  Path: {}", request.getPath());
-            log.info("  Query: {}", request.getQueryParams());
-
-            long startTime = System.currentTimeMillis();
-
-            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
-                ServerHttpResponse response = exchange.getResponse();
-                long duration = System.currentTimeMillis() - startTime;
-
-                log.info("<<< Outgoing Response");
-                log.info("  Status: {}", response.getStatusCode());
-                log.info("  Duration: {}ms", duration);
-            }));
-        };
-    }
-
     /**
      * 글로벌 에러 처리 필터
+     * 예외 메시지는 로그에만 남기고, 응답은 미리 인코딩한 500 본문을 씁니다.
      */
     @Bean
     @Order(-99)
-    public GlobalFilter globalErrorFilter() {
+    public GlobalFilter globalErrorFilter(RejectionCatalogue rejections) {
         return (exchange, chain) -> {
             return chain.filter(exchange)
                     .onErrorResume(ex -> {
                         log.error("Gateway Error: ", ex);
-
-                        ServerHttpResponse response = exchange.getResponse();
-                        response.setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
-                        response.getHeaders().set("Content-Type", "application/json");
-
-                        String errorBody = "{\"error\": \"" + ex.getMessage() + "\"}";
-                        return response.writeWith(
-                                Mono.just(response.bufferFactory().wrap(errorBody.getBytes()))
-                        );
+                        if (exchange.getResponse().isCommitted()) {
+                            return Mono.error(ex);
+                        }
+                        return rejections.reject(exchange, Rejection.INTERNAL_ERROR);
                     });
         };
     }
@@ -89,51 +58,40 @@ public class AdvancedGatewayConfiguration {
      * 커스텀 라우팅 설정 (더 세밀한 제어)
      */
     @Bean
-    public RouteLocator advancedRouteLocator(RouteLocatorBuilder builder,
-                                           PreLoggingFilter preLoggingFilter,
-                                           PostLoggingFilter postLoggingFilter) {
+    public RouteLocator advancedRouteLocator(RouteLocatorBuilder builder, CustomCircuitBreakerFilter circuitBreakerFilter) {
+        // upstream 서비스별 circuit breaker / bulkhead (서비스는 라우트 URI 의 host 로 구분)
+        GatewayFilter circuitBreaker = circuitBreakerFilter.apply(new CustomCircuitBreakerFilter.Config());
         return builder.routes()
                 // ============================================================
                 // Auth Service - 인증 관련 엔드포인트
                 // ============================================================
-                .route("auth-login", r -> r
-                        .path("/auth/login")
-                        .and().method(HttpMethod.POST)
-                        .filters(f -> f.addRequestHeader("X-Gateway", "true"))
+                .route("auth-login", r -> IndexedRoutes.match(r, "/auth/login", HttpMethod.POST)
+                        .filters(f -> f.addRequestHeader("X-Gateway", "true").filter(circuitBreaker))
                         .uri("lb://auth-back-server")
                 )
 
-                .route("auth-refresh", r -> r
-                        .path("/auth/refresh")
-                        .and().method(HttpMethod.POST)
+                .route("auth-refresh", r -> IndexedRoutes.match(r, "/auth/refresh", HttpMethod.POST)
+                        .filters(f -> f.filter(circuitBreaker))
                         .uri("lb://auth-back-server")
                 )
 
-                .route("auth-logout", r -> r
-                        .path("/auth/logout")
-                        .and().method(HttpMethod.POST)
-                        .filters(f -> f
-                                .filter(preLoggingFilter.apply(new PreLoggingFilter.Config()))
-                                .filter(postLoggingFilter.apply(new PostLoggingFilter.Config()))
-                        )
+                .route("auth-logout", r -> IndexedRoutes.match(r, "/auth/logout", HttpMethod.POST)
+                        .filters(f -> f.filter(circuitBreaker))
                         .uri("lb://auth-back-server")
                 )
 
-                .route("auth-validate", r -> r
-                        .path("/auth/validate")
-                        .and().method(HttpMethod.POST)
+                .route("auth-validate", r -> IndexedRoutes.match(r, "/auth/validate", HttpMethod.POST)
+                        .filters(f -> f.filter(circuitBreaker))
                         .uri("lb://auth-back-server")
                 )
 
-                .route("auth-oauth2", r -> r
-                        .path("/oauth2/**")
-                        .filters(f -> f.preserveHostHeader())
+                .route("auth-oauth2", r -> IndexedRoutes.match(r, "/oauth2/**")
+                        .filters(f -> f.preserveHostHeader().filter(circuitBreaker))
                         .uri("lb://auth-back-server")
                 )
 
-                .route("auth-oauth2-login-callback", r -> r
-                        .path("/login/**")
-                        .filters(f -> f.preserveHostHeader())
+                .route("auth-oauth2-login-callback", r -> IndexedRoutes.match(r, "/login/**")
+                        .filters(f -> f.preserveHostHeader().filter(circuitBreaker))
                         .uri("lb://auth-back-server")
                 )
 
@@ -141,67 +99,45 @@ public class AdvancedGatewayConfiguration {
                 // ============================================================
                 // User Service - 사용자 관리 API (auth-back-server에서 제공)
                 // ============================================================
-                .route("user-api-all", r -> r
-                        .path("/api/users/**")
-                        .filters(f -> f
-                                .filter(preLoggingFilter.apply(new PreLoggingFilter.Config()))
-                                .filter(postLoggingFilter.apply(new PostLoggingFilter.Config()))
-                        )
+                .route("user-api-all", r -> IndexedRoutes.match(r, "/api/users/**")
+                        .filters(f -> f.filter(circuitBreaker))
                         .uri("lb://auth-back-server")
                 )
 
                 // ============================================================
                 // ZeroQ Back Service - Core APIs
                 // ============================================================
-                .route("zeroq-back-sensor-api", r -> r
-                        .path("/api/zeroq/v1/sensor/**")
-                        .filters(f -> f
-                                .filter(preLoggingFilter.apply(new PreLoggingFilter.Config()))
-                                .filter(postLoggingFilter.apply(new PostLoggingFilter.Config()))
-                        )
+                .route("zeroq-back-sensor-api", r -> IndexedRoutes.match(r, "/api/zeroq/v1/sensor/**")
+                        .filters(f -> f.filter(circuitBreaker))
                         .uri("lb://zeroq-back-sensor")
                 )
 
-                .route("zeroq-gateway-internal-sensor-api", r -> r
-                        .path("/internal/zeroq/gateway/sensor/**")
+                .route("zeroq-gateway-internal-sensor-api", r -> IndexedRoutes.match(r, "/internal/zeroq/gateway/sensor/**")
                         .filters(f -> f
                                 .rewritePath("/internal/zeroq/gateway/(?<segment>.*)", "/api/zeroq/v1/${segment}")
-                                .filter(preLoggingFilter.apply(new PreLoggingFilter.Config()))
-                                .filter(postLoggingFilter.apply(new PostLoggingFilter.Config()))
+                                .filter(circuitBreaker)
                         )
                         .uri("lb://zeroq-back-sensor")
                 )
 
-                .route("zeroq-back-service-api", r -> r
-                        .path("/api/zeroq/v1/**")
-                        .filters(f -> f
-                                .filter(preLoggingFilter.apply(new PreLoggingFilter.Config()))
-                                .filter(postLoggingFilter.apply(new PostLoggingFilter.Config()))
-                        )
+                .route("zeroq-back-service-api", r -> IndexedRoutes.match(r, "/api/zeroq/v1/**")
+                        .filters(f -> f.filter(circuitBreaker))
                         .uri("lb://zeroq-back-service")
                 )
 
                 // ============================================================
                 // semo Back Service - Core APIs
                 // ============================================================
-                .route("semo-back-service-api", r -> r
-                        .path("/api/semo/v1/**")
-                        .filters(f -> f
-                                .filter(preLoggingFilter.apply(new PreLoggingFilter.Config()))
-                                .filter(postLoggingFilter.apply(new PostLoggingFilter.Config()))
-                        )
+                .route("semo-back-service-api", r -> IndexedRoutes.match(r, "/api/semo/v1/**")
+                        .filters(f -> f.filter(circuitBreaker))
                         .uri("lb://semo-back-service")
                 )
 
                 // ============================================================
                 // muse Back Service - Core APIs
                 // ============================================================
-                .route("muse-back-service-api", r -> r
-                        .path("/api/muse/v1/**")
-                        .filters(f -> f
-                                .filter(preLoggingFilter.apply(new PreLoggingFilter.Config()))
-                                .filter(postLoggingFilter.apply(new PostLoggingFilter.Config()))
-                        )
+                .route("muse-back-service-api", r -> IndexedRoutes.match(r, "/api/muse/v1/**")
+                        .filters(f -> f.filter(circuitBreaker))
                         .uri("lb://muse-back-service")
                 )
 
@@ -1,11 +1,14 @@
 package cloud.back.server.config;
 
+import cloud.back.server.security.CachingReactiveJwtDecoder;
+import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.time.Duration;
 
@@ -23,4 +26,17 @@ public class CacheConfig {
         );
         return cacheManager;
     }
+
+    /**
+     * 검증이 끝난 JWT 캐시 - 토큰의 exp 에 만료되고 바이트 단위로 크기가 제한됩니다
+     */
+    @Bean
+    public Cache<CachingReactiveJwtDecoder.TokenDigest, Jwt> verifiedJwtCache(JwtCacheProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher(CachingReactiveJwtDecoder::weigh)
+                .expireAfter(CachingReactiveJwtDecoder.expiry(properties.getMaximumTtl()))
+                .recordStats()
+                .build();
+    }
 }
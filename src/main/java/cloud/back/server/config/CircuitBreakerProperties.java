@@ -0,0 +1,75 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * upstream 서비스별 circuit breaker / bulkhead 설정
+ * services 에 서비스 id (lb://{서비스 id}) 별로 기본값을 덮어쓸 수 있습니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.circuit-breaker")
+public class CircuitBreakerProperties {
+    private boolean enabled = true;
+    private Settings defaults = Settings.builtIn();
+    private Map<String, Settings> services = new HashMap<>();
+
+    public Settings settingsFor(String serviceId) {
+        Settings override = services.get(serviceId);
+        return override != null ? override.withDefaults(defaults) : defaults;
+    }
+
+    @Getter
+    @Setter
+    public static class Settings {
+        private Integer windowSeconds;            // sliding window 길이 (초 단위 버킷)
+        private Integer minimumCalls;             // 실패율을 판단하기 위한 window 내 최소 호출 수
+        private Integer failureRateThreshold;     // 실패율(%) 이 이 값 이상이면 open
+        private Integer slowCallRateThreshold;    // 느린 호출 비율(%) 이 이 값 이상이면 open
+        private Duration slowCallDuration;        // 이 시간보다 오래 걸리면 느린 호출
+        private Duration waitDurationInOpen;      // open 유지 시간 (이후 half-open)
+        private Integer permittedCallsInHalfOpen; // half-open 에서 보내 볼 호출 수
+        private Integer maxConcurrentCalls;       // bulkhead - 동시에 진행할 수 있는 호출 수
+
+        public Settings() {
+        }
+
+        private Settings(boolean withBuiltInDefaults) {
+            if (withBuiltInDefaults) {
+                windowSeconds = 10;
+                minimumCalls = 20;
+                failureRateThreshold = 50;
+                slowCallRateThreshold = 80;
+                slowCallDuration = Duration.ofSeconds(3);
+                waitDurationInOpen = Duration.ofSeconds(10);
+                permittedCallsInHalfOpen = 5;
+                maxConcurrentCalls = 256;
+            }
+        }
+
+        static Settings builtIn() {
+            return new Settings(true);
+        }
+
+        Settings withDefaults(Settings defaults) {
+            Settings merged = new Settings();
+            merged.windowSeconds = windowSeconds != null ? windowSeconds : defaults.windowSeconds;
+            merged.minimumCalls = minimumCalls != null ? minimumCalls : defaults.minimumCalls;
+            merged.failureRateThreshold = failureRateThreshold != null ? failureRateThreshold : defaults.failureRateThreshold;
+            merged.slowCallRateThreshold = slowCallRateThreshold != null ? slowCallRateThreshold : defaults.slowCallRateThreshold;
+            merged.slowCallDuration = slowCallDuration != null ? slowCallDuration : defaults.slowCallDuration;
+            merged.waitDurationInOpen = waitDurationInOpen != null ? waitDurationInOpen : defaults.waitDurationInOpen;
+            merged.permittedCallsInHalfOpen = permittedCallsInHalfOpen != null ? permittedCallsInHalfOpen : defaults.permittedCallsInHalfOpen;
+            merged.maxConcurrentCalls = maxConcurrentCalls != null ? maxConcurrentCalls : defaults.maxConcurrentCalls;
+            return merged;
+        }
+    }
+}
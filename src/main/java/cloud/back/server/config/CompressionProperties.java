@@ -0,0 +1,32 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 게이트웨이 응답 압축 (gzip / deflate) 설정
+ * routes 에 넣은 라우트의 응답만 압축합니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.compression")
+public class CompressionProperties {
+    private boolean enabled = true;
+    private Set<String> routes = new HashSet<>();
+    private DataSize minResponseSize = DataSize.ofKilobytes(1);   // Content-Length 가 이보다 작으면 압축하지 않음
+    private int level = 6;                                        // Deflater 압축 레벨 (1 - 9)
+    private int deflaterPoolSize = 64;                            // 종류(gzip / deflate)별로 보관할 Deflater 수
+    private List<String> excludedContentTypes = new ArrayList<>(List.of(
+            "image/*", "video/*", "audio/*", "font/woff", "font/woff2",
+            "application/zip", "application/gzip", "application/x-gzip", "application/octet-stream", "application/pdf"
+    ));
+}
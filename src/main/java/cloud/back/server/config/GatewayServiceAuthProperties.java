@@ -5,6 +5,9 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.UUID;
+
 @Getter
 @Setter
 @Component
@@ -12,4 +15,20 @@ import org.springframework.stereotype.Component;
 public class GatewayServiceAuthProperties {
     private String sharedSecret;
     private long allowedClockSkewSeconds = 300L;
+    private long nonceBucketSeconds = 10L;       // nonce 저장소 버킷 폭 (요청 timestamp 기준)
+    private int nonceBucketCapacity = 8192;      // 버킷당 최대 nonce 수 (초과 시 요청 거절)
+    private SharedNonce sharedNonce = new SharedNonce();
+
+    /**
+     * replica 간 공유 nonce 저장소 설정
+     */
+    @Getter
+    @Setter
+    public static class SharedNonce {
+        private boolean enabled = false;
+        private String nodeId = UUID.randomUUID().toString();
+        private int maxBatchSize = 256;                         // 한 번에 보내는 최대 claim 수
+        private Duration maxBatchDelay = Duration.ofMillis(2);  // 배치를 모으는 최대 대기 시간
+        private int maxPendingClaims = 16_384;                  // 배치 전송을 기다리는 claim 최대 수 (초과분은 인증 거절)
+    }
 }
@@ -0,0 +1,30 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 읽기 라우트 hedged request 설정
+ * routes 에 넣은 lb:// 라우트의 GET 요청만 대상입니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.hedging")
+public class HedgingProperties {
+    private boolean enabled = true;
+    private Set<String> routes = new HashSet<>();
+    private double budgetRatio = 0.05;                            // 요청 대비 추가로 보낼 수 있는 hedge 비율
+    private int budgetBurst = 10;                                 // 모아 둘 수 있는 hedge 수 (한산할 때 쌓이는 양의 상한)
+    private Duration minDelay = Duration.ofMillis(5);             // p95 가 이보다 짧아도 이 시간은 기다림
+    private Duration maxDelay = Duration.ofSeconds(2);            // p95 가 이보다 길면 이 시간에 hedge
+    private long minSamples = 100;                                // p95 를 믿기 위한 라우트 최소 요청 수 (그 전에는 hedge 하지 않음)
+    private DataSize maximumBodySize = DataSize.ofMegabytes(1);   // 모아서 경쟁시킬 응답 본문 최대 크기 (넘거나 모르면 첫 시도를 스트리밍)
+}
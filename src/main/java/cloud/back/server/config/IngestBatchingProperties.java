@@ -0,0 +1,38 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 센서 ingest 요청 micro-batching 설정
+ * batches 에 넣은 경로의 gateway 인증 요청만 202 로 먼저 응답하고, upstream 에는 모아서 batch 요청 하나로 보냅니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.ingest-batching")
+public class IngestBatchingProperties {
+    private boolean enabled = false;
+    private Map<String, Batch> batches = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    public static class Batch {
+        private String path;                                     // 대상 요청 경로 패턴 (예: /internal/zeroq/gateway/sensor/ingest/gateway-heartbeat)
+        private String target;                                   // batch 를 받을 upstream URI (예: lb://zeroq-back-sensor/...)
+        private int maxBatchSize = 500;                          // 이만큼 모이면 바로 보냄
+        private Duration maxDelay = Duration.ofMillis(50);       // 이 시간마다 모인 만큼 보냄
+        private int bufferCapacity = 20_000;                     // 보내지 못하고 쌓일 수 있는 요청 수 (넘으면 503)
+        private DataSize maxPayloadSize = DataSize.ofKilobytes(64);
+        private int maxConcurrentFlushes = 2;                    // 동시에 진행할 수 있는 batch 요청 수
+        private Duration flushTimeout = Duration.ofSeconds(5);
+        private int maxRetries = 2;                              // upstream 5xx / 연결 실패 시 재시도 횟수
+    }
+}
@@ -0,0 +1,23 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 검증이 끝난 JWT 캐시 설정
+ * 캐시 항목은 토큰의 exp 시각에 만료되며, 전체 크기는 바이트 단위로 제한됩니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "app.jwt.cache")
+public class JwtCacheProperties {
+    private boolean enabled = true;
+    private DataSize maximumSize = DataSize.ofMegabytes(16);    // 캐시 전체 크기 상한
+    private Duration maximumTtl = Duration.ofMinutes(30);       // exp 가 없거나 너무 먼 토큰의 상한
+}
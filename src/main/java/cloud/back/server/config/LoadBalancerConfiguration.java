@@ -0,0 +1,14 @@
+package cloud.back.server.config;
+
+import cloud.back.server.loadbalancer.GatewayLoadBalancerClientConfiguration;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 모든 lb:// 서비스에 {@link GatewayLoadBalancerClientConfiguration} 을 적용합니다
+ * 서비스별 전략은 gateway.load-balancer (LoadBalancerStrategyProperties) 로 고릅니다.
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = GatewayLoadBalancerClientConfiguration.class)
+public class LoadBalancerConfiguration {
+}
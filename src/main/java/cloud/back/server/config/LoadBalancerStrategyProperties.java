@@ -0,0 +1,36 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * lb:// 서비스별 인스턴스 선택 전략
+ * - round-robin: Spring Cloud LoadBalancer 기본 전략
+ * - peak-ewma: 진행 중 요청 수 x 관측 지연(peak EWMA) 이 낮은 쪽을 두 후보 중에서 고릅니다 (power of two choices)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.load-balancer")
+public class LoadBalancerStrategyProperties {
+
+    public enum Strategy {
+        ROUND_ROBIN,
+        PEAK_EWMA
+    }
+
+    private Strategy defaultStrategy = Strategy.ROUND_ROBIN;
+    private Map<String, Strategy> services = new HashMap<>();   // 서비스 id 별 전략 (예: zeroq-back-service: peak-ewma)
+    private Duration decay = Duration.ofSeconds(10);            // EWMA 감쇠 시간 상수
+    private Duration statsIdleTimeout = Duration.ofMinutes(10); // 요청이 없는 인스턴스 통계 보관 시간
+
+    public Strategy strategyFor(String serviceId) {
+        return services.getOrDefault(serviceId, defaultStrategy);
+    }
+}
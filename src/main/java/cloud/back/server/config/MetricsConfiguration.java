@@ -0,0 +1,171 @@
+package cloud.back.server.config;
+
+import cloud.back.server.accesslog.AccessLogWriter;
+import cloud.back.server.cache.ResponseCacheStore;
+import cloud.back.server.filter.HedgingFilter;
+import cloud.back.server.filter.RequestCoalescingFilter;
+import cloud.back.server.logback.CountingAsyncAppender;
+import cloud.back.server.ratelimit.RateLimiterRegistry;
+import cloud.back.server.ratelimit.RouteRateLimiter;
+import cloud.back.server.rejection.Rejection;
+import cloud.back.server.rejection.RejectionCatalogue;
+import cloud.back.server.security.CachingReactiveJwtDecoder;
+import cloud.back.server.security.SecurityDispatchIndex;
+import cloud.back.server.security.SharedNonceGuard;
+import ch.qos.logback.classic.LoggerContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+/**
+ * 게이트웨이 내부 카운터를 Micrometer 에 연결합니다
+ * 값은 scrape 시점에 읽으므로 요청 경로에는 추가 비용이 없습니다.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder accessLogMetrics(AccessLogWriter accessLogWriter) {
+        return registry -> {
+            FunctionCounter.builder("gateway.access.log.dropped", accessLogWriter, AccessLogWriter::droppedCount)
+                    .description("Access log records dropped because the ring buffer was full")
+                    .register(registry);
+            FunctionCounter.builder("gateway.access.log.failed", accessLogWriter, AccessLogWriter::failedCount)
+                    .description("Access log records skipped because writing them threw")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder verifiedJwtCacheMetrics(Cache<CachingReactiveJwtDecoder.TokenDigest, Jwt> verifiedJwtCache) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, verifiedJwtCache, "verifiedJwt");
+    }
+
+    @Bean
+    public MeterBinder securityDispatchMetrics(SecurityDispatchIndex securityDispatchIndex) {
+        return registry -> CaffeineCacheMetrics.monitor(registry, securityDispatchIndex.cache(), "securityDispatch");
+    }
+
+    @Bean
+    public MeterBinder responseCacheMetrics(ResponseCacheStore responseCacheStore) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, responseCacheStore.cache(), "gatewayResponse");
+            FunctionCounter.builder("gateway.response.cache.revalidations", responseCacheStore, ResponseCacheStore::revalidationCount)
+                    .description("Background revalidations of stale cached responses")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder requestCoalescingMetrics(RequestCoalescingFilter requestCoalescingFilter) {
+        return registry -> {
+            FunctionCounter.builder("gateway.coalescing.requests", requestCoalescingFilter, RequestCoalescingFilter::leaderCount)
+                    .description("Requests that went upstream and shared their response")
+                    .tag("role", "leader")
+                    .register(registry);
+            FunctionCounter.builder("gateway.coalescing.requests", requestCoalescingFilter, RequestCoalescingFilter::followerCount)
+                    .description("Requests that waited for an identical in-flight request")
+                    .tag("role", "follower")
+                    .register(registry);
+            FunctionCounter.builder("gateway.coalescing.fallbacks", requestCoalescingFilter, RequestCoalescingFilter::fallbackCount)
+                    .description("Waiting requests that went upstream themselves after a timeout or an unshareable response")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder hedgingMetrics(HedgingFilter hedgingFilter) {
+        return registry -> {
+            FunctionCounter.builder("gateway.hedging.requests", hedgingFilter, HedgingFilter::hedgedCount)
+                    .description("Second upstream attempts sent because the first was slower than the route p95")
+                    .tag("result", "sent")
+                    .register(registry);
+            FunctionCounter.builder("gateway.hedging.requests", hedgingFilter, HedgingFilter::hedgeWinCount)
+                    .description("Hedged attempts that answered before the first attempt")
+                    .tag("result", "won")
+                    .register(registry);
+            FunctionCounter.builder("gateway.hedging.requests", hedgingFilter, HedgingFilter::budgetExhaustedCount)
+                    .description("Hedges skipped because the hedge budget was exhausted")
+                    .tag("result", "budget_exhausted")
+                    .register(registry);
+            FunctionCounter.builder("gateway.hedging.streamed", hedgingFilter, HedgingFilter::streamedCount)
+                    .description("Hedged-route responses streamed from the first attempt because the body was too large or of unknown size")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder sharedNonceMetrics(ObjectProvider<SharedNonceGuard> sharedNonceGuard) {
+        return registry -> sharedNonceGuard.ifAvailable(guard -> {
+            FunctionCounter.builder("gateway.nonce.shared.decisions", guard, SharedNonceGuard::knownDuplicateCount)
+                    .description("Gateway nonces rejected locally because another node had already claimed them")
+                    .tag("decision", "local")
+                    .register(registry);
+            FunctionCounter.builder("gateway.nonce.shared.decisions", guard, SharedNonceGuard::remoteCheckCount)
+                    .description("Gateway nonces confirmed by the shared store before accepting")
+                    .tag("decision", "remote")
+                    .register(registry);
+            FunctionCounter.builder("gateway.nonce.shared.shedded", guard, SharedNonceGuard::sheddedCount)
+                    .description("Gateway nonce claims rejected because the shared store batch queue was full")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder rateLimiterMetrics(RateLimiterRegistry rateLimiterRegistry) {
+        return registry -> rateLimiterRegistry.limiters().forEach((routeId, limiter) -> {
+            Gauge.builder("gateway.ratelimit.keys", limiter, RouteRateLimiter::estimatedKeyCount)
+                    .description("Rate limiter buckets currently held for the route")
+                    .tag("route", routeId)
+                    .register(registry);
+            FunctionCounter.builder("gateway.ratelimit.keys.rejected", limiter, RouteRateLimiter::rejectedNewKeyCount)
+                    .description("Requests with a new rate limit key rejected because the route reached maximum-keys")
+                    .tag("route", routeId)
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder rejectionMetrics(RejectionCatalogue rejectionCatalogue) {
+        return registry -> {
+            for (Rejection rejection : Rejection.values()) {
+                FunctionCounter.builder("gateway.rejections", rejectionCatalogue, catalogue -> catalogue.count(rejection))
+                        .description("Requests answered by the gateway itself with a pre-encoded error response")
+                        .tag("reason", rejection.tag())
+                        .tag("status", Integer.toString(rejection.status().value()))
+                        .register(registry);
+            }
+        };
+    }
+
+    /**
+     * prod 프로필 async appender 가 버린 로그 이벤트 수
+     */
+    @Bean
+    public MeterBinder logPipelineMetrics() {
+        return registry -> {
+            if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+                return;
+            }
+            for (CountingAsyncAppender appender : CountingAsyncAppender.find(context)) {
+                FunctionCounter.builder("gateway.log.events.dropped", appender, CountingAsyncAppender::discardedCount)
+                        .description("INFO and lower log events discarded because the async queue was nearly full")
+                        .tag("appender", appender.getName())
+                        .tag("reason", "discarded")
+                        .register(registry);
+                FunctionCounter.builder("gateway.log.events.dropped", appender, CountingAsyncAppender::queueFullCount)
+                        .description("Log events dropped instead of blocking because the async queue was full")
+                        .tag("appender", appender.getName())
+                        .tag("reason", "queue_full")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 라우트별 요청 속도 제한 (X-User-Key / gateway:{id} 단위, 프로세스 로컬)
+ * routes 에 없는 라우트는 제한하지 않습니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Duration idleTimeout = Duration.ofMinutes(10);   // 요청이 없는 키의 bucket 보관 시간
+    private long maximumKeys = 1_000_000L;                   // 라우트당 최대 키 수 (넘으면 새 키의 요청을 429 로 거절)
+    private Map<String, Limit> routes = new HashMap<>();
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private double replenishRate = 10.0;   // 초당 토큰 수
+        private int burstCapacity = 20;        // bucket 크기 (순간 허용량)
+    }
+}
@@ -0,0 +1,29 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 동시에 들어온 같은 GET 요청을 upstream 호출 하나로 합치는 설정
+ * routes 에 넣은 (멱등) 라우트만 대상입니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.request-coalescing")
+public class RequestCoalescingProperties {
+    private boolean enabled = true;
+    private Set<String> routes = new HashSet<>();
+    private List<String> varyHeaders = new ArrayList<>(List.of("Accept", "Accept-Encoding", "Accept-Language"));
+    private Duration maxWait = Duration.ofSeconds(3);                 // 대기 요청이 선행 요청을 기다리는 최대 시간
+    private DataSize maximumBodySize = DataSize.ofMegabytes(1);       // 이보다 큰 응답은 공유하지 않음
+}
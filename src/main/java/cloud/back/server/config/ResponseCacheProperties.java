@@ -0,0 +1,27 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 익명 GET 응답 캐시 (공개 muse 페이지 등)
+ * backend 의 Cache-Control / ETag 를 따르고, paths 에 맞는 인증 없는 요청만 캐시합니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+    private boolean enabled = true;
+    private DataSize maximumSize = DataSize.ofMegabytes(64);          // 전체 본문 + 헤더 크기 상한 (off-heap)
+    private DataSize maximumEntrySize = DataSize.ofMegabytes(1);      // 이보다 큰 응답은 캐시하지 않음
+    private Duration defaultTtl = Duration.ZERO;                      // Cache-Control 이 없는 응답의 신선 기간 (0 이면 캐시 안 함)
+    private List<String> paths = new ArrayList<>();                   // 캐시 대상 GET 경로 패턴
+}
@@ -0,0 +1,29 @@
+package cloud.back.server.config;
+
+import cloud.back.server.route.IndexedRoutePredicateHandlerMapping;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * 라우트 조회를 segment trie 인덱스로 대체합니다 (gateway.route-index.enabled=false 면 기본 순차 평가)
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.route-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RouteIndexConfiguration {
+
+    // GatewayAutoConfiguration 의 같은 이름 bean 은 @ConditionalOnMissingBean 이라 이 bean 으로 대체됩니다
+    // (CloudBackServerApplicationTests 에서 하나만 등록되는지 확인합니다)
+    @Bean
+    public RoutePredicateHandlerMapping routePredicateHandlerMapping(FilteringWebHandler webHandler,
+                                                                     RouteLocator routeLocator,
+                                                                     GlobalCorsProperties globalCorsProperties,
+                                                                     Environment environment) {
+        return new IndexedRoutePredicateHandlerMapping(webHandler, routeLocator, globalCorsProperties, environment);
+    }
+}
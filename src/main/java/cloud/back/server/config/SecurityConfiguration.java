@@ -1,61 +1,120 @@
 package cloud.back.server.config;
 
+import cloud.back.server.rejection.Rejection;
+import cloud.back.server.rejection.RejectionCatalogue;
+import cloud.back.server.security.CachingReactiveJwtDecoder;
 import cloud.back.server.security.GatewayServiceAuthenticationConverter;
 import cloud.back.server.security.GatewayServiceAuthenticationManager;
-import java.nio.charset.StandardCharsets;
+import cloud.back.server.security.Hs512JwtVerifier;
+import cloud.back.server.security.Hs512ReactiveJwtDecoder;
+import cloud.back.server.security.ManagementPortMatcher;
+import cloud.back.server.security.SecurityDispatchIndex;
+import cloud.back.server.security.SecurityDispatchIndex.Chain;
+import cloud.back.server.security.SecurityDispatchIndex.Rule;
+import java.time.Duration;
 import java.util.Arrays;
+import java.util.List;
 
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
-import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
-import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
 import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
-import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 
-import javax.crypto.SecretKey;
-import javax.crypto.spec.SecretKeySpec;
-
 @Configuration
 @EnableWebFluxSecurity
 @RequiredArgsConstructor
 public class SecurityConfiguration {
 
+    private static final Duration JWT_CLOCK_SKEW = Duration.ofSeconds(60);
+
+    // 체인 선택 / permitAll 규칙 - SecurityDispatchIndex 로 한 번에 판정합니다
+    private static final List<Rule> PUBLIC_ENDPOINTS = List.of(
+            new Rule(null, "/auth/login"),
+            new Rule(null, "/auth/refresh"),
+            new Rule(null, "/oauth2/**"),
+            new Rule(null, "/login/**"),
+            new Rule(null, "/.well-known/**")
+    );
+    private static final List<Rule> GATEWAY_SERVICE_ENDPOINTS = List.of(
+            new Rule(null, "/internal/zeroq/gateway/**")
+    );
+    private static final List<Rule> PERMIT_ALL_ENDPOINTS = List.of(
+            new Rule(HttpMethod.POST, "/api/users"),
+            new Rule(HttpMethod.GET, "/api/muse/v1/home"),
+            new Rule(HttpMethod.GET, "/api/muse/v1/overview"),
+            new Rule(HttpMethod.GET, "/api/muse/v1/contests/**"),
+            new Rule(HttpMethod.GET, "/api/muse/v1/gallery/**"),
+            new Rule(HttpMethod.GET, "/api/muse/v1/artworks/**")
+    );
+    private static final int SECURITY_DISPATCH_CACHE_SIZE = 10_000;
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Bean
-    public ReactiveJwtDecoder reactiveJwtDecoder() {
-        SecretKey secretKey = new SecretKeySpec(
-                jwtSecret.getBytes(StandardCharsets.UTF_8),
-                "HmacSHA512"
+    public ReactiveJwtDecoder reactiveJwtDecoder(
+            JwtCacheProperties jwtCacheProperties,
+            Cache<CachingReactiveJwtDecoder.TokenDigest, Jwt> verifiedJwtCache
+    ) {
+        // auth-back-server 토큰은 항상 HS512 이므로 범용 JOSE 처리 대신 전용 검증기를 씁니다
+        // (만료 허용 오차는 기존 JwtTimestampValidator 기본값과 같은 60초)
+        ReactiveJwtDecoder decoder = new Hs512ReactiveJwtDecoder(new Hs512JwtVerifier(jwtSecret, JWT_CLOCK_SKEW));
+        if (!jwtCacheProperties.isEnabled()) {
+            return decoder;
+        }
+        // 같은 토큰의 반복 요청은 서명 검증/claim 파싱 없이 캐시에서 바로 반환
+        return new CachingReactiveJwtDecoder(decoder, verifiedJwtCache);
+    }
+
+    /**
+     * 경로 + 메서드별 체인 선택 결과 캐시 (토큰 없는 permitAll 요청은 공개 체인으로)
+     */
+    @Bean
+    public SecurityDispatchIndex securityDispatchIndex() {
+        return new SecurityDispatchIndex(
+                PUBLIC_ENDPOINTS, GATEWAY_SERVICE_ENDPOINTS, PERMIT_ALL_ENDPOINTS, SECURITY_DISPATCH_CACHE_SIZE
         );
-        return NimbusReactiveJwtDecoder.withSecretKey(secretKey)
-                .macAlgorithm(MacAlgorithm.HS512)
+    }
+
+    /**
+     * actuator 는 management.server.port 로만 서비스합니다 (게이트웨이 포트로는 노출하지 않음)
+     * management 포트는 외부 ingress 에 열지 않는 내부 포트이므로 인증 없이 허용합니다.
+     */
+    @Bean
+    @Order(0)
+    public SecurityWebFilterChain managementPortFilterChain(ServerHttpSecurity http, Environment environment) {
+        return http
+                .securityMatcher(new ManagementPortMatcher(environment))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .authorizeExchange(exchanges -> exchanges.anyExchange().permitAll())
                 .build();
     }
 
     @Bean
     @Order(1)
-    public SecurityWebFilterChain publicEndpointsFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain publicEndpointsFilterChain(
+            ServerHttpSecurity http,
+            SecurityDispatchIndex securityDispatchIndex
+    ) {
         return http
-                .securityMatcher(ServerWebExchangeMatchers.pathMatchers(
-                        "/auth/login", "/auth/refresh",
-                        "/oauth2/**", "/login/**", "/.well-known/**", "/actuator/**"
-                ))
+                .securityMatcher(securityDispatchIndex.chainMatcher(Chain.PUBLIC))
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeExchange(exchanges -> exchanges.anyExchange().permitAll())
@@ -67,38 +126,55 @@ public class SecurityConfiguration {
     public SecurityWebFilterChain gatewayServiceFilterChain(
             ServerHttpSecurity http,
             GatewayServiceAuthenticationManager gatewayServiceAuthenticationManager,
-            GatewayServiceAuthenticationConverter gatewayServiceAuthenticationConverter
+            GatewayServiceAuthenticationConverter gatewayServiceAuthenticationConverter,
+            SecurityDispatchIndex securityDispatchIndex,
+            RejectionCatalogue rejections
     ) {
         AuthenticationWebFilter gatewayAuthFilter = new AuthenticationWebFilter(gatewayServiceAuthenticationManager);
         gatewayAuthFilter.setServerAuthenticationConverter(gatewayServiceAuthenticationConverter);
         gatewayAuthFilter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        // 실패 응답은 미리 인코딩한 본문으로 (예외 메시지는 응답에 싣지 않습니다)
+        gatewayAuthFilter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(
+                rejections.entryPoint(Rejection.GATEWAY_AUTHENTICATION_FAILED)));
 
         return http
-                .securityMatcher(ServerWebExchangeMatchers.pathMatchers("/internal/zeroq/gateway/**"))
+                .securityMatcher(securityDispatchIndex.chainMatcher(Chain.GATEWAY_SERVICE))
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
                 .authorizeExchange(exchanges -> exchanges.anyExchange().authenticated())
                 .addFilterAt(gatewayAuthFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(rejections.entryPoint(Rejection.GATEWAY_AUTHENTICATION_FAILED))
+                        .accessDeniedHandler(rejections.accessDeniedHandler())
+                )
                 .build();
     }
 
     @Bean
     @Order(3)
-    public SecurityWebFilterChain defaultSecurityFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain defaultSecurityFilterChain(
+            ServerHttpSecurity http,
+            SecurityDispatchIndex securityDispatchIndex,
+            RejectionCatalogue rejections
+    ) {
         return http
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeExchange(exchanges -> exchanges
-                        .pathMatchers(HttpMethod.POST, "/api/users").permitAll()
-                        .pathMatchers(HttpMethod.GET, "/api/muse/v1/home").permitAll()
-                        .pathMatchers(HttpMethod.GET, "/api/muse/v1/overview").permitAll()
-                        .pathMatchers(HttpMethod.GET, "/api/muse/v1/contests/**").permitAll()
-                        .pathMatchers(HttpMethod.GET, "/api/muse/v1/gallery/**").permitAll()
-                        .pathMatchers(HttpMethod.GET, "/api/muse/v1/artworks/**").permitAll()
+                        // 토큰과 함께 온 permitAll 요청 (토큰이 없으면 공개 체인에서 처리)
+                        .matchers(securityDispatchIndex.permitAllMatcher()).permitAll()
                         .anyExchange().authenticated()
                 )
-                .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()))
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(rejections.bearerEntryPoint())
+                        .accessDeniedHandler(rejections.accessDeniedHandler())
+                )
+                .oauth2ResourceServer(oauth2 -> oauth2
+                        .jwt(Customizer.withDefaults())
+                        .authenticationEntryPoint(rejections.bearerEntryPoint())
+                        .accessDeniedHandler(rejections.accessDeniedHandler())
+                )
                 .build();
     }
 
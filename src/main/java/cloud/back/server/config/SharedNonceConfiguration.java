@@ -0,0 +1,30 @@
+package cloud.back.server.config;
+
+import cloud.back.server.security.InMemorySharedNonceStore;
+import cloud.back.server.security.SharedNonceGuard;
+import cloud.back.server.security.SharedNonceStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * replica 간 nonce 공유 설정 (gateway.auth.shared-nonce.enabled=true 일 때만)
+ * 원격 저장소 구현체를 SharedNonceStore 빈으로 등록하면 기본 in-memory 구현 대신 사용됩니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.auth.shared-nonce", name = "enabled", havingValue = "true")
+public class SharedNonceConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SharedNonceStore sharedNonceStore() {
+        return new InMemorySharedNonceStore();
+    }
+
+    @Bean
+    public SharedNonceGuard sharedNonceGuard(SharedNonceStore sharedNonceStore,
+                                             GatewayServiceAuthProperties gatewayServiceAuthProperties) {
+        return new SharedNonceGuard(sharedNonceStore, gatewayServiceAuthProperties);
+    }
+}
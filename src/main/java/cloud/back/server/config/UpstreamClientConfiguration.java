@@ -0,0 +1,28 @@
+package cloud.back.server.config;
+
+import cloud.back.server.filter.ServiceRoutingFilter;
+import cloud.back.server.upstream.UpstreamHttpClients;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+/**
+ * 기본 NettyRoutingFilter 대신 서비스별 연결 풀을 쓰는 라우팅 필터를 등록합니다
+ * (spring.cloud.gateway.server.webflux.global-filter.netty-routing.enabled=false 와 함께 씁니다)
+ */
+@Configuration
+public class UpstreamClientConfiguration {
+
+    @Bean
+    public ServiceRoutingFilter serviceRoutingFilter(HttpClient httpClient,
+                                                     ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                     HttpClientProperties properties,
+                                                     UpstreamHttpClients upstreamClients) {
+        return new ServiceRoutingFilter(httpClient, headersFilters, properties, upstreamClients);
+    }
+}
@@ -0,0 +1,79 @@
+package cloud.back.server.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * upstream 서비스별 HTTP 클라이언트 연결 풀 설정
+ * services 에 서비스 id (lb://{서비스 id}) 별로 기본값을 덮어쓸 수 있습니다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "gateway.upstream-client")
+public class UpstreamClientProperties {
+    private Pool defaults = Pool.builtIn();
+    private Map<String, Pool> services = new HashMap<>();
+
+    public Pool poolFor(String serviceId) {
+        Pool override = services.get(serviceId);
+        return override != null ? override.withDefaults(defaults) : defaults;
+    }
+
+    public enum Protocol {
+        HTTP11,
+        H2C    // prior knowledge - upstream 이 평문 HTTP/2 를 받아야 합니다
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private Protocol protocol;                 // http11 | h2c
+        private Integer maxConnections;            // 인스턴스(주소)당 최대 연결 수
+        private Integer maxConcurrentStreams;      // h2c 연결당 동시 stream 수
+        private Integer pendingAcquireMaxCount;    // 연결을 기다릴 수 있는 요청 수 (-1 이면 제한 없음)
+        private Duration pendingAcquireTimeout;    // 연결을 기다리는 최대 시간
+        private Duration maxIdleTime;              // 이 시간 동안 쓰지 않은 연결은 닫음
+        private Duration maxLifeTime;              // 연결 최대 수명 (인스턴스 교체 / DNS 변경 반영)
+        private Duration evictInBackground;        // 백그라운드 정리 주기
+
+        public Pool() {
+        }
+
+        private Pool(boolean withBuiltInDefaults) {
+            if (withBuiltInDefaults) {
+                protocol = Protocol.HTTP11;
+                maxConnections = 500;
+                maxConcurrentStreams = 100;
+                pendingAcquireMaxCount = 1000;
+                pendingAcquireTimeout = Duration.ofSeconds(5);
+                maxIdleTime = Duration.ofSeconds(30);
+                maxLifeTime = Duration.ofMinutes(5);
+                evictInBackground = Duration.ofSeconds(30);
+            }
+        }
+
+        static Pool builtIn() {
+            return new Pool(true);
+        }
+
+        Pool withDefaults(Pool defaults) {
+            Pool merged = new Pool();
+            merged.protocol = protocol != null ? protocol : defaults.protocol;
+            merged.maxConnections = maxConnections != null ? maxConnections : defaults.maxConnections;
+            merged.maxConcurrentStreams = maxConcurrentStreams != null ? maxConcurrentStreams : defaults.maxConcurrentStreams;
+            merged.pendingAcquireMaxCount = pendingAcquireMaxCount != null ? pendingAcquireMaxCount : defaults.pendingAcquireMaxCount;
+            merged.pendingAcquireTimeout = pendingAcquireTimeout != null ? pendingAcquireTimeout : defaults.pendingAcquireTimeout;
+            merged.maxIdleTime = maxIdleTime != null ? maxIdleTime : defaults.maxIdleTime;
+            merged.maxLifeTime = maxLifeTime != null ? maxLifeTime : defaults.maxLifeTime;
+            merged.evictInBackground = evictInBackground != null ? evictInBackground : defaults.evictInBackground;
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.accesslog.AccessLogEvent;
+import cloud.back.server.accesslog.AccessLogRingBuffer;
+import cloud.back.server.accesslog.AccessLogWriter;
+import cloud.back.server.config.AccessLogProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * 글로벌 접근 로그 필터 - 요청당 한 건의 접근 로그를 ring buffer 에 넣습니다
+ * 실제 기록은 {@link AccessLogWriter} 스레드가 합니다.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    private final AccessLogProperties properties;
+    private final AccessLogRingBuffer ringBuffer;
+
+    public AccessLogFilter(AccessLogProperties properties, AccessLogWriter accessLogWriter) {
+        this.properties = properties;
+        this.ringBuffer = accessLogWriter.ringBuffer();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        long startNanos = System.nanoTime();
+        long[] firstByteNanos = {-1L};
+        exchange.getResponse().beforeCommit(() -> {
+            firstByteNanos[0] = System.nanoTime() - startNanos;
+            return Mono.empty();
+        });
+        ByteCountingResponseDecorator counted = new ByteCountingResponseDecorator(exchange.getResponse());
+        return chain.filter(exchange.mutate().response(counted).build())
+                .doFinally(signal -> record(exchange, counted.bytesWritten(), System.nanoTime() - startNanos, firstByteNanos[0]));
+    }
+
+    private void record(ServerWebExchange exchange, long bytesWritten, long durationNanos, long firstByteNanos) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+        ServerHttpResponse response = exchange.getResponse();
+        HttpStatusCode statusCode = response.getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 200;
+
+        if (!isSampled(routeId, status)) {
+            return;
+        }
+        long sequence = ringBuffer.tryClaim();
+        if (sequence < 0) {
+            return;
+        }
+        AccessLogEvent event = ringBuffer.get(sequence);
+        try {
+            ServerHttpRequest request = exchange.getRequest();
+            URI upstream = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+            event.set(
+                    request.getMethod().name(),
+                    request.getPath().value(),
+                    routeId,
+                    status,
+                    bytesWritten,
+                    upstream,
+                    durationNanos,
+                    firstByteNanos
+            );
+            List<String> headerNames = properties.headersFor(routeId);
+            String[] values = event.headers(headerNames);
+            HttpHeaders headers = request.getHeaders();
+            for (int i = 0; i < headerNames.size() && i < values.length; i++) {
+                values[i] = headers.getFirst(headerNames.get(i));
+            }
+        } finally {
+            ringBuffer.publish(sequence);
+        }
+    }
+
+    private boolean isSampled(String routeId, int status) {
+        if (properties.isAlwaysLogErrors() && status >= 400) {
+            return true;
+        }
+        double rate = properties.sampleRateFor(routeId);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    @Override
+    public int getOrder() {
+        return -100;
+    }
+}
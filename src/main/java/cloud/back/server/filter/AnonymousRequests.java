@@ -0,0 +1,23 @@
+package cloud.back.server.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * 응답 캐시 (ResponseCacheFilter) 와 요청 합치기 (RequestCoalescingFilter) 가 같이 쓰는 익명 GET 판정
+ * Authorization / Cookie 가 있으면 사용자별 응답일 수 있으므로 다른 요청과 응답을 나누지 않습니다.
+ */
+final class AnonymousRequests {
+
+    private AnonymousRequests() {
+    }
+
+    static boolean isAnonymousGet(ServerHttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET) {
+            return false;
+        }
+        HttpHeaders headers = request.getHeaders();
+        return !headers.containsHeader(HttpHeaders.AUTHORIZATION) && !headers.containsHeader(HttpHeaders.COOKIE);
+    }
+}
@@ -0,0 +1,191 @@
+package cloud.back.server.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 클라이언트로 나가는 응답 본문을 그대로 흘려보내면서 사본을 모으는 decorator
+ * - 응답 캐시, 동일 요청 합치기 등 응답을 재사용하는 필터가 함께 씁니다.
+ * - 본문이 maxBytes 를 넘거나, 스트리밍 응답(writeAndFlushWith)이거나, 쓰기가 실패/취소되면 사본을 버리고 onAbandoned 를 부릅니다.
+ * - 리스너는 응답마다 한 번만 불립니다.
+ */
+public class BodyCapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    public interface Listener {
+
+        /**
+         * @param body   length 까지만 유효한 사본 (리스너가 소유)
+         */
+        void onCaptured(HttpStatusCode status, HttpHeaders headers, byte[] body, int length);
+
+        default void onAbandoned() {
+        }
+    }
+
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+
+    // 다른 응답에 다시 쓰면 안 되는 hop-by-hop / 응답마다 다시 정하는 헤더
+    private static final Set<String> EXCLUDED_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization", "te", "trailer",
+            "transfer-encoding", "upgrade", "content-length", "age", "date"
+    );
+
+    // 요청마다 다시 붙는 헤더: CORS 응답 헤더 (요청 Origin 별), RateLimit-* / X-Gateway-* (gateway 필터가 요청마다 설정)
+    private static final List<String> PER_REQUEST_HEADER_PREFIXES = List.of("access-control-", "ratelimit-", "x-gateway-");
+
+    // CORS 처리가 요청마다 붙이는 Vary 값. 응답 본문은 Origin 에 따라 달라지지 않습니다
+    private static final Set<String> CORS_VARY = Set.of(
+            "origin", "access-control-request-method", "access-control-request-headers"
+    );
+
+    private final int maxBytes;
+    private final Listener listener;
+    private byte[] captured;
+    private int length;
+    private boolean overflowed;
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    public BodyCapturingResponseDecorator(ServerHttpResponse delegate, int maxBytes, Listener listener) {
+        super(delegate);
+        this.maxBytes = maxBytes;
+        this.listener = listener;
+    }
+
+    /**
+     * 캡처한 응답을 다른 응답에 다시 쓸 때 복사할 헤더 (end-to-end 헤더만)
+     * - CORS / rate limit / gateway 헤더와 Vary 의 CORS 값은 빼고, 다시 쓰는 요청의 필터가 붙인 값을 그대로 둡니다.
+     */
+    public static HttpHeaders replayableHeaders(HttpHeaders headers) {
+        HttpHeaders copy = new HttpHeaders();
+        for (String name : headers.headerNames()) {
+            String lower = name.toLowerCase(Locale.ROOT);
+            if (EXCLUDED_HEADERS.contains(lower) || isPerRequestHeader(lower)) {
+                continue;
+            }
+            if (HttpHeaders.VARY.equalsIgnoreCase(name)) {
+                List<String> vary = headers.getVary().stream().filter(token -> !isCorsVary(token)).toList();
+                if (!vary.isEmpty()) {
+                    copy.setVary(vary);
+                }
+                continue;
+            }
+            // getValuesAsList 는 쉼표로 나누므로 날짜 헤더 (Last-Modified, Expires) 가 깨집니다
+            copy.put(name, List.copyOf(headers.get(name)));
+        }
+        return copy;
+    }
+
+    /**
+     * replayableHeaders 로 복사한 헤더를 응답에 씁니다. Vary 는 덮지 않고 없는 값만 더합니다.
+     */
+    public static void replayHeaders(HttpHeaders replayable, HttpHeaders target) {
+        for (String name : replayable.headerNames()) {
+            if (!name.equalsIgnoreCase(HttpHeaders.VARY)) {
+                target.put(name, replayable.get(name));
+                continue;
+            }
+            List<String> present = target.getVary();
+            for (String token : replayable.getVary()) {
+                if (present.stream().noneMatch(token::equalsIgnoreCase)) {
+                    target.add(HttpHeaders.VARY, token);
+                }
+            }
+        }
+    }
+
+    /**
+     * CORS 처리가 붙이는 Vary 값인지 (Origin, Access-Control-Request-Method / -Headers)
+     */
+    public static boolean isCorsVary(String token) {
+        return CORS_VARY.contains(token.trim().toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean isPerRequestHeader(String lowerName) {
+        for (String prefix : PER_REQUEST_HEADER_PREFIXES) {
+            if (lowerName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        Flux<? extends DataBuffer> teed = Flux.from(body).doOnNext(this::capture);
+        return super.writeWith(teed)
+                .doOnSuccess(ignored -> complete())
+                .doOnError(ex -> abandon())
+                .doOnCancel(this::abandon);
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        abandon();
+        return super.writeAndFlushWith(body);
+    }
+
+    @Override
+    public Mono<Void> setComplete() {
+        // 본문 없이 끝나는 응답 (writeWith 이후에 불려도 이미 끝났으면 무시)
+        return super.setComplete().doOnSuccess(ignored -> complete());
+    }
+
+    private void capture(DataBuffer buffer) {
+        if (overflowed) {
+            return;
+        }
+        int readable = buffer.readableByteCount();
+        if (length + readable > maxBytes) {
+            overflowed = true;
+            captured = null;
+            return;
+        }
+        ensureCapacity(length + readable);
+        buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(captured), length, readable);
+        length += readable;
+    }
+
+    private void ensureCapacity(int required) {
+        if (captured == null) {
+            long contentLength = getDelegate().getHeaders().getContentLength();
+            int initial = contentLength > 0 && contentLength <= maxBytes ? (int) contentLength : INITIAL_CAPACITY;
+            captured = new byte[Math.max(required, Math.min(initial, maxBytes))];
+        } else if (required > captured.length) {
+            int grown = (int) Math.min(maxBytes, Math.max(required, captured.length * 2L));
+            captured = Arrays.copyOf(captured, grown);
+        }
+    }
+
+    private void complete() {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        HttpStatusCode status = getDelegate().getStatusCode();
+        if (overflowed || status == null) {
+            listener.onAbandoned();
+            return;
+        }
+        listener.onCaptured(status, getDelegate().getHeaders(), captured != null ? captured : new byte[0], length);
+    }
+
+    private void abandon() {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        captured = null;
+        listener.onAbandoned();
+    }
+}
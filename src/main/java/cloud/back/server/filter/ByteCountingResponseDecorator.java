@@ -0,0 +1,40 @@
+package cloud.back.server.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 클라이언트로 내보낸 응답 본문 바이트 수를 세는 decorator
+ * - Content-Length 가 없는 chunked 응답, 게이트웨이에서 압축한 응답도 실제로 쓴 만큼 셉니다.
+ */
+public class ByteCountingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private long bytesWritten;
+
+    public ByteCountingResponseDecorator(ServerHttpResponse delegate) {
+        super(delegate);
+    }
+
+    public long bytesWritten() {
+        return bytesWritten;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        return super.writeWith(Flux.from(body).doOnNext(this::count));
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return super.writeAndFlushWith(Flux.from(body).map(chunk -> Flux.from(chunk).doOnNext(this::count)));
+    }
+
+    private void count(DataBuffer buffer) {
+        // 한 응답의 본문은 순서대로 하나씩 흘러오므로 동기화하지 않습니다
+        bytesWritten += buffer.readableByteCount();
+    }
+}
@@ -0,0 +1,117 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.compression.ContentCoding;
+import cloud.back.server.compression.DeflaterPool;
+import cloud.back.server.compression.StreamingCompressor;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 응답 본문을 흘려보내면서 gzip / deflate 로 압축하는 decorator
+ * - 첫 쓰기 시점의 헤더로 압축 여부를 정합니다: 본문 없는 상태 코드, 이미 인코딩된 응답, 제외 content type,
+ *   Cache-Control: no-transform, minSize 보다 작은 Content-Length, range 응답 (206 / Content-Range) 은 그대로 보냅니다.
+ * - 압축하면 Content-Length 를 지우고 Content-Encoding / Vary: Accept-Encoding 을 붙이며,
+ *   본문이 달라지므로 ETag 는 weak 로 바꿉니다.
+ * - 스트리밍 응답 (writeAndFlushWith) 은 압축하지 않습니다.
+ */
+public class CompressingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private final ContentCoding coding;
+    private final DeflaterPool deflaterPool;
+    private final long minSize;
+    private final List<MimeType> excludedContentTypes;
+
+    public CompressingResponseDecorator(ServerHttpResponse delegate,
+                                        ContentCoding coding,
+                                        DeflaterPool deflaterPool,
+                                        long minSize,
+                                        List<MimeType> excludedContentTypes) {
+        super(delegate);
+        this.coding = coding;
+        this.deflaterPool = deflaterPool;
+        this.minSize = minSize;
+        this.excludedContentTypes = excludedContentTypes;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        if (!shouldCompress()) {
+            return super.writeWith(body);
+        }
+        prepareHeaders();
+        StreamingCompressor compressor = new StreamingCompressor(deflaterPool, coding);
+        DataBufferFactory factory = bufferFactory();
+        Flux<DataBuffer> compressed = Flux.from(body)
+                .map(buffer -> compressor.compress(buffer, factory))
+                .concatWith(Mono.fromSupplier(() -> compressor.finish(factory)))
+                .filter(buffer -> {
+                    if (buffer.readableByteCount() > 0) {
+                        return true;
+                    }
+                    DataBufferUtils.release(buffer);
+                    return false;
+                })
+                .doFinally(signal -> compressor.close());
+        return super.writeWith(compressed);
+    }
+
+    private boolean shouldCompress() {
+        HttpStatusCode status = getDelegate().getStatusCode();
+        if (status != null && (status.is1xxInformational() || status.value() == 204 || status.value() == 304)) {
+            return false;
+        }
+        // range 응답의 byte 범위는 압축 전 (identity) 본문 기준이므로 압축하면 범위가 깨집니다
+        if (status != null && status.value() == 206) {
+            return false;
+        }
+        HttpHeaders headers = getDelegate().getHeaders();
+        if (headers.containsHeader(HttpHeaders.CONTENT_ENCODING) || headers.containsHeader(HttpHeaders.CONTENT_RANGE)) {
+            return false;
+        }
+        String cacheControl = headers.getCacheControl();
+        if (cacheControl != null && cacheControl.toLowerCase(Locale.ROOT).contains("no-transform")) {
+            return false;
+        }
+        long contentLength = headers.getContentLength();
+        if (contentLength >= 0 && contentLength < minSize) {
+            return false;
+        }
+        MediaType contentType = headers.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        for (MimeType excluded : excludedContentTypes) {
+            if (excluded.includes(contentType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void prepareHeaders() {
+        HttpHeaders headers = getDelegate().getHeaders();
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        headers.set(HttpHeaders.CONTENT_ENCODING, coding.token());
+        List<String> vary = headers.getVary();
+        if (vary.stream().noneMatch(HttpHeaders.ACCEPT_ENCODING::equalsIgnoreCase)) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        String etag = headers.getETag();
+        if (etag != null && !etag.startsWith("W/")) {
+            headers.setETag("W/" + etag);
+        }
+    }
+}
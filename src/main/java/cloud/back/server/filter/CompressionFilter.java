@@ -0,0 +1,72 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.compression.ContentCoding;
+import cloud.back.server.compression.DeflaterPool;
+import cloud.back.server.config.CompressionProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * 게이트웨이 응답 압축 필터
+ * - gateway.compression.routes 의 라우트에서 Accept-Encoding 으로 gzip / deflate 를 고르고 CompressingResponseDecorator 로 압축합니다.
+ * - upstream 에는 Accept-Encoding 을 빼고 보내서 압축하지 않은 응답을 받습니다.
+ * - 응답 캐시(-30) / 요청 합치기(-20) 보다 안쪽에서 압축하므로, 두 필터는 압축된 본문을 저장/공유합니다.
+ *   (응답 캐시 키에는 협상된 coding 이 들어갑니다)
+ */
+@Component
+public class CompressionFilter implements GlobalFilter, Ordered {
+
+    private final CompressionProperties properties;
+    private final DeflaterPool deflaterPool;
+    private final List<MimeType> excludedContentTypes;
+
+    public CompressionFilter(CompressionProperties properties) {
+        this.properties = properties;
+        this.deflaterPool = new DeflaterPool(properties.getLevel(), properties.getDeflaterPoolSize());
+        this.excludedContentTypes = properties.getExcludedContentTypes().stream()
+                .map(MimeTypeUtils::parseMimeType)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || !properties.getRoutes().contains(route.getId())
+                || request.getMethod() == HttpMethod.HEAD) {
+            return chain.filter(exchange);
+        }
+        ContentCoding coding = ContentCoding.negotiate(
+                String.join(",", request.getHeaders().getValuesAsList(HttpHeaders.ACCEPT_ENCODING)));
+        if (coding == ContentCoding.IDENTITY) {
+            return chain.filter(exchange);
+        }
+        ServerHttpRequest upstreamRequest = request.mutate()
+                .headers(headers -> headers.remove(HttpHeaders.ACCEPT_ENCODING))
+                .build();
+        CompressingResponseDecorator response = new CompressingResponseDecorator(
+                exchange.getResponse(), coding, deflaterPool,
+                properties.getMinResponseSize().toBytes(), excludedContentTypes);
+        return chain.filter(exchange.mutate().request(upstreamRequest).response(response).build());
+    }
+
+    @Override
+    public int getOrder() {
+        // 응답 캐시(-30), 요청 합치기(-20) 안쪽
+        return -15;
+    }
+}
@@ -1,30 +1,100 @@
-package cloud.back.server.filter;//package com.example.cloud.common.config.filter;
-//
-//import org.springframework.cloud.gateway.filter.GatewayFilter;
-//import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
-//import org.springframework.http.HttpStatus;
-//import org.springframework.stereotype.Component;
-//import reactor.core.publisher.Mono;
-//
-//@Component
-//public class CustomCircuitBreakerFilter extends AbstractGatewayFilterFactory<CustomCircuitBreakerFilter.Config> {
-//
-//    public CustomCircuitBreakerFilter() {
-//        super(Config.class);
-//    }
-//
-//    @Override
-//    public GatewayFilter apply(Config config) {
-//        return (exchange, chain) -> chain.filter(exchange)
-//                .then(Mono.fromRunnable(() -> {
-//                    HttpStatus statusCode = (HttpStatus) exchange.getResponse().getStatusCode();
-//                    if (statusCode != null && !statusCode.equals(HttpStatus.OK)) {
-//                        throw new RuntimeException("Non-200 status code: " + statusCode);
-//                    }
-//                }));
-//    }
-//
-//    public static class Config {
-//        // 필요한 설정이 있다면 여기에 추가
-//    }
-//}
\ No newline at end of file
+package cloud.back.server.filter;
+
+import cloud.back.server.circuitbreaker.ServiceCircuitBreaker;
+import cloud.back.server.circuitbreaker.ServiceCircuitBreakerRegistry;
+import cloud.back.server.config.CircuitBreakerProperties;
+import cloud.back.server.rejection.Rejection;
+import cloud.back.server.rejection.RejectionCatalogue;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * upstream 서비스별 circuit breaker + bulkhead 필터
+ * - 서비스는 Config.serviceId 또는 라우트 URI 의 host (lb://{서비스 id}) 로 정합니다.
+ * - 5xx 응답과 error signal 은 실패, slowCallDuration 을 넘긴 호출은 느린 호출로 셉니다.
+ * - 거절 응답은 RejectionCatalogue 의 미리 인코딩한 본문을 씁니다.
+ */
+@Component
+public class CustomCircuitBreakerFilter extends AbstractGatewayFilterFactory<CustomCircuitBreakerFilter.Config> {
+
+    private final ServiceCircuitBreakerRegistry registry;
+    private final CircuitBreakerProperties properties;
+    private final RejectionCatalogue rejections;
+
+    public CustomCircuitBreakerFilter(ServiceCircuitBreakerRegistry registry,
+                                      CircuitBreakerProperties properties,
+                                      RejectionCatalogue rejections) {
+        super(Config.class);
+        this.registry = registry;
+        this.properties = properties;
+        this.rejections = rejections;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (!properties.isEnabled()) {
+                return chain.filter(exchange);
+            }
+            ServiceCircuitBreaker breaker = registry.breaker(serviceId(config, exchange));
+            long startNanos = System.nanoTime();
+            ServiceCircuitBreaker.Decision decision = breaker.tryAcquire(startNanos);
+            if (decision == ServiceCircuitBreaker.Decision.REJECTED_OPEN) {
+                return reject(exchange, Rejection.CIRCUIT_OPEN, breaker.remainingOpenNanos(startNanos));
+            }
+            if (decision == ServiceCircuitBreaker.Decision.REJECTED_BULKHEAD) {
+                return reject(exchange, Rejection.BULKHEAD_FULL, 0L);
+            }
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        if (signal == SignalType.CANCEL) {
+                            breaker.onCancel(decision);
+                            return;
+                        }
+                        long now = System.nanoTime();
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        boolean failure = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+                        breaker.onComplete(decision, now - startNanos, failure, now);
+                    });
+        };
+    }
+
+    private static String serviceId(Config config, ServerWebExchange exchange) {
+        if (config.getServiceId() != null) {
+            return config.getServiceId();
+        }
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return "unknown";
+        }
+        String host = route.getUri().getHost();
+        return host != null ? host : route.getId();
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, Rejection rejection, long retryAfterNanos) {
+        if (retryAfterNanos > 0) {
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos))));
+        }
+        return rejections.reject(exchange, rejection);
+    }
+
+    @Getter
+    @Setter
+    public static class Config {
+        private String serviceId;   // 비우면 라우트 URI 의 host
+    }
+}
@@ -0,0 +1,341 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.config.HedgingProperties;
+import cloud.back.server.hedge.HedgeBudget;
+import cloud.back.server.loadbalancer.InstanceLoadTracker;
+import cloud.back.server.metrics.GatewayRouteMetrics;
+import cloud.back.server.upstream.UpstreamHttpClients;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.addOriginalRequestUrl;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * 읽기 라우트 hedged request 필터
+ * - 대상: gateway.hedging.routes 에 있는 lb:// 라우트의 본문 없는 GET 요청
+ * - 첫 시도가 라우트의 최근 p95 (GatewayRouteMetrics) 안에 응답하지 않으면 다른 인스턴스로 두 번째 시도를 보내고,
+ *   먼저 끝난 쪽을 쓰고 나머지는 취소합니다.
+ * - hedge 는 HedgeBudget 으로 요청 수의 budgetRatio 배까지만 보냅니다.
+ * - 인스턴스 선택은 라우트와 같은 로드밸런서, 호출은 서비스별 연결 풀 (UpstreamHttpClients) 을 쓰고,
+ *   시작/완료는 InstanceLoadTracker 에 알립니다.
+ *   (취소된 쪽의 경과 시간도 관측값으로 남겨 느린 인스턴스의 비용이 올라가게 합니다)
+ * - 두 시도가 경쟁하므로 Content-Length 가 maximumBodySize 이하인 응답은 본문을 다 모은 뒤에 씁니다.
+ *   첫 시도의 응답이 그보다 크거나 Content-Length 가 없으면 (chunked) hedge 를 멈추고 첫 시도를 그대로 스트리밍합니다.
+ *   hedge 쪽 응답이 그렇다면 hedge 를 포기하고 첫 시도를 기다립니다 (같은 본문을 다시 받아 한도 초과로 실패하지 않도록).
+ * - ReactiveLoadBalancerClientFilter(10150) / NettyRoutingFilter 대신 이 필터가 upstream 을 호출합니다.
+ *   그래서 응답을 쓸 때 ReactiveLoadBalancerClientFilter 와 같이 요청 URL 을 응답한 인스턴스 주소로 바꾸고
+ *   로드밸런서 응답을 exchange 에 남깁니다 (AccessLogFilter 의 upstream 등).
+ */
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    private static final long THRESHOLD_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final byte[] EMPTY = new byte[0];
+
+    private final HedgingProperties properties;
+    private final GatewayRouteMetrics routeMetrics;
+    private final LoadBalancerClientFactory clientFactory;
+    private final InstanceLoadTracker loadTracker;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final HedgeBudget budget;
+    private final UpstreamHttpClients upstreamClients;
+    private final ConcurrentHashMap<String, Threshold> thresholds = new ConcurrentHashMap<>();
+
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetExhausted = new LongAdder();
+    private final LongAdder streamed = new LongAdder();
+
+    public HedgingFilter(HedgingProperties properties,
+                         GatewayRouteMetrics routeMetrics,
+                         LoadBalancerClientFactory clientFactory,
+                         InstanceLoadTracker loadTracker,
+                         UpstreamHttpClients upstreamClients,
+                         ObjectProvider<List<HttpHeadersFilter>> headersFilters) {
+        this.properties = properties;
+        this.routeMetrics = routeMetrics;
+        this.clientFactory = clientFactory;
+        this.loadTracker = loadTracker;
+        this.upstreamClients = upstreamClients;
+        this.headersFilters = headersFilters;
+        this.budget = new HedgeBudget(properties.getBudgetRatio(), properties.getBudgetBurst());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (!properties.isEnabled() || route == null || url == null || !"lb".equals(url.getScheme())
+                || !properties.getRoutes().contains(route.getId()) || !hedgeable(exchange.getRequest())
+                || isAlreadyRouted(exchange)) {
+            return chain.filter(exchange);
+        }
+        ReactorServiceInstanceLoadBalancer loadBalancer =
+                clientFactory.getInstance(url.getHost(), ReactorServiceInstanceLoadBalancer.class);
+        long delayNanos = delayNanos(route);
+        if (loadBalancer == null || delayNanos < 0) {
+            // 지연 통계가 충분히 쌓이기 전에는 기존 라우팅 경로를 씁니다
+            return chain.filter(exchange);
+        }
+        budget.deposit();
+        setAlreadyRouted(exchange);
+
+        HttpHeaders requestHeaders = new HttpHeaders();
+        requestHeaders.putAll(HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange));
+        requestHeaders.remove(HttpHeaders.HOST);
+        AtomicReference<Throwable> firstError = new AtomicReference<>();
+
+        return choose(loadBalancer, exchange)
+                .flatMap(primary -> {
+                    Mono<UpstreamResponse> first = attempt(exchange, url, requestHeaders, primary, false, firstError);
+                    Mono<UpstreamResponse> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+                            .then(chooseOther(loadBalancer, exchange, primary))
+                            .filter(second -> {
+                                if (budget.tryWithdraw()) {
+                                    hedged.increment();
+                                    return true;
+                                }
+                                budgetExhausted.increment();
+                                return false;
+                            })
+                            .flatMap(second -> attempt(exchange, url, requestHeaders, second, true, firstError));
+                    return Mono.firstWithValue(first, hedge);
+                })
+                .onErrorResume(NoSuchElementException.class, ex -> Mono.error(
+                        Objects.requireNonNullElseGet(firstError.get(), () -> unavailable(url))))
+                .switchIfEmpty(Mono.error(() -> unavailable(url)))
+                .flatMap(upstream -> {
+                    if (upstream.hedge()) {
+                        hedgeWins.increment();
+                    }
+                    return write(exchange, upstream);
+                });
+    }
+
+    public long hedgedCount() {
+        return hedged.sum();
+    }
+
+    public long hedgeWinCount() {
+        return hedgeWins.sum();
+    }
+
+    public long budgetExhaustedCount() {
+        return budgetExhausted.sum();
+    }
+
+    public long streamedCount() {
+        return streamed.sum();
+    }
+
+    private static NotFoundException unavailable(URI url) {
+        return NotFoundException.create(false, "Unable to find instance for " + url.getHost());
+    }
+
+    private static boolean hedgeable(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return request.getMethod() == HttpMethod.GET
+                && headers.getContentLength() <= 0
+                && !headers.containsHeader(HttpHeaders.TRANSFER_ENCODING);
+    }
+
+    /**
+     * hedge 대기 시간 - 라우트 p95 를 [minDelay, maxDelay] 로 자른 값. 요청 수가 minSamples 미만이면 -1
+     */
+    private long delayNanos(Route route) {
+        long now = System.nanoTime();
+        Threshold threshold = thresholds.computeIfAbsent(route.getId(), id -> new Threshold());
+        if (now - threshold.refreshedAtNanos < THRESHOLD_REFRESH_NANOS && threshold.refreshedAtNanos != 0L) {
+            return threshold.delayNanos;
+        }
+        Timer latency = routeMetrics.meters(route).latency();
+        long delay = -1L;
+        if (latency.count() >= properties.getMinSamples()) {
+            for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+                if (percentile.percentile() == 0.95) {
+                    delay = Math.clamp((long) percentile.value(TimeUnit.NANOSECONDS),
+                            properties.getMinDelay().toNanos(), properties.getMaxDelay().toNanos());
+                }
+            }
+        }
+        threshold.delayNanos = delay;
+        threshold.refreshedAtNanos = now;
+        return delay;
+    }
+
+    private static Mono<Selected> choose(ReactorServiceInstanceLoadBalancer loadBalancer, ServerWebExchange exchange) {
+        Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext(new RequestData(exchange.getRequest())));
+        return Mono.from(loadBalancer.choose(request))
+                .filter(Response::hasServer)
+                .map(response -> new Selected(request, response));
+    }
+
+    // 첫 시도와 다른 인스턴스 (몇 번 골라도 같으면 hedge 하지 않음)
+    private static Mono<Selected> chooseOther(ReactorServiceInstanceLoadBalancer loadBalancer, ServerWebExchange exchange, Selected primary) {
+        return Flux.range(0, 3)
+                .concatMap(attempt -> choose(loadBalancer, exchange))
+                .filter(candidate -> !sameInstance(candidate.instance(), primary.instance()))
+                .next();
+    }
+
+    private static boolean sameInstance(ServiceInstance a, ServiceInstance b) {
+        if (a.getInstanceId() != null && b.getInstanceId() != null) {
+            return a.getInstanceId().equals(b.getInstanceId());
+        }
+        return a.getHost().equals(b.getHost()) && a.getPort() == b.getPort();
+    }
+
+    private Mono<UpstreamResponse> attempt(ServerWebExchange exchange, URI url, HttpHeaders requestHeaders,
+                                           Selected selected, boolean hedge, AtomicReference<Throwable> firstError) {
+        URI target = LoadBalancerUriTools.reconstructURI(selected.instance(), url);
+        int maxBytes = (int) properties.getMaximumBodySize().toBytes();
+        // 스트리밍하는 응답은 본문이 끝날 때 완료로 알립니다
+        AtomicBoolean streaming = new AtomicBoolean();
+        AtomicBoolean completed = new AtomicBoolean();
+        Consumer<SignalType> complete = signal -> {
+            if (completed.compareAndSet(false, true)) {
+                loadTracker.onComplete(new CompletionContext<>(
+                        signal == SignalType.ON_COMPLETE ? CompletionContext.Status.SUCCESS : CompletionContext.Status.FAILED,
+                        selected.request(), selected.response()));
+            }
+        };
+        return Mono.defer(() -> {
+            loadTracker.onStartRequest(selected.request(), selected.response());
+            return upstreamClients.webClient(url.getHost()).get()
+                    .uri(target)
+                    .headers(headers -> headers.putAll(requestHeaders))
+                    .retrieve()
+                    // 4xx / 5xx 도 그대로 전달합니다
+                    .onStatus(status -> true, response -> Mono.empty())
+                    .toEntityFlux(DataBuffer.class)
+                    .flatMap(entity -> {
+                        long contentLength = entity.getHeaders().getContentLength();
+                        Flux<DataBuffer> body = Objects.requireNonNullElseGet(entity.getBody(), Flux::empty);
+                        if (contentLength >= 0 && contentLength <= maxBytes) {
+                            return DataBufferUtils.join(body, maxBytes)
+                                    .map(HedgingFilter::toBytes)
+                                    .defaultIfEmpty(EMPTY)
+                                    .map(bytes -> new UpstreamResponse(entity.getStatusCode(), entity.getHeaders(), bytes, null,
+                                            target, selected, hedge));
+                        }
+                        if (hedge) {
+                            // 큰 본문은 첫 시도로 받습니다
+                            body.take(0).subscribe();
+                            return Mono.empty();
+                        }
+                        streaming.set(true);
+                        return Mono.just(new UpstreamResponse(entity.getStatusCode(), entity.getHeaders(), null,
+                                body.doFinally(complete), target, selected, false));
+                    });
+        }).doFinally(signal -> {
+            if (signal != SignalType.ON_COMPLETE || !streaming.get()) {
+                complete.accept(signal);
+            }
+        }).onErrorResume(ex -> {
+            // 다른 시도가 남아 있을 수 있으므로 여기서는 오류를 기록만 합니다
+            firstError.compareAndSet(null, ex);
+            return Mono.empty();
+        });
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, UpstreamResponse upstream) {
+        // ReactiveLoadBalancerClientFilter 가 하는 것처럼 실제로 응답한 인스턴스를 exchange 에 남깁니다
+        addOriginalRequestUrl(exchange, exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR));
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, upstream.target());
+        exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, upstream.selected().response());
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(upstream.status());
+        HttpHeaders headers = response.getHeaders();
+        headers.putAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(), upstream.headers(), exchange,
+                HttpHeadersFilter.Type.RESPONSE));
+        headers.remove(HttpHeaders.TRANSFER_ENCODING);
+        if (upstream.stream() != null) {
+            streamed.increment();
+            return response.writeWith(upstream.stream());
+        }
+        headers.setContentLength(upstream.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(upstream.body())));
+    }
+
+    private record Selected(Request<RequestDataContext> request, Response<ServiceInstance> response) {
+        ServiceInstance instance() {
+            return response.getServer();
+        }
+    }
+
+    /**
+     * @param body   모은 본문 (스트리밍이면 null)
+     * @param stream 스트리밍할 본문 (모은 응답이면 null)
+     * @param target 응답한 인스턴스로 바꾼 요청 URL
+     */
+    private record UpstreamResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, Flux<DataBuffer> stream,
+                                    URI target, Selected selected, boolean hedge) {
+    }
+
+    private static final class Threshold {
+        private volatile long delayNanos = -1L;
+        private volatile long refreshedAtNanos;
+    }
+
+    @Override
+    public int getOrder() {
+        // RouteToRequestUrlFilter(10000) 가 lb:// URL 을 정한 뒤, ReactiveLoadBalancerClientFilter(10150) 앞
+        return 10100;
+    }
+}
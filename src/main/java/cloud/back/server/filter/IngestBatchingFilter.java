@@ -0,0 +1,114 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.ingest.IngestBatcher;
+import cloud.back.server.ingest.IngestBatchingService;
+import cloud.back.server.ingest.IngestRecord;
+import cloud.back.server.rejection.Rejection;
+import cloud.back.server.rejection.RejectionCatalogue;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 센서 ingest micro-batching 필터
+ * - gateway 인증 (UserHeaderFilter 의 gateway:{id}) 을 통과한 JSON POST 중 batch 경로에 맞는 요청만 대상입니다.
+ * - 본문을 버퍼에 넣고 바로 202 로 응답합니다. 버퍼가 가득 차면 503 + Retry-After, 본문이 너무 크면 413,
+ *   JSON 값 하나가 아니면 400 입니다 (batch 본문에 그대로 이어 붙이므로 버퍼에 넣기 전에 거절).
+ * - 그 외 요청은 기존 라우트로 그대로 보냅니다.
+ */
+@Component
+public class IngestBatchingFilter implements GlobalFilter, Ordered {
+
+    private static final String GATEWAY_KEY_PREFIX = "gateway:";
+
+    private static final byte[] ACCEPTED_BODY =
+            "{\"status\": \"accepted\"}".getBytes(StandardCharsets.UTF_8);
+
+    private final IngestBatchingService batchingService;
+    private final RejectionCatalogue rejections;
+
+    public IngestBatchingFilter(IngestBatchingService batchingService, RejectionCatalogue rejections) {
+        this.batchingService = batchingService;
+        this.rejections = rejections;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String userKey = exchange.getAttribute(UserHeaderFilter.USER_KEY_ATTR);
+        if (request.getMethod() != HttpMethod.POST
+                || userKey == null || !userKey.startsWith(GATEWAY_KEY_PREFIX)
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(request.getHeaders().getContentType())) {
+            return chain.filter(exchange);
+        }
+        IngestBatchingService.Entry entry = batchingService.match(request.getPath().pathWithinApplication());
+        if (entry == null) {
+            return chain.filter(exchange);
+        }
+
+        String gatewayId = userKey.substring(GATEWAY_KEY_PREFIX.length());
+        String path = request.getPath().value();
+        int maxPayloadBytes = (int) entry.batch().getMaxPayloadSize().toBytes();
+        return DataBufferUtils.join(request.getBody(), maxPayloadBytes)
+                .map(IngestBatchingFilter::toBytes)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(payload -> {
+                    if (payload.length == 0) {
+                        return chain.filter(exchange);
+                    }
+                    if (!IngestBatcher.isJsonValue(payload)) {
+                        return rejections.reject(exchange, Rejection.INVALID_PAYLOAD);
+                    }
+                    IngestRecord record = new IngestRecord(gatewayId, path, System.currentTimeMillis(), payload);
+                    return entry.batcher().offer(record)
+                            ? respond(exchange, HttpStatus.ACCEPTED, ACCEPTED_BODY)
+                            : busy(exchange, entry.batch().getMaxDelay().toSeconds());
+                })
+                .onErrorResume(DataBufferLimitException.class,
+                        ex -> rejections.reject(exchange, Rejection.PAYLOAD_TOO_LARGE));
+    }
+
+    private static byte[] toBytes(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private Mono<Void> busy(ServerWebExchange exchange, long retryAfterSeconds) {
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1L, retryAfterSeconds)));
+        return rejections.reject(exchange, Rejection.INGEST_BUFFER_FULL);
+    }
+
+    private static Mono<Void> respond(ServerWebExchange exchange, HttpStatus status, byte[] body) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    @Override
+    public int getOrder() {
+        // rate limit(-40) 뒤, 응답 캐시(-30) 앞
+        return -35;
+    }
+}
@@ -1,6 +1,7 @@
 package cloud.back.server.filter;
 
-import io.jsonwebtoken.Claims;
+import cloud.back.server.rejection.Rejection;
+import cloud.back.server.rejection.RejectionCatalogue;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
@@ -12,9 +13,7 @@ import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.web.server.ServerWebExchange;
@@ -34,12 +33,18 @@ import java.util.List;
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
     private final SecretKey secretKey;
+    private final RejectionCatalogue rejections;
 
     private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
     // 생성자에서 Secret Key 초기화 (성능 최적화)
     public JwtAuthenticationFilter(@Value("${app.jwt.secret}") String jwtSecret) {
+        this(jwtSecret, new RejectionCatalogue());
+    }
+
+    public JwtAuthenticationFilter(String jwtSecret, RejectionCatalogue rejections) {
         this.secretKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.rejections = rejections;
     }
 
     /**
@@ -71,7 +76,7 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return onError(exchange, "Missing or invalid Authorization header", HttpStatus.UNAUTHORIZED);
+            return rejections.reject(exchange, Rejection.MISSING_TOKEN);
         }
 
         String token = authHeader.substring(7);
@@ -87,16 +92,16 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
             return chain.filter(exchange);
 
         } catch (ExpiredJwtException e) {
-            return onError(exchange, "Token has expired", HttpStatus.UNAUTHORIZED);
+            return rejections.reject(exchange, Rejection.EXPIRED_TOKEN);
         } catch (JwtException | IllegalArgumentException e) {
-            return onError(exchange, "Invalid token", HttpStatus.UNAUTHORIZED);
+            return rejections.reject(exchange, Rejection.INVALID_TOKEN);
         }
     }
 
     /**
      * 인증이 필요 없는 경로인지 확인
      */
-    private boolean isPublicPath(String path, HttpMethod method) {
+    boolean isPublicPath(String path, HttpMethod method) {
         for (PathPattern pattern : PUBLIC_PATHS) {
             if (pathMatcher.match(pattern.path(), path)) {
                 // 메서드 제한이 없거나, 메서드가 일치하면 public
@@ -108,20 +113,6 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         return false;
     }
 
-    /**
-     * 에러 응답 반환
-     */
-    private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
-        ServerHttpResponse response = exchange.getResponse();
-        response.setStatusCode(status);
-        response.getHeaders().set("Content-Type", "application/json");
-
-        String body = String.format("{\"error\": \"%s\", \"status\": %d}", message, status.value());
-        return response.writeWith(
-                Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8)))
-        );
-    }
-
     @Override
     public int getOrder() {
         // 로깅 필터보다 먼저 실행 (인증 실패 시 불필요한 로깅 방지)
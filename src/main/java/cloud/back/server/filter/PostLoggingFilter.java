@@ -21,9 +21,12 @@ public class PostLoggingFilter extends AbstractGatewayFilterFactory<PostLoggingF
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
+            if (!log.isDebugEnabled()) {
+                return chain.filter(exchange);
+            }
             return chain.filter(exchange).then(Mono.fromRunnable( () -> {
                 ServerHttpResponse response = exchange.getResponse();
-                log.info("response status : {} ", response.getStatusCode());
+                log.debug("response status : {} ", response.getStatusCode());
             }));
         };
     }
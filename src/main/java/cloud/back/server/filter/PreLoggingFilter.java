@@ -20,13 +20,12 @@ public class PreLoggingFilter extends AbstractGatewayFilterFactory<PreLoggingFil
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
-            ServerHttpRequest request = exchange.getRequest();
-            log.info("request information : {}, {}", request.getHeaders(), request.getURI());
-
-            // reactive의 ServerHttpRequest
-            ServerHttpRequest.Builder builder = exchange.getRequest().mutate();
-
-            return chain.filter(exchange.mutate().request(builder.build()).build());
+            // 요청 요약은 AccessLogFilter 가 남기므로 전체 헤더 덤프는 디버그 용도로만 남깁니다
+            if (log.isDebugEnabled()) {
+                ServerHttpRequest request = exchange.getRequest();
+                log.debug("request information : {}, {}", request.getHeaders(), request.getURI());
+            }
+            return chain.filter(exchange);
         };
     }
 
@@ -0,0 +1,91 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.config.RateLimitProperties;
+import cloud.back.server.ratelimit.RateLimiterRegistry;
+import cloud.back.server.ratelimit.RouteRateLimiter;
+import cloud.back.server.rejection.Rejection;
+import cloud.back.server.rejection.RejectionCatalogue;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * 라우트별 요청 속도 제한 필터 (Redis 없이 프로세스 로컬)
+ * - 키: UserHeaderFilter 가 인증 정보로 만든 사용자 키 (JWT userKey 또는 gateway:{id}), 없으면 클라이언트 IP
+ * - 응답 헤더: RateLimit-Limit / RateLimit-Remaining / RateLimit-Reset, 거절 시 429 + Retry-After
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+
+    private final RateLimitProperties properties;
+    private final RateLimiterRegistry registry;
+    private final RejectionCatalogue rejections;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiterRegistry registry, RejectionCatalogue rejections) {
+        this.properties = properties;
+        this.registry = registry;
+        this.rejections = rejections;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        RouteRateLimiter limiter = registry.limiter(route != null ? route.getId() : null);
+        if (limiter == null) {
+            return chain.filter(exchange);
+        }
+        RouteRateLimiter.Decision decision = limiter.tryAcquire(key(exchange), System.nanoTime());
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set(LIMIT_HEADER, Integer.toString(decision.limit()));
+        headers.set(REMAINING_HEADER, Integer.toString(decision.remaining()));
+        headers.set(RESET_HEADER, Long.toString(ceilSeconds(decision.resetNanos())));
+        if (decision.allowed()) {
+            return chain.filter(exchange);
+        }
+        return reject(exchange, decision);
+    }
+
+    private static String key(ServerWebExchange exchange) {
+        String userKey = exchange.getAttribute(UserHeaderFilter.USER_KEY_ATTR);
+        if (userKey != null) {
+            return userKey;
+        }
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                ? "ip:" + remoteAddress.getAddress().getHostAddress()
+                : "ip:unknown";
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, RouteRateLimiter.Decision decision) {
+        exchange.getResponse().getHeaders()
+                .set(HttpHeaders.RETRY_AFTER, Long.toString(ceilSeconds(decision.retryAfterNanos())));
+        return rejections.reject(exchange, Rejection.RATE_LIMITED);
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return Math.max(0L, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Override
+    public int getOrder() {
+        // UserHeaderFilter(-50) 가 사용자 키를 정한 뒤
+        return -40;
+    }
+}
@@ -0,0 +1,184 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.config.RequestCoalescingProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * 같은 GET 요청 합치기 (single-flight)
+ * - 키: method + 경로 + query + vary 헤더 값. 같은 키의 요청이 진행 중이면 새 요청은 upstream 으로 보내지 않고 결과를 기다립니다.
+ * - 선행 요청의 응답은 BodyCapturingResponseDecorator 로 모아서 대기 요청들에 그대로 다시 씁니다.
+ * - 대기는 maxWait 까지이고, 시간 초과 / 본문 초과 / 선행 요청 실패 / Set-Cookie 응답이면 대기 요청이 직접 upstream 을 호출합니다.
+ * - Authorization / Cookie 가 있는 요청은 사용자별 응답일 수 있으므로 합치지 않습니다 (AnonymousRequests).
+ * - Origin 은 키에 넣지 않습니다. CORS / RateLimit-* / X-Gateway-* 헤더는 다시 쓰지 않고 대기 요청 자신의 값을 씁니다.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    public static final String COALESCED_HEADER = "X-Gateway-Coalesced";
+
+    private final RequestCoalescingProperties properties;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public RequestCoalescingFilter(RequestCoalescingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || !coalescable(exchange)) {
+            return chain.filter(exchange);
+        }
+        String key = key(exchange.getRequest());
+        InFlight created = new InFlight(key);
+        InFlight existing = inFlight.putIfAbsent(key, created);
+        if (existing == null) {
+            leaders.increment();
+            return lead(exchange, chain, created);
+        }
+        followers.increment();
+        return existing.result()
+                .timeout(properties.getMaxWait(), Mono.empty())
+                .flatMap(shared -> replay(exchange, shared))
+                .switchIfEmpty(Mono.defer(() -> {
+                    fallbacks.increment();
+                    return chain.filter(exchange);
+                }));
+    }
+
+    public long leaderCount() {
+        return leaders.sum();
+    }
+
+    public long followerCount() {
+        return followers.sum();
+    }
+
+    public long fallbackCount() {
+        return fallbacks.sum();
+    }
+
+    private boolean coalescable(ServerWebExchange exchange) {
+        if (!AnonymousRequests.isAnonymousGet(exchange.getRequest())) {
+            return false;
+        }
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null && properties.getRoutes().contains(route.getId());
+    }
+
+    private String key(ServerHttpRequest request) {
+        URI uri = request.getURI();
+        StringBuilder key = new StringBuilder(128).append("GET ").append(uri.getRawPath());
+        if (uri.getRawQuery() != null) {
+            key.append('?').append(uri.getRawQuery());
+        }
+        for (String name : properties.getVaryHeaders()) {
+            List<String> values = request.getHeaders().getValuesAsList(name);
+            key.append('\n').append(name).append(':');
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    key.append(',');
+                }
+                key.append(values.get(i));
+            }
+        }
+        return key.toString();
+    }
+
+    private Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, InFlight flight) {
+        BodyCapturingResponseDecorator response = new BodyCapturingResponseDecorator(
+                exchange.getResponse(),
+                (int) properties.getMaximumBodySize().toBytes(),
+                new BodyCapturingResponseDecorator.Listener() {
+                    @Override
+                    public void onCaptured(HttpStatusCode status, HttpHeaders headers, byte[] body, int length) {
+                        if (headers.containsHeader(HttpHeaders.SET_COOKIE)) {
+                            flight.abandon();
+                            return;
+                        }
+                        flight.complete(new SharedResponse(status, BodyCapturingResponseDecorator.replayableHeaders(headers), body, length));
+                    }
+
+                    @Override
+                    public void onAbandoned() {
+                        flight.abandon();
+                    }
+                }
+        );
+        // 응답을 쓰기 전에 실패하거나 취소된 경우에도 대기 요청을 풀어줍니다
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> flight.abandon());
+    }
+
+    private static Mono<Void> replay(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status());
+        HttpHeaders headers = response.getHeaders();
+        // 대기 요청의 CORS / rate limit 헤더는 그대로 두고 upstream 응답 헤더만 더합니다
+        BodyCapturingResponseDecorator.replayHeaders(shared.headers(), headers);
+        headers.set(COALESCED_HEADER, "true");
+        headers.setContentLength(shared.length());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(ByteBuffer.wrap(shared.body(), 0, shared.length()))));
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, int length) {
+    }
+
+    private final class InFlight {
+        private final String key;
+        private final Sinks.One<SharedResponse> sink = Sinks.one();
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private InFlight(String key) {
+            this.key = key;
+        }
+
+        private Mono<SharedResponse> result() {
+            return sink.asMono();
+        }
+
+        private void complete(SharedResponse response) {
+            if (done.compareAndSet(false, true)) {
+                // 먼저 맵에서 빼야 이후 요청이 끝난 결과를 기다리지 않고 새로 시작합니다
+                inFlight.remove(key, this);
+                sink.tryEmitValue(response);
+            }
+        }
+
+        private void abandon() {
+            if (done.compareAndSet(false, true)) {
+                inFlight.remove(key, this);
+                sink.tryEmitEmpty();
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // 응답 캐시(-30) 에서 놓친 요청만 합칩니다
+        return -20;
+    }
+}
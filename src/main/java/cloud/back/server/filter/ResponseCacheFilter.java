@@ -0,0 +1,234 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.cache.CachedResponse;
+import cloud.back.server.cache.ResponseCacheStore;
+import cloud.back.server.compression.ContentCoding;
+import cloud.back.server.config.ResponseCacheProperties;
+import cloud.back.server.upstream.UpstreamHttpClients;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * 익명 GET 응답 캐시 필터
+ * - 대상: gateway.response-cache.paths 에 맞고 Authorization / Cookie 헤더가 없는 GET 요청 (AnonymousRequests)
+ * - 신선한 항목은 backend 없이 응답하고, If-None-Match 가 ETag 와 맞으면 304 로 응답합니다.
+ * - backend 가 준 stale-while-revalidate 기간의 항목은 그대로 응답하고, 키별로 한 번만 백그라운드에서 재검증합니다.
+ *   재검증은 라우트와 같은 로드밸런서로 인스턴스를 고르고, 라우트 요청과 같은 서비스별 연결 풀 (UpstreamHttpClients) 로 보냅니다.
+ *   lb:// 가 아닌 라우트는 재검증하지 않고 stale 기간이 끝나면 만료시킵니다.
+ * - 재검증은 게이트웨이가 직접 보내는 조건부 GET 이라서 다음은 일부러 거치지 않습니다.
+ *   - 라우트 filter (RewritePath 등): 같은 경로를 그대로 요청하므로 경로를 바꾸지 않는 라우트에만 씁니다.
+ *   - 인증 / UserHeaderFilter: 익명 요청만 캐시하므로 전달할 사용자 헤더가 없습니다.
+ *   - RateLimitFilter, AccessLogFilter, RouteMetricsFilter: 클라이언트 요청이 아니므로 한도 / 로그 / 지연 통계에 넣지 않습니다.
+ *   - CompressionFilter: 압축 variant 는 재검증 응답으로 덮지 않고 지워서, 다음 요청이 체인을 거쳐 다시 저장합니다.
+ *   - RequestCoalescingFilter, HedgingFilter: 키별로 재검증 요청은 하나만 나갑니다 (beginRevalidation).
+ * - 캐시에 없으면 backend 로 보내고 응답 본문을 BodyCapturingResponseDecorator 로 모아 저장합니다.
+ * - 키에는 Accept-Encoding 으로 협상한 coding 이 들어가서, CompressionFilter 가 압축한 본문은 coding 별로 따로 저장됩니다.
+ * - CORS / RateLimit-* / X-Gateway-* 헤더는 저장하지 않으므로, 캐시 응답에도 이번 요청의 Origin 과 한도가 붙습니다.
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_STATUS_HEADER = "X-Gateway-Cache";
+
+    private static final Duration REVALIDATION_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ResponseCacheProperties properties;
+    private final ResponseCacheStore store;
+    private final LoadBalancerClientFactory clientFactory;
+    private final UpstreamHttpClients upstreamClients;
+    private final List<PathPattern> patterns;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties,
+                               ResponseCacheStore store,
+                               LoadBalancerClientFactory clientFactory,
+                               UpstreamHttpClients upstreamClients) {
+        this.properties = properties;
+        this.store = store;
+        this.clientFactory = clientFactory;
+        this.upstreamClients = upstreamClients;
+        this.patterns = properties.getPaths().stream()
+                .map(PathPatternParser.defaultInstance::parse)
+                .toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled() || !cacheable(exchange.getRequest())) {
+            return chain.filter(exchange);
+        }
+        ContentCoding coding = ContentCoding.negotiate(
+                String.join(",", exchange.getRequest().getHeaders().getValuesAsList(HttpHeaders.ACCEPT_ENCODING)));
+        String key = key(exchange.getRequest(), coding);
+        long now = System.nanoTime();
+        CachedResponse cached = store.get(key);
+        if (cached != null && cached.isFresh(now)) {
+            return serve(exchange, cached, now, "HIT");
+        }
+        if (cached != null && cached.isServableStale(now)) {
+            revalidate(exchange, key, coding, cached);
+            return serve(exchange, cached, now, "STALE");
+        }
+        return forward(exchange, chain, key);
+    }
+
+    private boolean cacheable(ServerHttpRequest request) {
+        if (!AnonymousRequests.isAnonymousGet(request)) {
+            return false;
+        }
+        PathContainer path = request.getPath().pathWithinApplication();
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String key(ServerHttpRequest request, ContentCoding coding) {
+        URI uri = request.getURI();
+        String key = uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + '?' + uri.getRawQuery();
+        return coding == ContentCoding.IDENTITY ? key : key + '#' + coding.token();
+    }
+
+    private Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
+        exchange.getResponse().getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+        BodyCapturingResponseDecorator response = new BodyCapturingResponseDecorator(
+                exchange.getResponse(),
+                (int) properties.getMaximumEntrySize().toBytes(),
+                (status, headers, body, length) -> store.put(key, status.value(), headers, body, length, System.nanoTime())
+        );
+        return chain.filter(exchange.mutate().response(response).build());
+    }
+
+    private static Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, long now, String outcome) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        BodyCapturingResponseDecorator.replayHeaders(cached.headers(), headers);
+        headers.set(HttpHeaders.AGE, Long.toString(cached.ageSeconds(now)));
+        headers.set(CACHE_STATUS_HEADER, outcome);
+
+        String ifNoneMatch = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (CachedResponse.etagMatches(ifNoneMatch, cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_TYPE);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatusCode.valueOf(cached.status()));
+        headers.setContentLength(cached.body().remaining());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body().duplicate())));
+    }
+
+    private void revalidate(ServerWebExchange exchange, String key, ContentCoding coding, CachedResponse stale) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (route == null || !"lb".equals(route.getUri().getScheme()) || route.getUri().getHost() == null) {
+            return;
+        }
+        String serviceId = route.getUri().getHost();
+        ReactorServiceInstanceLoadBalancer loadBalancer =
+                clientFactory.getInstance(serviceId, ReactorServiceInstanceLoadBalancer.class);
+        if (loadBalancer == null || !store.beginRevalidation(key)) {
+            return;
+        }
+        URI requestUri = exchange.getRequest().getURI();
+        URI url = UriComponentsBuilder.fromUri(route.getUri())
+                .replacePath(requestUri.getRawPath())
+                .replaceQuery(requestUri.getRawQuery())
+                .build(true)
+                .toUri();
+        String accept = exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT);
+        Request<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext(new RequestData(exchange.getRequest())));
+
+        Mono.from(loadBalancer.choose(request))
+                .filter(Response::hasServer)
+                .switchIfEmpty(Mono.error(() -> NotFoundException.create(false, "Unable to find instance for " + serviceId)))
+                .flatMap(selected -> upstreamClients.webClient(serviceId).get()
+                        .uri(LoadBalancerUriTools.reconstructURI(selected.getServer(), url))
+                        .headers(headers -> {
+                            if (stale.etag() != null) {
+                                headers.setIfNoneMatch(stale.etag());
+                            }
+                            if (accept != null) {
+                                headers.set(HttpHeaders.ACCEPT, accept);
+                            }
+                        })
+                        .exchangeToMono(response -> onRevalidated(key, coding, stale, response)))
+                .timeout(REVALIDATION_TIMEOUT)
+                .doFinally(signal -> store.endRevalidation(key))
+                .subscribe(null, ex -> log.debug("Response cache revalidation failed for {}: {}", key, ex.toString()));
+    }
+
+    private Mono<Void> onRevalidated(String key, ContentCoding coding, CachedResponse stale, ClientResponse response) {
+        if (response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            store.refresh(key, stale, response.headers().asHttpHeaders(), System.nanoTime());
+            return response.releaseBody();
+        }
+        if (!response.statusCode().is2xxSuccessful()) {
+            // 실패 응답은 저장하지 않고 남은 stale 기간 동안 기존 항목을 계속 씁니다
+            return response.releaseBody();
+        }
+        if (coding != ContentCoding.IDENTITY && !response.headers().asHttpHeaders().containsHeader(HttpHeaders.CONTENT_ENCODING)) {
+            // 압축 variant 는 재검증 응답(비압축)으로 덮지 않고, 다음 요청이 필터 체인을 거쳐 다시 압축해 저장하게 합니다
+            store.invalidate(key);
+            return response.releaseBody();
+        }
+        int maxBytes = (int) properties.getMaximumEntrySize().toBytes();
+        return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), maxBytes)
+                .defaultIfEmpty(DefaultDataBufferFactory.sharedInstance.wrap(new byte[0]))
+                .doOnNext(body -> {
+                    try {
+                        byte[] bytes = new byte[body.readableByteCount()];
+                        body.read(bytes);
+                        store.put(key, response.statusCode().value(), response.headers().asHttpHeaders(),
+                                bytes, bytes.length, System.nanoTime());
+                    } finally {
+                        DataBufferUtils.release(body);
+                    }
+                })
+                // 최대 크기를 넘게 된 응답은 더 이상 캐시하지 않습니다
+                .doOnError(DataBufferLimitException.class, ex -> store.invalidate(key))
+                .then();
+    }
+
+    @Override
+    public int getOrder() {
+        // 인증/사용자 헤더(-50), rate limit(-40) 뒤, 라우팅 필터들보다 앞
+        return -30;
+    }
+}
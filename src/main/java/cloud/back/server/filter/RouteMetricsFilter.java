@@ -0,0 +1,47 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.metrics.GatewayRouteMetrics;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * 라우트별 지연 시간 / 요청 수 기록 필터
+ * 집계는 {@link GatewayRouteMetrics} 에서 하고, /actuator/prometheus 로 노출됩니다.
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    private final GatewayRouteMetrics routeMetrics;
+
+    public RouteMetricsFilter(GatewayRouteMetrics routeMetrics) {
+        this.routeMetrics = routeMetrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> record(exchange, signal, System.nanoTime() - startNanos));
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long durationNanos) {
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 200;
+        routeMetrics.meters(exchange.getAttribute(GATEWAY_ROUTE_ATTR))
+                .record(durationNanos, status, signal == SignalType.ON_ERROR);
+    }
+
+    @Override
+    public int getOrder() {
+        // globalErrorFilter(-99) 가 에러를 응답으로 바꾼 뒤의 상태 코드를 보려면 그 바깥쪽이어야 합니다
+        return -100;
+    }
+}
@@ -0,0 +1,53 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.upstream.UpstreamHttpClients;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.CONNECT_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+
+/**
+ * lb:// 라우트는 서비스별 연결 풀 ({@link UpstreamHttpClients}) 로 보내는 NettyRoutingFilter
+ * 그 외 라우트는 기본 HttpClient 를 씁니다. 기본 netty-routing 필터는 설정으로 꺼 둡니다.
+ * 라우트 metadata 의 connect-timeout / response-timeout 은 서비스별 클라이언트에도 적용합니다 (음수 response-timeout 은 timeout 없음).
+ */
+public class ServiceRoutingFilter extends NettyRoutingFilter {
+
+    private final UpstreamHttpClients upstreamClients;
+
+    public ServiceRoutingFilter(HttpClient httpClient,
+                                ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                HttpClientProperties properties,
+                                UpstreamHttpClients upstreamClients) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.upstreamClients = upstreamClients;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        if (!"lb".equals(route.getUri().getScheme()) || route.getUri().getHost() == null) {
+            return super.getHttpClient(route, exchange);
+        }
+        HttpClient client = upstreamClients.httpClient(route.getUri().getHost());
+        Object connectTimeout = route.getMetadata().get(CONNECT_TIMEOUT_ATTR);
+        if (connectTimeout != null) {
+            client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Integer.parseInt(connectTimeout.toString()));
+        }
+        Object responseTimeout = route.getMetadata().get(RESPONSE_TIMEOUT_ATTR);
+        if (responseTimeout != null) {
+            long millis = Long.parseLong(responseTimeout.toString());
+            client = client.responseTimeout(millis >= 0 ? Duration.ofMillis(millis) : null);
+        }
+        return client;
+    }
+}
@@ -1,12 +1,17 @@
 package cloud.back.server.filter;
 
 import cloud.back.server.security.GatewayServiceAuthenticationToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
-import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
@@ -15,48 +20,45 @@ import reactor.core.publisher.Mono;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 
+/**
+ * 인증 정보에서 X-User-* 헤더를 만들어 upstream 요청에 붙이는 필터
+ * - 헤더 값은 JWT (CachingReactiveJwtDecoder 가 같은 인스턴스를 돌려주므로 identity 기준) 또는 gatewayId 별로 한 번만 만들어 캐싱합니다.
+ * - 요청은 mutate() 로 다시 만들지 않고 UserHeadersRequestDecorator 로 감쌉니다.
+ */
 @Component
 @Slf4j
 public class UserHeaderFilter implements GlobalFilter, Ordered {
 
+    /**
+     * 인증 정보에서 만든 X-User-Key 값 (요청 헤더와 달리 클라이언트가 보낸 값이 섞이지 않음)
+     */
+    public static final String USER_KEY_ATTR = UserHeaderFilter.class.getName() + ".userKey";
+
+    private static final int MAXIMUM_CACHED_PRINCIPALS = 10_000;
+
+    private final Cache<Jwt, UserHeaders> jwtHeaders = Caffeine.newBuilder()
+            .weakKeys()
+            .maximumSize(MAXIMUM_CACHED_PRINCIPALS)
+            .build();
+    private final Cache<String, UserHeaders> gatewayHeaders = Caffeine.newBuilder()
+            .maximumSize(MAXIMUM_CACHED_PRINCIPALS)
+            .build();
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
         return ReactiveSecurityContextHolder.getContext()
-                .map(context -> context.getAuthentication())
+                .map(SecurityContext::getAuthentication)
                 .map(authentication -> {
-                    if (authentication instanceof GatewayServiceAuthenticationToken gatewayAuthentication) {
-                        String gatewayId = gatewayAuthentication.getGatewayId();
-                        ServerHttpRequest request = exchange.getRequest().mutate()
-                                .header("X-User-Name", URLEncoder.encode(gatewayId, StandardCharsets.UTF_8))
-                                .header("X-User-Key", "gateway:" + gatewayId)
-                                .header("X-User-Role", "GATEWAY")
-                                .header("X-Gateway-Id", gatewayId)
-                                .build();
-                        return exchange.mutate().request(request).build();
+                    UserHeaders userHeaders = userHeaders(authentication);
+                    if (userHeaders == null) {
+                        return exchange;
                     }
-
-                    if (authentication instanceof JwtAuthenticationToken jwtAuthenticationToken) {
-                        var jwt = jwtAuthenticationToken.getToken();
-                        String username = jwt.getSubject();
-                        Object userKeyClaim = jwt.getClaims().get("userKey");
-                        String role = (String) jwt.getClaims().get("role");
-
-                        String encodedUsername = username != null
-                                ? URLEncoder.encode(username, StandardCharsets.UTF_8)
-                                : "";
-
-                        String userKey = resolveUserKey(userKeyClaim);
-
-                        ServerHttpRequest mutatedRequest = exchange.getRequest().mutate()
-                                .header("X-User-Name", encodedUsername)
-                                .header("X-User-Key", userKey)
-                                .header("X-User-Role", role != null ? role : "")
-                                .build();
-
-                        return exchange.mutate().request(mutatedRequest).build();
+                    if (!userHeaders.userKey().isEmpty()) {
+                        exchange.getAttributes().put(USER_KEY_ATTR, userHeaders.userKey());
                     }
-
-                    return exchange;
+                    return exchange.mutate()
+                            .request(new UserHeadersRequestDecorator(exchange.getRequest(), userHeaders.headers()))
+                            .build();
                 })
                 .defaultIfEmpty(exchange)
                 .flatMap(chain::filter);
@@ -67,10 +69,48 @@ public class UserHeaderFilter implements GlobalFilter, Ordered {
         return -50;
     }
 
-    private String resolveUserKey(Object userKeyClaim) {
+    UserHeaders userHeaders(Authentication authentication) {
+        if (authentication instanceof GatewayServiceAuthenticationToken gatewayAuthentication) {
+            return gatewayHeaders.get(gatewayAuthentication.getGatewayId(), UserHeaderFilter::gatewayUserHeaders);
+        }
+        if (authentication instanceof JwtAuthenticationToken jwtAuthenticationToken) {
+            return jwtHeaders.get(jwtAuthenticationToken.getToken(), UserHeaderFilter::jwtUserHeaders);
+        }
+        return null;
+    }
+
+    private static UserHeaders gatewayUserHeaders(String gatewayId) {
+        String userKey = "gateway:" + gatewayId;
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-User-Name", URLEncoder.encode(gatewayId, StandardCharsets.UTF_8));
+        headers.set("X-User-Key", userKey);
+        headers.set("X-User-Role", "GATEWAY");
+        headers.set("X-Gateway-Id", gatewayId);
+        return new UserHeaders(userKey, HttpHeaders.readOnlyHttpHeaders(headers));
+    }
+
+    private static UserHeaders jwtUserHeaders(Jwt jwt) {
+        String username = jwt.getSubject();
+        String role = (String) jwt.getClaims().get("role");
+        String userKey = resolveUserKey(jwt.getClaims().get("userKey"));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-User-Name", username != null ? URLEncoder.encode(username, StandardCharsets.UTF_8) : "");
+        headers.set("X-User-Key", userKey);
+        headers.set("X-User-Role", role != null ? role : "");
+        return new UserHeaders(userKey, HttpHeaders.readOnlyHttpHeaders(headers));
+    }
+
+    private static String resolveUserKey(Object userKeyClaim) {
         if (userKeyClaim instanceof String value) {
             return value;
         }
         return "";
     }
+
+    /**
+     * 인증 주체별로 한 번만 만드는 헤더 묶음
+     */
+    record UserHeaders(String userKey, HttpHeaders headers) {
+    }
 }
@@ -0,0 +1,34 @@
+package cloud.back.server.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+
+/**
+ * 인증 정보에서 만든 X-User-* 헤더를 원래 요청 헤더 위에 덮어쓰는 decorator
+ * - mutate() 처럼 요청을 새로 만들지 않고, 헤더는 처음 읽힐 때 한 번만 합칩니다.
+ * - 같은 이름의 헤더는 클라이언트가 보낸 값 대신 덮어쓸 값만 남습니다.
+ */
+public class UserHeadersRequestDecorator extends ServerHttpRequestDecorator {
+
+    private final HttpHeaders overrides;
+    private HttpHeaders merged;
+
+    public UserHeadersRequestDecorator(ServerHttpRequest delegate, HttpHeaders overrides) {
+        super(delegate);
+        this.overrides = overrides;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = merged;
+        if (headers == null) {
+            headers = new HttpHeaders();
+            headers.putAll(getDelegate().getHeaders());
+            headers.putAll(overrides);
+            headers = HttpHeaders.readOnlyHttpHeaders(headers);
+            merged = headers;
+        }
+        return headers;
+    }
+}
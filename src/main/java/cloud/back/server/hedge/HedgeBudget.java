@@ -0,0 +1,48 @@
+package cloud.back.server.hedge;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * hedge 예산 (Finagle retry budget 방식)
+ * - 요청마다 ratio 만큼 적립하고, hedge 하나에 1 을 씁니다. 적립액은 burst 까지만 쌓입니다.
+ * - 그래서 장기적으로 hedge 는 요청 수의 ratio 배를 넘지 않고, upstream 이 느려져 모든 요청이
+ *   hedge 대상이 되어도 추가 부하는 ratio 로 묶입니다.
+ * - 정수 연산을 위해 1/1000 단위로 셉니다.
+ */
+public class HedgeBudget {
+
+    private static final long UNIT = 1_000L;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    public HedgeBudget(double ratio, int burst) {
+        if (ratio < 0.0 || burst < 1) {
+            throw new IllegalArgumentException("ratio must not be negative and burst must be positive");
+        }
+        this.depositPerRequest = Math.round(ratio * UNIT);
+        this.maxBalance = burst * UNIT;
+    }
+
+    public void deposit() {
+        long current;
+        do {
+            current = balance.get();
+            if (current >= maxBalance) {
+                return;
+            }
+        } while (!balance.compareAndSet(current, Math.min(maxBalance, current + depositPerRequest)));
+    }
+
+    public boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < UNIT) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - UNIT));
+        return true;
+    }
+}
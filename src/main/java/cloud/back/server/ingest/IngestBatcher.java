@@ -0,0 +1,227 @@
+package cloud.back.server.ingest;
+
+import cloud.back.server.config.IngestBatchingProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * upstream batch 하나의 버퍼
+ * - offer 는 큐가 가득 차면 바로 false 를 반환합니다 (호출한 쪽이 503 으로 응답).
+ * - maxBatchSize 만큼 모이면 바로, 아니면 tick (maxDelay 주기) 마다 모인 만큼 보냅니다.
+ * - 동시에 진행하는 batch 요청은 maxConcurrentFlushes 개까지이고, 나머지는 큐에 남아 다음 기회에 보냅니다.
+ * - batch 본문: [{"gatewayId": "...", "path": "...", "receivedAt": epochMillis, "payload": {원본 JSON}}, ...]
+ *   payload 는 그대로 이어 붙이므로 offer 전에 {@link #isJsonValue(byte[])} 로 확인해야 합니다.
+ *   잘못된 payload 하나가 batch 전체를 깨뜨리면 upstream 이 400 으로 거절하고, 이미 202 로 응답한 다른 기록까지 버려집니다.
+ */
+@Slf4j
+public class IngestBatcher {
+
+    /**
+     * batch 본문을 upstream 으로 보냅니다. 실패하면 error signal (재시도는 구현 쪽에서)
+     */
+    @FunctionalInterface
+    public interface Sender {
+        Mono<Void> send(byte[] body, int records);
+    }
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final String name;
+    private final int maxBatchSize;
+    private final int maxConcurrentFlushes;
+    private final ArrayBlockingQueue<IngestRecord> queue;
+    private final Sender sender;
+    private final AtomicInteger flushing = new AtomicInteger();
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter flushed;
+    private final Counter dropped;
+    private final DistributionSummary batchSize;
+    private final Timer flushLatency;
+
+    public IngestBatcher(String name, IngestBatchingProperties.Batch batch, Sender sender, MeterRegistry registry) {
+        this.name = name;
+        this.maxBatchSize = batch.getMaxBatchSize();
+        this.maxConcurrentFlushes = batch.getMaxConcurrentFlushes();
+        this.queue = new ArrayBlockingQueue<>(batch.getBufferCapacity());
+        this.sender = sender;
+
+        this.accepted = records(registry, "accepted", "Ingest requests acknowledged and buffered");
+        this.rejected = records(registry, "rejected", "Ingest requests rejected because the buffer was full");
+        this.flushed = records(registry, "flushed", "Buffered ingest requests delivered upstream");
+        this.dropped = records(registry, "dropped", "Buffered ingest requests lost because the batch request failed");
+        this.batchSize = DistributionSummary.builder("gateway.ingest.batch.size")
+                .description("Records per upstream batch request")
+                .tag("batch", name)
+                .publishPercentiles(0.5, 0.95)
+                .register(registry);
+        this.flushLatency = Timer.builder("gateway.ingest.flush.latency")
+                .description("Upstream batch request latency including retries")
+                .tag("batch", name)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        Gauge.builder("gateway.ingest.buffered", queue, ArrayBlockingQueue::size)
+                .description("Ingest requests waiting to be flushed")
+                .tag("batch", name)
+                .register(registry);
+    }
+
+    private Counter records(MeterRegistry registry, String result, String description) {
+        return Counter.builder("gateway.ingest.records")
+                .description(description)
+                .tag("batch", name)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public boolean offer(IngestRecord record) {
+        if (!queue.offer(record)) {
+            rejected.increment();
+            return false;
+        }
+        accepted.increment();
+        if (queue.size() >= maxBatchSize) {
+            flush(false);
+        }
+        return true;
+    }
+
+    /**
+     * maxDelay 주기로 불립니다 - 모인 만큼 보냅니다
+     */
+    public void tick() {
+        flush(true);
+    }
+
+    public int bufferedCount() {
+        return queue.size();
+    }
+
+    private void flush(boolean partial) {
+        while (true) {
+            int size = queue.size();
+            if (size == 0 || (!partial && size < maxBatchSize)) {
+                return;
+            }
+            int current = flushing.get();
+            if (current >= maxConcurrentFlushes) {
+                // 진행 중인 batch 가 끝나면 이어서 보냅니다
+                return;
+            }
+            if (!flushing.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            List<IngestRecord> batch = new ArrayList<>(Math.min(size, maxBatchSize));
+            queue.drainTo(batch, maxBatchSize);
+            if (batch.isEmpty()) {
+                flushing.decrementAndGet();
+                return;
+            }
+            send(batch);
+            // 부분 batch 는 한 번만, 그 뒤로는 꽉 찬 batch 만 이어서 보냅니다
+            partial = false;
+        }
+    }
+
+    private void send(List<IngestRecord> batch) {
+        long startNanos = System.nanoTime();
+        batchSize.record(batch.size());
+        sender.send(encode(batch), batch.size())
+                .doOnSuccess(ignored -> flushed.increment(batch.size()))
+                .doOnError(ex -> {
+                    dropped.increment(batch.size());
+                    log.warn("Ingest batch {} failed, dropped {} records: {}", name, batch.size(), ex.toString());
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .doFinally(signal -> {
+                    flushLatency.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+                    flushing.decrementAndGet();
+                    flush(false);
+                })
+                .subscribe();
+    }
+
+    /**
+     * payload 가 JSON 값 하나인지 확인합니다 (토큰만 훑고 객체는 만들지 않음)
+     */
+    public static boolean isJsonValue(byte[] payload) {
+        try (JsonParser parser = JSON.createParser(payload)) {
+            if (parser.nextToken() == null) {
+                return false;
+            }
+            parser.skipChildren();
+            return parser.nextToken() == null;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    static byte[] encode(List<IngestRecord> batch) {
+        int estimated = 2;
+        for (IngestRecord record : batch) {
+            estimated += record.payload().length + 96;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(estimated);
+        out.write('[');
+        for (int i = 0; i < batch.size(); i++) {
+            IngestRecord record = batch.get(i);
+            if (i > 0) {
+                out.write(',');
+            }
+            writeAscii(out, "{\"gatewayId\":");
+            writeString(out, record.gatewayId());
+            writeAscii(out, ",\"path\":");
+            writeString(out, record.path());
+            writeAscii(out, ",\"receivedAt\":");
+            writeAscii(out, Long.toString(record.receivedAtMillis()));
+            writeAscii(out, ",\"payload\":");
+            out.write(record.payload(), 0, record.payload().length);
+            out.write('}');
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private static void writeAscii(ByteArrayOutputStream out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            out.write(value.charAt(i));
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        out.write('"');
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (codePoint == '"' || codePoint == '\\') {
+                out.write('\\');
+                out.write(codePoint);
+            } else if (codePoint < 0x20) {
+                writeAscii(out, String.format("\\u%04x", codePoint));
+            } else if (codePoint < 0x80) {
+                out.write(codePoint);
+            } else {
+                byte[] bytes = Character.toString(codePoint).getBytes(StandardCharsets.UTF_8);
+                out.write(bytes, 0, bytes.length);
+            }
+        }
+        out.write('"');
+    }
+}
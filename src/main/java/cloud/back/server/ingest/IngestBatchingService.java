@@ -0,0 +1,93 @@
+package cloud.back.server.ingest;
+
+import cloud.back.server.config.IngestBatchingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 설정된 batch 마다 {@link IngestBatcher} 를 만들고 maxDelay 주기로 flush 합니다
+ * batch 요청은 load-balanced WebClient 로 보내고, 5xx / 연결 실패는 backoff 재시도합니다.
+ */
+@Component
+public class IngestBatchingService implements DisposableBean {
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final List<Disposable> tickers = new ArrayList<>();
+
+    public IngestBatchingService(IngestBatchingProperties properties,
+                                 @LoadBalanced WebClient.Builder webClientBuilder,
+                                 MeterRegistry registry) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        WebClient webClient = webClientBuilder.build();
+        properties.getBatches().forEach((name, batch) -> {
+            if (batch.getPath() == null || batch.getTarget() == null) {
+                throw new IllegalArgumentException("gateway.ingest-batching.batches." + name + " requires path and target");
+            }
+            IngestBatcher batcher = new IngestBatcher(name, batch, sender(webClient, batch), registry);
+            entries.add(new Entry(PathPatternParser.defaultInstance.parse(batch.getPath()), batch, batcher));
+            long delayNanos = batch.getMaxDelay().toNanos();
+            tickers.add(Schedulers.parallel().schedulePeriodically(batcher::tick, delayNanos, delayNanos,
+                    TimeUnit.NANOSECONDS));
+        });
+    }
+
+    /**
+     * 경로에 맞는 batch (없으면 null)
+     */
+    public Entry match(PathContainer path) {
+        for (Entry entry : entries) {
+            if (entry.pattern().matches(path)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+        tickers.forEach(Disposable::dispose);
+        // 종료 시 남은 요청은 한 번 더 보내 봅니다 (응답을 기다리지는 않음)
+        entries.forEach(entry -> entry.batcher().tick());
+    }
+
+    private static IngestBatcher.Sender sender(WebClient webClient, IngestBatchingProperties.Batch batch) {
+        URI target = URI.create(batch.getTarget());
+        return (body, records) -> webClient.post()
+                .uri(target)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Gateway-Batch-Size", Integer.toString(records))
+                .header("X-User-Role", "GATEWAY")
+                .header(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.length))
+                .bodyValue(body)
+                .retrieve()
+                .toBodilessEntity()
+                .timeout(batch.getFlushTimeout())
+                .retryWhen(Retry.backoff(batch.getMaxRetries(), Duration.ofMillis(100))
+                        .filter(ex -> !(ex instanceof WebClientResponseException response
+                                && response.getStatusCode().is4xxClientError())))
+                .then();
+    }
+
+    public record Entry(PathPattern pattern, IngestBatchingProperties.Batch batch, IngestBatcher batcher) {
+    }
+}
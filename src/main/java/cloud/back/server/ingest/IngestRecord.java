@@ -0,0 +1,9 @@
+package cloud.back.server.ingest;
+
+/**
+ * 인증을 통과하고 202 로 응답한 ingest 요청 하나
+ *
+ * @param payload 요청 본문 (JSON 그대로)
+ */
+public record IngestRecord(String gatewayId, String path, long receivedAtMillis, byte[] payload) {
+}
@@ -0,0 +1,45 @@
+package cloud.back.server.loadbalancer;
+
+import cloud.back.server.config.LoadBalancerStrategyProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.RoundRobinLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * lb:// 서비스마다 만들어지는 LoadBalancer 자식 context 설정
+ * 자식 context 전용이므로 @Configuration 을 붙이지 않습니다 (component scan 대상이 되면 모든 서비스에 공유됨).
+ */
+public class GatewayLoadBalancerClientConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            LoadBalancerStrategyProperties properties,
+            InstanceLoadTracker loadTracker
+    ) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        var supplier = loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+        return switch (properties.strategyFor(serviceId)) {
+            case PEAK_EWMA -> new PeakEwmaLoadBalancer(supplier, serviceId, loadTracker);
+            case ROUND_ROBIN -> new RoundRobinLoadBalancer(supplier, serviceId);
+        };
+    }
+
+    /**
+     * Eureka 인스턴스 목록을 캐시해서 요청마다 discovery client 를 조회하지 않습니다
+     * (spring.cloud.loadbalancer.cache.* 설정의 Caffeine 캐시)
+     */
+    @Bean
+    public ServiceInstanceListSupplier discoveryClientServiceInstanceListSupplier(ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withCaching()
+                .build(context);
+    }
+}
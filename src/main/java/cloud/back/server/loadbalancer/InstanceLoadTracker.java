@@ -0,0 +1,133 @@
+package cloud.back.server.loadbalancer;
+
+import cloud.back.server.config.LoadBalancerStrategyProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 인스턴스별 진행 중 요청 수 / peak EWMA 지연 추적
+ * gateway 의 ReactiveLoadBalancerClientFilter 가 호출하는 LoadBalancerLifecycle 로 요청 시작/완료를 받습니다.
+ * 통계는 요청이 없으면 statsIdleTimeout 후 제거됩니다.
+ */
+@Component
+public class InstanceLoadTracker implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private final double decayNanos;
+    private final Cache<String, InstanceLoad> loads;
+
+    public InstanceLoadTracker(LoadBalancerStrategyProperties properties) {
+        this.decayNanos = properties.getDecay().toNanos();
+        this.loads = Caffeine.newBuilder()
+                .expireAfterAccess(properties.getStatsIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        request.getContext().setRequestStartTime(System.nanoTime());
+        load(lbResponse.getServer()).inflight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceLoad load = load(lbResponse.getServer());
+        load.inflight.decrementAndGet();
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            return;
+        }
+        long startNanos = completionContext.getLoadBalancerRequest().getContext().getRequestStartTime();
+        long nowNanos = System.nanoTime();
+        if (startNanos > 0) {
+            load.observe(nowNanos - startNanos, nowNanos, decayNanos);
+        }
+    }
+
+    /**
+     * 선택 비용 - 낮을수록 좋습니다
+     */
+    public double cost(ServiceInstance instance) {
+        return load(instance).cost(System.nanoTime(), decayNanos);
+    }
+
+    public int inflight(ServiceInstance instance) {
+        return load(instance).inflight.get();
+    }
+
+    private InstanceLoad load(ServiceInstance instance) {
+        return loads.get(key(instance), key -> new InstanceLoad());
+    }
+
+    private static String key(ServiceInstance instance) {
+        String instanceId = instance.getInstanceId();
+        if (instanceId != null) {
+            return instance.getServiceId() + "/" + instanceId;
+        }
+        return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    /**
+     * Finagle 의 peak EWMA
+     * - 관측값이 현재 값보다 크면 바로 그 값으로 올라가고 (peak), 작으면 시간 상수에 따라 천천히 내려갑니다.
+     * - 비용 조회 시에도 0 을 관측한 것으로 보고 감쇠시켜, 한동안 선택되지 않은 인스턴스가 다시 선택될 수 있게 합니다.
+     */
+    static final class InstanceLoad {
+        // 관측값이 없는데 진행 중 요청이 있는 인스턴스의 비용 (새 인스턴스에 요청이 몰리지 않도록)
+        private static final double PENALTY_NANOS = 1_000_000_000.0;
+
+        private final AtomicInteger inflight = new AtomicInteger();
+        private double ewmaNanos;
+        private long stampNanos = System.nanoTime();
+
+        synchronized void observe(long rttNanos, long nowNanos, double decayNanos) {
+            long elapsed = Math.max(0L, nowNanos - stampNanos);
+            stampNanos = nowNanos;
+            if (rttNanos > ewmaNanos) {
+                ewmaNanos = rttNanos;
+            } else {
+                double weight = Math.exp(-elapsed / decayNanos);
+                ewmaNanos = ewmaNanos * weight + rttNanos * (1.0 - weight);
+            }
+        }
+
+        double cost(long nowNanos, double decayNanos) {
+            observe(0L, nowNanos, decayNanos);
+            int active = Math.max(0, inflight.get());
+            double ewma;
+            synchronized (this) {
+                ewma = ewmaNanos;
+            }
+            if (ewma == 0.0 && active > 0) {
+                return PENALTY_NANOS + active;
+            }
+            return ewma * (active + 1);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package cloud.back.server.logback;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 버려진 이벤트 수를 세는 AsyncAppender
+ * - 큐가 discardingThreshold 아래로 남으면 INFO 이하 이벤트를 버립니다 (discarded).
+ * - neverBlock 이면 큐가 가득 찼을 때 호출 스레드 (Netty event loop 등) 를 막지 않고 이벤트를 버립니다 (queueFull).
+ *   큐 잔량을 본 직후에 다른 스레드가 큐를 채우면 세지 못하고 버려질 수 있으므로 queueFull 은 근사치입니다.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder queueFull = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remaining = getRemainingCapacity();
+        if (remaining < getDiscardingThreshold() && isDiscardable(event)) {
+            discarded.increment();
+            return;
+        }
+        if (remaining == 0 && isNeverBlock()) {
+            queueFull.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    public long discardedCount() {
+        return discarded.sum();
+    }
+
+    public long queueFullCount() {
+        return queueFull.sum();
+    }
+
+    /**
+     * logger 에 붙어 있는 CountingAsyncAppender 목록 (메트릭 / 부하 테스트 결과용)
+     */
+    public static List<CountingAsyncAppender> find(LoggerContext context) {
+        Set<CountingAsyncAppender> found = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof CountingAsyncAppender appender) {
+                    found.add(appender);
+                }
+            }
+        }
+        return new ArrayList<>(found);
+    }
+}
@@ -5,8 +5,14 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.filter.Filter;
 import ch.qos.logback.core.spi.FilterReply;
 
+/**
+ * levels 에 적은 레벨 ("WARN|ERROR") 의 이벤트만 통과시키는 필터
+ * 레벨 목록은 설정 시점에 bitmask 로 바꿔 두고, 이벤트마다 비트 하나만 확인합니다.
+ * 이름 앞뒤 공백은 무시하고, 알 수 없는 이름은 경고를 남기고 DEBUG 로 봅니다.
+ */
 public class CustomLogbackFilter extends Filter<ILoggingEvent> {
     private String levels;
+    private volatile int mask;
 
     public String getLevels() {
         return levels;
@@ -14,36 +20,39 @@ public class CustomLogbackFilter extends Filter<ILoggingEvent> {
 
     public void setLevels(String levels) {
         this.levels = levels;
+        this.mask = parse(levels);
     }
 
-    private Level[] level;
-
     @Override
-    public FilterReply decide(ILoggingEvent arg0) {
+    public FilterReply decide(ILoggingEvent event) {
+        return (mask & bit(event.getLevel())) != 0 ? FilterReply.ACCEPT : FilterReply.DENY;
+    }
 
-        if (level == null && levels != null) {
-            setLevels();
+    private int parse(String levels) {
+        int parsed = 0;
+        if (levels == null || levels.isEmpty()) {
+            return parsed;
         }
-        if (level != null) {
-            for (Level lev : level) {
-                if (lev == arg0.getLevel()) {
-                    return FilterReply.ACCEPT;
-                }
+        for (String name : levels.split("\\|")) {
+            Level level = Level.toLevel(name, null);
+            if (level == null) {
+                // 이전 구현 (Level.valueOf) 과 같이 알 수 없는 이름과 빈 항목은 DEBUG 로 봅니다
+                addWarn("Unknown level [" + name + "] in CustomLogbackFilter levels, using DEBUG");
+                level = Level.DEBUG;
             }
+            parsed |= bit(level);
         }
-
-        return FilterReply.DENY;
+        return parsed;
     }
 
-    private void setLevels() {
-
-        if (!levels.isEmpty()) {
-            level = new Level[levels.split("\\|").length];
-            int i = 0;
-            for (String str : levels.split("\\|")) {
-                level[i] = Level.valueOf(str);
-                i++;
-            }
-        }
+    private static int bit(Level level) {
+        return switch (level.levelInt) {
+            case Level.TRACE_INT -> 1;
+            case Level.DEBUG_INT -> 1 << 1;
+            case Level.INFO_INT -> 1 << 2;
+            case Level.WARN_INT -> 1 << 3;
+            case Level.ERROR_INT -> 1 << 4;
+            default -> 0;
+        };
     }
 }
@@ -0,0 +1,108 @@
+package cloud.back.server.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 라우트별 지연 히스토그램 / 요청 / 오류 카운터
+ * - meter 는 라우트마다 처음 한 번만 만들고, 이후 요청은 map 조회 + record 만 합니다 (요청당 Tags 할당 없음).
+ * - 태그: route (라우트 id), service (upstream 서비스 - lb://SERVICE 의 SERVICE 또는 host)
+ */
+@Component
+public class GatewayRouteMetrics {
+
+    public static final String LATENCY = "gateway.route.latency";
+    public static final String REQUESTS = "gateway.route.requests";
+    public static final String ERRORS = "gateway.route.errors";
+
+    private static final String UNMATCHED = "unmatched";
+    private static final String[] STATUS_CLASSES = {"1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, RouteMeters> meters = new ConcurrentHashMap<>();
+    private final RouteMeters unmatched;
+
+    public GatewayRouteMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.unmatched = new RouteMeters(registry, UNMATCHED, UNMATCHED);
+    }
+
+    /**
+     * 라우트의 meter 묶음 (route 가 null 이면 라우트를 찾지 못한 요청)
+     */
+    public RouteMeters meters(Route route) {
+        if (route == null) {
+            return unmatched;
+        }
+        RouteMeters routeMeters = meters.get(route.getId());
+        if (routeMeters != null) {
+            return routeMeters;
+        }
+        return meters.computeIfAbsent(route.getId(), id -> new RouteMeters(registry, id, serviceOf(route.getUri())));
+    }
+
+    static String serviceOf(URI uri) {
+        if (uri == null) {
+            return "unknown";
+        }
+        String host = uri.getHost();
+        return host != null ? host : uri.getScheme() + ":" + uri.getSchemeSpecificPart();
+    }
+
+    public static final class RouteMeters {
+        private final Timer latency;
+        private final Counter[] requests = new Counter[STATUS_CLASSES.length];
+        private final Counter errors;
+
+        private RouteMeters(MeterRegistry registry, String routeId, String service) {
+            this.latency = Timer.builder(LATENCY)
+                    .description("Gateway latency per route, from filter entry until the response completes")
+                    .tag("route", routeId)
+                    .tag("service", service)
+                    .publishPercentileHistogram()
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .distributionStatisticExpiry(Duration.ofMinutes(1))
+                    .register(registry);
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                requests[i] = Counter.builder(REQUESTS)
+                        .description("Gateway requests per route and response status class")
+                        .tag("route", routeId)
+                        .tag("service", service)
+                        .tag("status", STATUS_CLASSES[i])
+                        .register(registry);
+            }
+            this.errors = Counter.builder(ERRORS)
+                    .description("Gateway requests per route that ended in a 5xx response or an error signal")
+                    .tag("route", routeId)
+                    .tag("service", service)
+                    .register(registry);
+        }
+
+        /**
+         * 요청 한 건 기록 - status 는 응답 코드 (없으면 200), failed 는 error signal 로 끝났는지 여부
+         */
+        public void record(long durationNanos, int status, boolean failed) {
+            latency.record(durationNanos, TimeUnit.NANOSECONDS);
+            int statusClass = status / 100 - 1;
+            if (statusClass >= 0 && statusClass < requests.length) {
+                requests[statusClass].increment();
+            }
+            if (failed || status >= 500) {
+                errors.increment();
+            }
+        }
+
+        public Timer latency() {
+            return latency;
+        }
+    }
+}
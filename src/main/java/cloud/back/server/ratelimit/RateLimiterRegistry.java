@@ -0,0 +1,36 @@
+package cloud.back.server.ratelimit;
+
+import cloud.back.server.config.RateLimitProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * route id 별 {@link RouteRateLimiter} - 설정에 있는 라우트만 만들어집니다
+ */
+@Component
+public class RateLimiterRegistry {
+
+    private final Map<String, RouteRateLimiter> limiters = new ConcurrentHashMap<>();
+
+    public RateLimiterRegistry(RateLimitProperties properties) {
+        properties.getRoutes().forEach((routeId, limit) -> limiters.put(routeId, new RouteRateLimiter(
+                limit.getReplenishRate(),
+                limit.getBurstCapacity(),
+                properties.getIdleTimeout(),
+                properties.getMaximumKeys()
+        )));
+    }
+
+    /**
+     * 제한이 없는 라우트면 null
+     */
+    public RouteRateLimiter limiter(String routeId) {
+        return routeId == null ? null : limiters.get(routeId);
+    }
+
+    public Map<String, RouteRateLimiter> limiters() {
+        return Map.copyOf(limiters);
+    }
+}
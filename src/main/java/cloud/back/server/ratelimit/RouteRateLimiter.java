@@ -0,0 +1,85 @@
+package cloud.back.server.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 라우트 하나의 키별 token bucket
+ * - GCRA 로 구현해서 bucket 하나가 AtomicLong 하나 (다음 토큰이 허용되는 이론적 도착 시각) 이고, 판정은 CAS 한 번입니다.
+ * - bucket 은 Caffeine 캐시 (내부적으로 striping) 에 두고, 일정 시간 요청이 없는 키는 제거합니다.
+ *   idle 로 제거된 키는 가득 찬 bucket 으로 다시 시작하므로 결과는 같습니다.
+ * - 키 수가 maximumKeys 에 닿으면 사용 중인 bucket 을 밀어내지 않고 새 키의 요청을 거절합니다.
+ *   (밀어내면 키를 바꿔 가며 보내는 쪽이 다른 키의 bucket 을 초기화시켜 한도를 우회할 수 있습니다)
+ *   기존 키는 계속 판정하고, 거절한 수는 rejectedNewKeyCount 로 셉니다. 동시에 들어온 새 키 때문에 조금 넘을 수 있습니다.
+ */
+public class RouteRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int burstCapacity;
+    private final long maximumKeys;
+    private final Cache<String, AtomicLong> buckets;
+    private final LongAdder rejectedNewKeys = new LongAdder();
+
+    public RouteRateLimiter(double replenishRate, int burstCapacity, Duration idleTimeout, long maximumKeys) {
+        if (replenishRate <= 0.0 || burstCapacity <= 0) {
+            throw new IllegalArgumentException("replenishRate and burstCapacity must be positive");
+        }
+        this.emissionIntervalNanos = Math.max(1L, (long) (1_000_000_000.0 / replenishRate));
+        this.burstCapacity = burstCapacity;
+        this.burstNanos = emissionIntervalNanos * burstCapacity;
+        this.maximumKeys = maximumKeys;
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleTimeout)
+                .build();
+    }
+
+    /**
+     * 토큰 하나를 씁니다
+     */
+    public Decision tryAcquire(String key, long nowNanos) {
+        AtomicLong theoreticalArrival = buckets.getIfPresent(key);
+        if (theoreticalArrival == null) {
+            if (buckets.estimatedSize() >= maximumKeys) {
+                rejectedNewKeys.increment();
+                return new Decision(false, burstCapacity, 0, emissionIntervalNanos, emissionIntervalNanos);
+            }
+            theoreticalArrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+        while (true) {
+            long current = theoreticalArrival.get();
+            long base = current == Long.MIN_VALUE ? nowNanos : Math.max(current, nowNanos);
+            long next = base + emissionIntervalNanos;
+            long allowAt = next - burstNanos;
+            if (nowNanos < allowAt) {
+                return new Decision(false, burstCapacity, 0, allowAt - nowNanos, base - nowNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                int remaining = (int) Math.min(burstCapacity, (nowNanos - allowAt) / emissionIntervalNanos);
+                return new Decision(true, burstCapacity, remaining, 0L, next - nowNanos);
+            }
+        }
+    }
+
+    public long estimatedKeyCount() {
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * 키 수가 maximumKeys 에 닿아서 거절한 새 키의 요청 수
+     */
+    public long rejectedNewKeyCount() {
+        return rejectedNewKeys.sum();
+    }
+
+    /**
+     * @param retryAfterNanos 거절된 경우 다음 토큰까지 남은 시간
+     * @param resetNanos      bucket 이 다시 가득 찰 때까지 남은 시간
+     */
+    public record Decision(boolean allowed, int limit, int remaining, long retryAfterNanos, long resetNanos) {
+    }
+}
@@ -0,0 +1,46 @@
+package cloud.back.server.rejection;
+
+import org.springframework.http.HttpStatus;
+
+import java.util.Locale;
+
+/**
+ * 게이트웨이가 직접 거절할 때의 사유와 응답 (본문은 {"error": message, "status": code})
+ */
+public enum Rejection {
+    MISSING_TOKEN(HttpStatus.UNAUTHORIZED, "Missing or invalid Authorization header"),
+    INVALID_TOKEN(HttpStatus.UNAUTHORIZED, "Invalid token"),
+    EXPIRED_TOKEN(HttpStatus.UNAUTHORIZED, "Token has expired"),
+    GATEWAY_AUTHENTICATION_FAILED(HttpStatus.UNAUTHORIZED, "Gateway authentication failed"),
+    ACCESS_DENIED(HttpStatus.FORBIDDEN, "Access denied"),
+    INVALID_PAYLOAD(HttpStatus.BAD_REQUEST, "Payload must be a single JSON value"),
+    PAYLOAD_TOO_LARGE(HttpStatus.PAYLOAD_TOO_LARGE, "Payload too large"),
+    RATE_LIMITED(HttpStatus.TOO_MANY_REQUESTS, "Too many requests"),
+    CIRCUIT_OPEN(HttpStatus.SERVICE_UNAVAILABLE, "Service temporarily unavailable"),
+    BULKHEAD_FULL(HttpStatus.SERVICE_UNAVAILABLE, "Too many concurrent requests"),
+    INGEST_BUFFER_FULL(HttpStatus.SERVICE_UNAVAILABLE, "Ingest buffer is full"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+
+    private final HttpStatus status;
+    private final String message;
+
+    Rejection(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public String message() {
+        return message;
+    }
+
+    /**
+     * 메트릭 태그용 이름 (missing_token 등)
+     */
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
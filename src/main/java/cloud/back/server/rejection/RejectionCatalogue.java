@@ -0,0 +1,100 @@
+package cloud.back.server.rejection;
+
+import cloud.back.server.security.JwtExpiredException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 거절 응답 카탈로그
+ * - 사유별 JSON 본문을 시작할 때 한 번 인코딩해서 읽기 전용 direct ByteBuffer 로 들고 있고,
+ *   응답마다 duplicate 만 만들어 bufferFactory 로 감쌉니다 (복사 없음).
+ * - Content-Length 문자열도 미리 만들어 둡니다.
+ * - 사유별 거절 수를 셉니다 (gateway.rejections 메트릭).
+ * - 예외 메시지는 응답에 넣지 않습니다.
+ */
+@Component
+public class RejectionCatalogue {
+
+    private static final String BEARER_CHALLENGE = "Bearer";
+    private static final String INVALID_TOKEN_CHALLENGE = "Bearer error=\"invalid_token\"";
+
+    private final ByteBuffer[] bodies;
+    private final String[] contentLengths;
+    private final LongAdder[] counts;
+
+    public RejectionCatalogue() {
+        Rejection[] rejections = Rejection.values();
+        this.bodies = new ByteBuffer[rejections.length];
+        this.contentLengths = new String[rejections.length];
+        this.counts = new LongAdder[rejections.length];
+        for (Rejection rejection : rejections) {
+            byte[] json = ("{\"error\": \"" + rejection.message() + "\", \"status\": " + rejection.status().value() + "}")
+                    .getBytes(StandardCharsets.UTF_8);
+            ByteBuffer body = ByteBuffer.allocateDirect(json.length).put(json).flip();
+            bodies[rejection.ordinal()] = body.asReadOnlyBuffer();
+            contentLengths[rejection.ordinal()] = Integer.toString(json.length);
+            counts[rejection.ordinal()] = new LongAdder();
+        }
+    }
+
+    /**
+     * 상태 코드 / 본문을 쓰고 응답을 끝냅니다. Retry-After 같은 추가 헤더는 호출 전에 넣어 둡니다.
+     */
+    public Mono<Void> reject(ServerWebExchange exchange, Rejection rejection) {
+        counts[rejection.ordinal()].increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(rejection.status());
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.CONTENT_LENGTH, contentLengths[rejection.ordinal()]);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(bodies[rejection.ordinal()].duplicate())));
+    }
+
+    public long count(Rejection rejection) {
+        return counts[rejection.ordinal()].sum();
+    }
+
+    /**
+     * bearer 토큰 체인의 entry point - 토큰 없음 / 잘못된 토큰 / 만료를 구분합니다
+     */
+    public ServerAuthenticationEntryPoint bearerEntryPoint() {
+        return (exchange, ex) -> {
+            Rejection rejection = bearerRejection(ex);
+            exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE,
+                    rejection == Rejection.MISSING_TOKEN ? BEARER_CHALLENGE : INVALID_TOKEN_CHALLENGE);
+            return reject(exchange, rejection);
+        };
+    }
+
+    public ServerAuthenticationEntryPoint entryPoint(Rejection rejection) {
+        return (exchange, ex) -> reject(exchange, rejection);
+    }
+
+    public ServerAccessDeniedHandler accessDeniedHandler() {
+        return (exchange, denied) -> reject(exchange, Rejection.ACCESS_DENIED);
+    }
+
+    private static Rejection bearerRejection(AuthenticationException ex) {
+        if (!(ex instanceof OAuth2AuthenticationException)) {
+            return Rejection.MISSING_TOKEN;
+        }
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof JwtExpiredException) {
+                return Rejection.EXPIRED_TOKEN;
+            }
+        }
+        return Rejection.INVALID_TOKEN;
+    }
+}
@@ -0,0 +1,130 @@
+package cloud.back.server.route;
+
+import cloud.back.server.config.RouteDefinitionConfig;
+import cloud.back.server.filter.CustomCircuitBreakerFilter;
+import cloud.back.server.rejection.RejectionCatalogue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * {@link RouteDefinitionConfig} (gateway.routes) 로 만든 라우트
+ * - 설정이 바뀌면 (EnvironmentChangeEvent) 새 라우트 목록을 이벤트 스레드에서 만든 뒤 한 번에 교체합니다.
+ *   이벤트는 management 포트의 POST /actuator/refresh (spring-cloud-context ContextRefresher) 가 발행합니다.
+ * - 요청 경로에서는 미리 만든 목록만 읽으므로 설정을 다시 해석하지 않습니다.
+ * - 새 설정이 잘못되었으면 기존 라우트를 그대로 유지합니다.
+ */
+@Slf4j
+@Component
+public class ConfiguredRouteLocator implements RouteLocator, ApplicationListener<EnvironmentChangeEvent> {
+
+    private static final String PREFIX = "gateway.routes";
+
+    private final RouteLocatorBuilder builder;
+    private final GatewayFilter circuitBreaker;
+    private final Environment environment;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RejectionCatalogue rejections;
+    private final AtomicReference<List<Route>> routes;
+
+    public ConfiguredRouteLocator(RouteLocatorBuilder builder,
+                                  Environment environment,
+                                  ApplicationEventPublisher eventPublisher,
+                                  RouteDefinitionConfig routeDefinitionConfig,
+                                  CustomCircuitBreakerFilter circuitBreakerFilter,
+                                  RejectionCatalogue rejections) {
+        this.builder = builder;
+        this.circuitBreaker = circuitBreakerFilter.apply(new CustomCircuitBreakerFilter.Config());
+        this.environment = environment;
+        this.eventPublisher = eventPublisher;
+        this.rejections = rejections;
+        this.routes = new AtomicReference<>(build(routeDefinitionConfig));
+    }
+
+    @Override
+    public Flux<Route> getRoutes() {
+        return Flux.fromIterable(routes.get());
+    }
+
+    @Override
+    public void onApplicationEvent(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith(PREFIX + "."))) {
+            return;
+        }
+        reload();
+    }
+
+    /**
+     * 현재 Environment 로 라우트를 다시 만들고, 성공하면 교체 후 gateway 라우트 캐시를 갱신합니다
+     */
+    public synchronized void reload() {
+        List<Route> reloaded;
+        try {
+            RouteDefinitionConfig config = Binder.get(environment)
+                    .bind(PREFIX, RouteDefinitionConfig.class)
+                    .orElseGet(RouteDefinitionConfig::new);
+            reloaded = build(config);
+        } catch (RuntimeException ex) {
+            log.warn("Configured routes were not reloaded, keeping {} existing routes: {}", routes.get().size(), ex.toString());
+            return;
+        }
+        routes.set(reloaded);
+        log.info("Reloaded {} configured routes", reloaded.size());
+        eventPublisher.publishEvent(new RefreshRoutesEvent(this));
+    }
+
+    private List<Route> build(RouteDefinitionConfig config) {
+        RouteLocatorBuilder.Builder routesBuilder = builder.routes();
+        Set<String> ids = new HashSet<>();
+        for (RouteDefinitionConfig.RouteDefinition definition : config.getRoutes()) {
+            validate(definition, ids);
+            routesBuilder.route(definition.getId(), r -> {
+                HttpMethod[] methods = StringUtils.hasText(definition.getMethod())
+                        ? new HttpMethod[]{HttpMethod.valueOf(definition.getMethod().trim().toUpperCase())}
+                        : new HttpMethod[0];
+                return IndexedRoutes.match(r, definition.getPath(), methods)
+                        .filters(f -> {
+                            if (definition.getStripPrefix() != null && definition.getStripPrefix() > 0) {
+                                f.stripPrefix(definition.getStripPrefix());
+                            }
+                            Set<String> roles = definition.getRoles() != null ? Set.copyOf(definition.getRoles()) : Set.of();
+                            if (Boolean.TRUE.equals(definition.getRequiresAuth()) || !roles.isEmpty()) {
+                                f.filter(new RouteAccessFilter(Boolean.TRUE.equals(definition.getRequiresAuth()), roles, rejections));
+                            }
+                            return f.filter(circuitBreaker);
+                        })
+                        .uri(definition.getUri());
+            });
+        }
+        List<Route> built = routesBuilder.build().getRoutes().collectList().block();
+        return built != null ? List.copyOf(built) : List.of();
+    }
+
+    private static void validate(RouteDefinitionConfig.RouteDefinition definition, Set<String> ids) {
+        if (!StringUtils.hasText(definition.getId())
+                || !StringUtils.hasText(definition.getPath())
+                || !StringUtils.hasText(definition.getUri())) {
+            throw new IllegalArgumentException("Route definition requires id, path and uri: " + definition);
+        }
+        if (!ids.add(definition.getId())) {
+            throw new IllegalArgumentException("Duplicate route id: " + definition.getId());
+        }
+    }
+}
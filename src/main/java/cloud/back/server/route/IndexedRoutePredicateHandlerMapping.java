@@ -0,0 +1,80 @@
+package cloud.back.server.route;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.config.GlobalCorsProperties;
+import org.springframework.cloud.gateway.event.RefreshRoutesResultEvent;
+import org.springframework.cloud.gateway.handler.FilteringWebHandler;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.context.ApplicationListener;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_PREDICATE_ROUTE_ATTR;
+
+/**
+ * 라우트 predicate 를 전부 순서대로 평가하는 대신 {@link RouteMatchIndex} 후보만 평가하는 handler mapping
+ * 인덱스는 gateway 라우트 캐시가 갱신될 때 (RefreshRoutesResultEvent) 다시 만들어 교체합니다.
+ */
+@Slf4j
+public class IndexedRoutePredicateHandlerMapping extends RoutePredicateHandlerMapping
+        implements ApplicationListener<RefreshRoutesResultEvent> {
+
+    private final RouteLocator routeLocator;
+    private volatile RouteMatchIndex index;
+
+    public IndexedRoutePredicateHandlerMapping(FilteringWebHandler webHandler,
+                                               RouteLocator routeLocator,
+                                               GlobalCorsProperties globalCorsProperties,
+                                               Environment environment) {
+        super(webHandler, routeLocator, globalCorsProperties, environment);
+        this.routeLocator = routeLocator;
+    }
+
+    @Override
+    public void onApplicationEvent(RefreshRoutesResultEvent event) {
+        if (!event.isSuccess()) {
+            return;
+        }
+        buildIndex().subscribe(
+                built -> log.debug("Route index rebuilt: {} indexed, {} unindexed",
+                        built.indexedCount(), built.unindexedCount()),
+                ex -> log.warn("Route index rebuild failed, keeping previous index: {}", ex.toString())
+        );
+    }
+
+    @Override
+    protected Mono<Route> lookupRoute(ServerWebExchange exchange) {
+        RouteMatchIndex current = index;
+        Mono<RouteMatchIndex> indexMono = current != null ? Mono.just(current) : buildIndex();
+        return indexMono
+                .flatMapMany(routeIndex -> {
+                    ServerHttpRequest request = exchange.getRequest();
+                    return Flux.fromIterable(routeIndex.candidates(
+                            request.getPath().pathWithinApplication(), request.getMethod()));
+                })
+                .concatMap(route -> Mono.just(route).filterWhen(candidate -> {
+                    exchange.getAttributes().put(GATEWAY_PREDICATE_ROUTE_ATTR, candidate.getId());
+                    return candidate.getPredicate().apply(exchange);
+                }).onErrorResume(ex -> {
+                    log.error("Error applying predicate for route: {}", route.getId(), ex);
+                    return Mono.empty();
+                }))
+                .next()
+                .map(route -> {
+                    validateRoute(route, exchange);
+                    return route;
+                });
+    }
+
+    private Mono<RouteMatchIndex> buildIndex() {
+        return routeLocator.getRoutes()
+                .collectList()
+                .map(RouteMatchIndex::new)
+                .doOnNext(built -> index = built);
+    }
+}
@@ -0,0 +1,33 @@
+package cloud.back.server.route;
+
+import org.springframework.cloud.gateway.route.builder.BooleanSpec;
+import org.springframework.cloud.gateway.route.builder.PredicateSpec;
+import org.springframework.http.HttpMethod;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * 경로 / 메서드 predicate 와 {@link RouteMatchIndex} metadata 를 같은 값으로 한 번에 설정하는 라우트 빌더 helper
+ * predicate 와 metadata 를 따로 적으면 둘이 어긋나 인덱스가 라우트를 후보에서 빠뜨릴 수 있으므로 이 helper 로만 설정합니다.
+ */
+public final class IndexedRoutes {
+
+    private IndexedRoutes() {
+    }
+
+    /**
+     * @param methods 비어 있으면 모든 메서드
+     */
+    public static BooleanSpec match(PredicateSpec route, String path, HttpMethod... methods) {
+        route.metadata(RouteMatchIndex.PATH, path);
+        BooleanSpec predicate = route.path(path);
+        if (methods.length == 0) {
+            return predicate;
+        }
+        route.metadata(RouteMatchIndex.METHODS, Arrays.stream(methods)
+                .map(HttpMethod::name)
+                .collect(Collectors.joining(",")));
+        return predicate.and().method(methods);
+    }
+}
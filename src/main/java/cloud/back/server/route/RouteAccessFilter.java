@@ -0,0 +1,78 @@
+package cloud.back.server.route;
+
+import cloud.back.server.rejection.Rejection;
+import cloud.back.server.rejection.RejectionCatalogue;
+import cloud.back.server.security.GatewayServiceAuthenticationToken;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+
+/**
+ * 설정 라우트의 requiresAuth / roles 검사
+ * 역할 목록은 라우트를 만들 때 한 번만 Set 으로 만들어 둡니다.
+ * 거절은 보안 체인과 같은 RejectionCatalogue 응답 (401 MISSING_TOKEN / 403 ACCESS_DENIED) 으로 씁니다.
+ */
+public class RouteAccessFilter implements GatewayFilter {
+
+    private static final String GATEWAY_ROLE = "GATEWAY";
+    private static final String BEARER_CHALLENGE = "Bearer";
+
+    private final boolean requiresAuth;
+    private final Set<String> roles;
+    private final RejectionCatalogue rejections;
+
+    public RouteAccessFilter(boolean requiresAuth, Set<String> roles, RejectionCatalogue rejections) {
+        this.requiresAuth = requiresAuth || !roles.isEmpty();
+        this.roles = Set.copyOf(roles);
+        this.rejections = rejections;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!requiresAuth) {
+            return chain.filter(exchange);
+        }
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .filter(Authentication::isAuthenticated)
+                .map(this::status)
+                .defaultIfEmpty(HttpStatus.UNAUTHORIZED)
+                .flatMap(status -> {
+                    if (status == HttpStatus.OK) {
+                        return chain.filter(exchange);
+                    }
+                    if (status == HttpStatus.FORBIDDEN) {
+                        return rejections.reject(exchange, Rejection.ACCESS_DENIED);
+                    }
+                    exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, BEARER_CHALLENGE);
+                    return rejections.reject(exchange, Rejection.MISSING_TOKEN);
+                });
+    }
+
+    private HttpStatus status(Authentication authentication) {
+        if (roles.isEmpty()) {
+            return HttpStatus.OK;
+        }
+        String role = roleOf(authentication);
+        return role != null && roles.contains(role) ? HttpStatus.OK : HttpStatus.FORBIDDEN;
+    }
+
+    private static String roleOf(Authentication authentication) {
+        if (authentication instanceof GatewayServiceAuthenticationToken) {
+            return GATEWAY_ROLE;
+        }
+        if (authentication instanceof JwtAuthenticationToken jwtAuthenticationToken) {
+            return jwtAuthenticationToken.getToken().getClaimAsString("role");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,225 @@
+package cloud.back.server.route;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 라우트 경로/메서드를 segment trie 로 컴파일한 라우트 후보 인덱스
+ * - 라우트 metadata 의 {@link #PATH} (경로 패턴, 쉼표 구분) / {@link #METHODS} (HTTP 메서드, 쉼표 구분) 로 인덱싱합니다.
+ * - 지원 패턴: 리터럴 segment, "*" / "{var}" (segment 하나), 마지막 "**" / "{*var}" (접두사)
+ * - 후보는 가장 긴 접두사 순 (같으면 "**" 없는 패턴, 리터럴 segment 가 많은 패턴, 라우트 순서) 으로 정렬됩니다.
+ * - 조회 비용은 요청 경로 깊이와 그 경로에 걸리는 패턴 수에만 비례하고, 전체 라우트 수와는 무관합니다.
+ * - metadata 가 없거나 지원하지 않는 패턴의 라우트는 라우트 순서상 자기보다 뒤에 있는 인덱스 후보보다 먼저 평가되도록
+ *   후보 사이에 원래 순서대로 끼워 넣습니다 (순서대로 평가하던 기존 동작과 같은 라우트가 먼저 매칭).
+ * 후보는 실제 라우트 predicate 로 한 번 더 확인해야 합니다 (인덱스는 predicate 보다 넓게 매칭할 수 있음).
+ */
+public final class RouteMatchIndex {
+
+    public static final String PATH = "match.path";
+    public static final String METHODS = "match.methods";
+
+    private static final Comparator<Entry> SPECIFICITY = Comparator
+            .comparingInt(Entry::depth).reversed()
+            .thenComparing(Entry::prefix)
+            .thenComparing(Comparator.comparingInt(Entry::literals).reversed())
+            .thenComparingInt(Entry::position);
+
+    private final Node root = new Node();
+    private final List<Route> unindexed = new ArrayList<>();
+    private final List<Integer> unindexedPositions = new ArrayList<>();
+    private final int indexedCount;
+
+    public RouteMatchIndex(List<Route> routes) {
+        int indexed = 0;
+        for (int position = 0; position < routes.size(); position++) {
+            Route route = routes.get(position);
+            if (index(route, position)) {
+                indexed++;
+            } else {
+                unindexed.add(route);
+                unindexedPositions.add(position);
+            }
+        }
+        this.indexedCount = indexed;
+    }
+
+    /**
+     * 요청 경로 / 메서드에 매칭될 수 있는 라우트 후보 (우선순위 순)
+     */
+    public List<Route> candidates(PathContainer path, HttpMethod method) {
+        List<String> segments = new ArrayList<>(8);
+        for (PathContainer.Element element : path.elements()) {
+            if (element instanceof PathContainer.PathSegment segment) {
+                segments.add(segment.valueToMatch());
+            }
+        }
+        List<Entry> matches = new ArrayList<>(4);
+        collect(root, segments, 0, method, matches);
+        if (matches.isEmpty()) {
+            return unindexed;
+        }
+        matches.sort(SPECIFICITY);
+
+        Set<Route> candidates = new LinkedHashSet<>(matches.size() + unindexed.size());
+        int next = 0;
+        for (Entry entry : matches) {
+            while (next < unindexed.size() && unindexedPositions.get(next) < entry.position()) {
+                candidates.add(unindexed.get(next++));
+            }
+            candidates.add(entry.route());
+        }
+        candidates.addAll(unindexed.subList(next, unindexed.size()));
+        return new ArrayList<>(candidates);
+    }
+
+    public int indexedCount() {
+        return indexedCount;
+    }
+
+    public int unindexedCount() {
+        return unindexed.size();
+    }
+
+    private void collect(Node node, List<String> segments, int depth, HttpMethod method, List<Entry> matches) {
+        addMatching(node.prefix, method, matches);
+        if (depth == segments.size()) {
+            addMatching(node.exact, method, matches);
+            return;
+        }
+        Node literal = node.literals.get(segments.get(depth));
+        if (literal != null) {
+            collect(literal, segments, depth + 1, method, matches);
+        }
+        if (node.wildcard != null) {
+            collect(node.wildcard, segments, depth + 1, method, matches);
+        }
+    }
+
+    private static void addMatching(List<Entry> entries, HttpMethod method, List<Entry> matches) {
+        for (Entry entry : entries) {
+            if (entry.methods().isEmpty() || entry.methods().contains(method)) {
+                matches.add(entry);
+            }
+        }
+    }
+
+    private boolean index(Route route, int position) {
+        List<String> patterns = values(route.getMetadata().get(PATH));
+        if (patterns.isEmpty()) {
+            return false;
+        }
+        Set<HttpMethod> methods = new LinkedHashSet<>();
+        for (String method : values(route.getMetadata().get(METHODS))) {
+            methods.add(HttpMethod.valueOf(method.toUpperCase()));
+        }
+        List<ParsedPattern> parsed = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            ParsedPattern parsedPattern = ParsedPattern.parse(pattern);
+            if (parsedPattern == null) {
+                return false;
+            }
+            parsed.add(parsedPattern);
+        }
+        Set<HttpMethod> methodSet = Set.copyOf(methods);
+        for (ParsedPattern pattern : parsed) {
+            Node node = root;
+            int literals = 0;
+            for (String segment : pattern.segments()) {
+                if (segment == null) {
+                    if (node.wildcard == null) {
+                        node.wildcard = new Node();
+                    }
+                    node = node.wildcard;
+                } else {
+                    node = node.literals.computeIfAbsent(segment, key -> new Node());
+                    literals++;
+                }
+            }
+            Entry entry = new Entry(route, position, pattern.segments().size(), pattern.prefix(), literals, methodSet);
+            (pattern.prefix() ? node.prefix : node.exact).add(entry);
+        }
+        return true;
+    }
+
+    private static List<String> values(Object value) {
+        List<String> values = new ArrayList<>();
+        if (value instanceof Collection<?> collection) {
+            for (Object item : collection) {
+                addValues(values, String.valueOf(item));
+            }
+        } else if (value != null) {
+            addValues(values, String.valueOf(value));
+        }
+        return values;
+    }
+
+    private static void addValues(List<String> values, String value) {
+        for (String item : value.split(",")) {
+            if (!item.isBlank()) {
+                values.add(item.trim());
+            }
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> literals = new HashMap<>(4);
+        private final List<Entry> exact = new ArrayList<>(1);
+        private final List<Entry> prefix = new ArrayList<>(1);
+        private Node wildcard;
+    }
+
+    /**
+     * @param prefix "**" 로 끝나는 패턴이면 true (정렬 시 false 가 먼저)
+     */
+    private record Entry(Route route, int position, int depth, boolean prefix, int literals, Set<HttpMethod> methods) {
+    }
+
+    /**
+     * @param segments 리터럴 segment, 또는 segment 하나 와일드카드는 null
+     */
+    private record ParsedPattern(List<String> segments, boolean prefix) {
+
+        /**
+         * 지원하지 않는 패턴이면 null
+         */
+        static ParsedPattern parse(String pattern) {
+            if (!pattern.startsWith("/")) {
+                return null;
+            }
+            String[] parts = pattern.substring(1).split("/");
+            List<String> segments = new ArrayList<>(parts.length);
+            for (int i = 0; i < parts.length; i++) {
+                String part = parts[i];
+                boolean last = i == parts.length - 1;
+                if (part.isEmpty()) {
+                    if (!last) {
+                        return null;
+                    }
+                } else if (part.equals("**") || (part.startsWith("{*") && part.endsWith("}"))) {
+                    return last ? new ParsedPattern(segments, true) : null;
+                } else if (part.equals("*") || isVariable(part)) {
+                    segments.add(null);
+                } else if (part.indexOf('*') >= 0 || part.indexOf('?') >= 0 || part.indexOf('{') >= 0) {
+                    return null;
+                } else {
+                    segments.add(part);
+                }
+            }
+            return new ParsedPattern(segments, false);
+        }
+
+        private static boolean isVariable(String part) {
+            return part.startsWith("{") && part.endsWith("}") && part.indexOf(':') < 0 && part.indexOf('*') < 0;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package cloud.back.server.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 검증이 끝난 JWT 를 토큰 원문의 SHA-256 digest 로 캐싱하는 {@link ReactiveJwtDecoder}
+ * - 캐시 hit 시 서명 검증과 claim 파싱을 건너뜁니다.
+ * - 검증 실패 결과는 캐싱하지 않습니다.
+ * - 항목은 토큰의 exp 시각에 만료됩니다 ({@link #expiry(Duration)} 참고).
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    // 토큰 문자열 + 파싱된 claim/header 맵의 대략적인 크기 (weigher 용)
+    private static final int ENTRY_OVERHEAD_BYTES = 512;
+    private static final int DIGEST_LENGTH = 32;
+
+    private static final ThreadLocal<DigestScratch> DIGEST_SCRATCH = ThreadLocal.withInitial(DigestScratch::new);
+
+    private final ReactiveJwtDecoder delegate;
+    private final Cache<TokenDigest, Jwt> cache;
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, Cache<TokenDigest, Jwt> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        TokenDigest key = TokenDigest.of(token);
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return delegate.decode(token).doOnNext(jwt -> cache.put(key, jwt));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public static int weigh(TokenDigest key, Jwt jwt) {
+        return ENTRY_OVERHEAD_BYTES + jwt.getTokenValue().length() * 3;
+    }
+
+    /**
+     * 토큰의 exp 까지만 살아있도록 하는 Expiry. exp 가 없으면 maximumTtl 을 사용합니다.
+     */
+    public static Expiry<TokenDigest, Jwt> expiry(Duration maximumTtl) {
+        long maximumTtlNanos = maximumTtl.toNanos();
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(TokenDigest key, Jwt jwt, long currentTime) {
+                Instant expiresAt = jwt.getExpiresAt();
+                if (expiresAt == null) {
+                    return maximumTtlNanos;
+                }
+                long remainingNanos = Duration.between(Instant.now(), expiresAt).toNanos();
+                return Math.max(0L, Math.min(remainingNanos, maximumTtlNanos));
+            }
+
+            @Override
+            public long expireAfterUpdate(TokenDigest key, Jwt jwt, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, jwt, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(TokenDigest key, Jwt jwt, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+
+    /**
+     * 토큰 원문의 SHA-256 digest (256bit 전체를 키로 사용)
+     */
+    public record TokenDigest(long h0, long h1, long h2, long h3) {
+
+        static TokenDigest of(String token) {
+            DigestScratch scratch = DIGEST_SCRATCH.get();
+            byte[] digest = scratch.digest(token);
+            return new TokenDigest(
+                    readLong(digest, 0),
+                    readLong(digest, 8),
+                    readLong(digest, 16),
+                    readLong(digest, 24)
+            );
+        }
+
+        private static long readLong(byte[] bytes, int offset) {
+            long value = 0L;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | (bytes[offset + i] & 0xFFL);
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 스레드별로 재사용하는 MessageDigest 와 버퍼. JWT 는 ASCII 이므로 getBytes 없이 바로 옮겨 담습니다.
+     */
+    private static final class DigestScratch {
+        private final MessageDigest messageDigest;
+        private final byte[] output = new byte[DIGEST_LENGTH];
+        private byte[] input = new byte[1024];
+
+        private DigestScratch() {
+            try {
+                this.messageDigest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+        }
+
+        private byte[] digest(String token) {
+            int length = token.length();
+            if (input.length < length) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = token.charAt(i);
+                if (c > 0x7F) {
+                    return digestNonAscii(token);
+                }
+                input[i] = (byte) c;
+            }
+            messageDigest.update(input, 0, length);
+            return finish();
+        }
+
+        private byte[] digestNonAscii(String token) {
+            messageDigest.reset();
+            messageDigest.update(token.getBytes(StandardCharsets.UTF_8));
+            return finish();
+        }
+
+        private byte[] finish() {
+            try {
+                messageDigest.digest(output, 0, DIGEST_LENGTH);
+            } catch (DigestException ex) {
+                throw new IllegalStateException("Failed to digest token", ex);
+            }
+            return output;
+        }
+    }
+}
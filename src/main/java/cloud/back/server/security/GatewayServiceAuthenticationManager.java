@@ -1,8 +1,8 @@
 package cloud.back.server.security;
 
 import cloud.back.server.config.GatewayServiceAuthProperties;
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
@@ -13,21 +13,42 @@ import reactor.core.publisher.Mono;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.MessageDigest;
-import java.time.Duration;
 import java.time.Instant;
 import java.util.HexFormat;
 
 @Component
 public class GatewayServiceAuthenticationManager implements ReactiveAuthenticationManager {
     private final GatewayServiceAuthProperties authProperties;
-    private final Cache<String, Boolean> nonceCache = Caffeine.newBuilder()
-            .expireAfterWrite(Duration.ofMinutes(10))
-            .maximumSize(100_000)
-            .build();
+    private final GatewaySignatureEngine signatureEngine;
+    private final NonceFingerprint.Hasher nonceHasher;
+    private final NonceReplayStore nonceStore;
+    private final SharedNonceGuard sharedNonceGuard;
 
     public GatewayServiceAuthenticationManager(GatewayServiceAuthProperties authProperties) {
+        this(authProperties, (SharedNonceGuard) null);
+    }
+
+    @Autowired
+    public GatewayServiceAuthenticationManager(GatewayServiceAuthProperties authProperties,
+                                               ObjectProvider<SharedNonceGuard> sharedNonceGuard) {
+        this(authProperties, sharedNonceGuard.getIfAvailable());
+    }
+
+    public GatewayServiceAuthenticationManager(GatewayServiceAuthProperties authProperties,
+                                               SharedNonceGuard sharedNonceGuard) {
         this.authProperties = authProperties;
+        this.sharedNonceGuard = sharedNonceGuard;
+        this.signatureEngine = isSecretConfigured()
+                ? new GatewaySignatureEngine(authProperties.getSharedSecret())
+                : null;
+        this.nonceHasher = isSecretConfigured()
+                ? NonceFingerprint.hasher(authProperties.getSharedSecret())
+                : null;
+        this.nonceStore = new NonceReplayStore(
+                authProperties.getAllowedClockSkewSeconds() * 1000L,
+                authProperties.getNonceBucketSeconds() * 1000L,
+                authProperties.getNonceBucketCapacity()
+        );
     }
 
     @Override
@@ -38,10 +59,12 @@ public class GatewayServiceAuthenticationManager implements ReactiveAuthenticati
 
         try {
             validateSecretConfigured();
-            validateTimestamp(token.getTimestamp());
-            validateNonce(token.getGatewayId(), token.getNonce());
+            long now = Instant.now().toEpochMilli();
+            long requestEpochMillis = validateTimestamp(token.getTimestamp(), now);
+            // 서명이 맞는 요청만 nonce 저장소에 기록합니다 (위조 요청으로 저장소를 채울 수 없도록)
             validateSignature(token);
-            return Mono.just(GatewayServiceAuthenticationToken.authenticated(
+            NonceFingerprint fingerprint = validateNonce(token.getGatewayId(), token.getNonce(), requestEpochMillis, now);
+            Mono<Authentication> authenticated = Mono.just(GatewayServiceAuthenticationToken.authenticated(
                     token.getGatewayId(),
                     token.getHttpMethod(),
                     token.getRequestPath(),
@@ -49,6 +72,16 @@ public class GatewayServiceAuthenticationManager implements ReactiveAuthenticati
                     token.getNonce(),
                     token.getSignature()
             ));
+            if (sharedNonceGuard == null) {
+                return authenticated;
+            }
+            // 다른 replica 에서 이미 쓴 nonce 인지 확인
+            long expiresAtMillis = requestEpochMillis + authProperties.getAllowedClockSkewSeconds() * 1000L;
+            return sharedNonceGuard.claim(fingerprint, expiresAtMillis, now)
+                    .onErrorMap(ex -> new BadCredentialsException("Gateway nonce could not be verified", ex))
+                    .flatMap(claimed -> claimed
+                            ? authenticated
+                            : Mono.<Authentication>error(new BadCredentialsException("Gateway nonce already used")));
         } catch (AuthenticationException ex) {
             return Mono.error(ex);
         } catch (Exception ex) {
@@ -57,12 +90,16 @@ public class GatewayServiceAuthenticationManager implements ReactiveAuthenticati
     }
 
     private void validateSecretConfigured() {
-        if (authProperties.getSharedSecret() == null || authProperties.getSharedSecret().isBlank()) {
+        if (signatureEngine == null) {
             throw new BadCredentialsException("Gateway shared secret is not configured");
         }
     }
 
-    private void validateTimestamp(String timestamp) {
+    private boolean isSecretConfigured() {
+        return authProperties.getSharedSecret() != null && !authProperties.getSharedSecret().isBlank();
+    }
+
+    private long validateTimestamp(String timestamp, long now) {
         long requestEpochMillis;
         try {
             requestEpochMillis = Long.parseLong(timestamp);
@@ -71,32 +108,30 @@ public class GatewayServiceAuthenticationManager implements ReactiveAuthenticati
         }
 
         long skewMillis = authProperties.getAllowedClockSkewSeconds() * 1000L;
-        long now = Instant.now().toEpochMilli();
         if (Math.abs(now - requestEpochMillis) > skewMillis) {
             throw new BadCredentialsException("Gateway timestamp expired");
         }
+        return requestEpochMillis;
     }
 
-    private void validateNonce(String gatewayId, String nonce) {
-        String key = gatewayId + ":" + nonce;
-        Boolean previous = nonceCache.asMap().putIfAbsent(key, Boolean.TRUE);
-        if (previous != null) {
-            throw new BadCredentialsException("Gateway nonce already used");
-        }
+    private NonceFingerprint validateNonce(String gatewayId, String nonce, long requestEpochMillis, long now) {
+        NonceFingerprint fingerprint = nonceHasher.fingerprint(gatewayId, nonce);
+        return switch (nonceStore.record(fingerprint, requestEpochMillis, now)) {
+            case ACCEPTED -> fingerprint;
+            case REPLAYED -> throw new BadCredentialsException("Gateway nonce already used");
+            case SATURATED -> throw new BadCredentialsException("Gateway nonce store saturated");
+            case OUT_OF_WINDOW -> throw new BadCredentialsException("Gateway timestamp expired");
+        };
     }
 
-    private void validateSignature(GatewayServiceAuthenticationToken token) throws Exception {
-        String payload = buildPayload(
+    private void validateSignature(GatewayServiceAuthenticationToken token) {
+        if (!signatureEngine.verify(
                 token.getGatewayId(),
                 token.getHttpMethod(),
                 token.getRequestPath(),
                 token.getTimestamp(),
-                token.getNonce()
-        );
-        String expectedSignature = hmacHex(payload, authProperties.getSharedSecret());
-        if (!MessageDigest.isEqual(
-                expectedSignature.getBytes(StandardCharsets.UTF_8),
-                token.getSignature().getBytes(StandardCharsets.UTF_8)
+                token.getNonce(),
+                token.getSignature()
         )) {
             throw new BadCredentialsException("Gateway signature mismatch");
         }
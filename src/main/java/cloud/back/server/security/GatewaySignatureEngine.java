@@ -0,0 +1,186 @@
+package cloud.back.server.security;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+
+/**
+ * gateway service 요청 서명(HmacSHA256) 검증 엔진
+ * - 키는 생성 시 한 번만 초기화하고, 스레드마다 초기화된 Mac 을 clone 해서 재사용합니다.
+ * - payload 는 String.join 없이 스레드별 버퍼에 바로 인코딩합니다.
+ * - 요청의 hex 서명은 문자열로 만들지 않고 바이트 배열로 디코딩해서 상수 시간 비교합니다.
+ */
+public class GatewaySignatureEngine {
+    public static final String ALGORITHM = "HmacSHA256";
+
+    private static final int SIGNATURE_LENGTH = 32;
+    private static final byte SEPARATOR = '\n';
+
+    private final SecretKeySpec key;
+    private final Mac prototype;
+    private final ThreadLocal<Scratch> scratch;
+
+    public GatewaySignatureEngine(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            this.prototype = mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to initialise gateway signature engine", ex);
+        }
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(newMac()));
+    }
+
+    /**
+     * 요청 서명이 payload 와 일치하는지 확인합니다
+     */
+    public boolean verify(
+            String gatewayId,
+            String httpMethod,
+            String requestPath,
+            String timestamp,
+            String nonce,
+            String signatureHex
+    ) {
+        if (signatureHex == null || signatureHex.length() != SIGNATURE_LENGTH * 2) {
+            return false;
+        }
+        Scratch s = scratch.get();
+        if (!decodeHex(signatureHex, s.provided)) {
+            return false;
+        }
+        s.sign(gatewayId, httpMethod, requestPath, timestamp, nonce);
+        return MessageDigest.isEqual(s.expected, s.provided);
+    }
+
+    /**
+     * 서명을 hex 문자열로 반환합니다 (클라이언트/테스트용)
+     */
+    public String signHex(
+            String gatewayId,
+            String httpMethod,
+            String requestPath,
+            String timestamp,
+            String nonce
+    ) {
+        Scratch s = scratch.get();
+        s.sign(gatewayId, httpMethod, requestPath, timestamp, nonce);
+        char[] hex = new char[SIGNATURE_LENGTH * 2];
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            hex[i * 2] = HEX_DIGITS[(s.expected[i] >> 4) & 0x0F];
+            hex[i * 2 + 1] = HEX_DIGITS[s.expected[i] & 0x0F];
+        }
+        return new String(hex);
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException ex) {
+            // clone 을 지원하지 않는 provider 는 같은 키로 새로 초기화합니다
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to create gateway signature Mac", e);
+            }
+        }
+    }
+
+    /**
+     * 소문자 hex 만 허용합니다 (기존 HexFormat.of() 출력과 동일한 형식)
+     */
+    private static boolean decodeHex(String hex, byte[] out) {
+        boolean valid = true;
+        for (int i = 0; i < out.length; i++) {
+            int high = hexValue(hex.charAt(i * 2));
+            int low = hexValue(hex.charAt(i * 2 + 1));
+            valid &= (high | low) >= 0;
+            out[i] = (byte) ((high << 4) | (low & 0x0F));
+        }
+        return valid;
+    }
+
+    private static int hexValue(char c) {
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        }
+        if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        }
+        return -1;
+    }
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private static final class Scratch {
+        private final Mac mac;
+        private final byte[] expected = new byte[SIGNATURE_LENGTH];
+        private final byte[] provided = new byte[SIGNATURE_LENGTH];
+        private byte[] buffer = new byte[512];
+
+        private Scratch(Mac mac) {
+            this.mac = mac;
+        }
+
+        private void sign(String gatewayId, String httpMethod, String requestPath, String timestamp, String nonce) {
+            int position = 0;
+            position = append(gatewayId, position);
+            position = appendSeparator(position);
+            position = append(httpMethod, position);
+            position = appendSeparator(position);
+            position = append(requestPath, position);
+            position = appendSeparator(position);
+            position = append(timestamp, position);
+            position = appendSeparator(position);
+            position = append(nonce, position);
+            mac.update(buffer, 0, position);
+            try {
+                mac.doFinal(expected, 0);
+            } catch (ShortBufferException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private int appendSeparator(int position) {
+            ensureCapacity(position + 1);
+            buffer[position] = SEPARATOR;
+            return position + 1;
+        }
+
+        /**
+         * UTF-8 로 인코딩해서 버퍼에 추가합니다 (ASCII 가 아닌 문자가 있을 때만 getBytes 사용)
+         */
+        private int append(String value, int position) {
+            if (value == null) {
+                value = "null";
+            }
+            int length = value.length();
+            ensureCapacity(position + length);
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c > 0x7F) {
+                    byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                    ensureCapacity(position + encoded.length);
+                    System.arraycopy(encoded, 0, buffer, position, encoded.length);
+                    return position + encoded.length;
+                }
+                buffer[position + i] = (byte) c;
+            }
+            return position + length;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (buffer.length < capacity) {
+                byte[] grown = new byte[Math.max(capacity, buffer.length * 2)];
+                System.arraycopy(buffer, 0, grown, 0, buffer.length);
+                buffer = grown;
+            }
+        }
+    }
+}
@@ -0,0 +1,550 @@
+package cloud.back.server.security;
+
+import com.nimbusds.jose.util.JSONObjectUtils;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+import javax.crypto.Mac;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * auth-back-server 가 발급하는 HS512 JWT 전용 검증기
+ * - 알고리즘 협상 없이 HS512 만 받습니다. header 는 처음 본 형태만 파싱하고, 같은 header 는 문자열 비교로 넘어갑니다.
+ * - 서명은 스레드별로 재사용하는 Mac 으로 계산해서, base64url 로 인코딩한 값과 토큰의 서명 부분을 상수 시간 비교합니다.
+ * - payload 는 JSON 트리를 만들지 않고 최상위 항목만 훑어서 exp / nbf / iat 를 확인합니다.
+ *   다른 claim 은 {@link VerifiedToken#stringClaim} 이나 {@link VerifiedToken#claims} 를 부를 때 보관해 둔 payload 에서 만듭니다.
+ * - 잘못된 토큰은 {@link BadJwtException}, 만료된 토큰은 {@link JwtExpiredException} 으로 거절합니다.
+ */
+public class Hs512JwtVerifier {
+    public static final String ALGORITHM = "HmacSHA512";
+
+    private static final int SIGNATURE_LENGTH = 64;
+    // 64 bytes 를 padding 없이 base64url 로 인코딩한 길이
+    private static final int ENCODED_SIGNATURE_LENGTH = 86;
+    private static final int MINIMUM_SECRET_LENGTH = 32;
+    private static final long ABSENT = Long.MIN_VALUE;
+    private static final char[] BASE64_URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final Mac prototype;
+    private final ThreadLocal<Scratch> scratch;
+    private final long clockSkewSeconds;
+    private final Clock clock;
+    // 마지막으로 통과한 header 부분 (auth-back-server 는 항상 같은 header 를 씁니다)
+    private volatile String acceptedHeader;
+
+    public Hs512JwtVerifier(String secret, Duration clockSkew) {
+        this(secret, clockSkew, Clock.systemUTC());
+    }
+
+    public Hs512JwtVerifier(String secret, Duration clockSkew, Clock clock) {
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        if (secretBytes.length < MINIMUM_SECRET_LENGTH) {
+            throw new IllegalArgumentException("JWT secret must be at least 256 bits");
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            this.prototype = mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to initialise HS512 JWT verifier", ex);
+        }
+        this.scratch = ThreadLocal.withInitial(() -> new Scratch(newMac()));
+        this.clockSkewSeconds = clockSkew.toSeconds();
+        this.clock = clock;
+    }
+
+    /**
+     * 서명, header, exp / nbf 를 확인하고 payload 를 돌려줍니다
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null) {
+            throw new BadJwtException("Missing token");
+        }
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (headerEnd <= 0 || payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            throw new BadJwtException("Malformed token");
+        }
+        if (token.length() - payloadEnd - 1 != ENCODED_SIGNATURE_LENGTH) {
+            throw new BadJwtException("Invalid signature");
+        }
+
+        Scratch s = scratch.get();
+        if (!s.signatureMatches(token, payloadEnd)) {
+            throw new BadJwtException("Invalid signature");
+        }
+        verifyHeader(token, headerEnd);
+
+        byte[] payload = decode(s.buffer, headerEnd + 1, payloadEnd);
+        VerifiedToken verified = new VerifiedToken(token, payload);
+        PayloadScanner.scanTimestamps(payload, verified);
+
+        long now = clock.instant().getEpochSecond();
+        if (verified.expiresAt != ABSENT && now - clockSkewSeconds >= verified.expiresAt) {
+            throw new JwtExpiredException("Token has expired");
+        }
+        if (verified.notBefore != ABSENT && now + clockSkewSeconds < verified.notBefore) {
+            throw new BadJwtException("Token is not valid yet");
+        }
+        return verified;
+    }
+
+    private void verifyHeader(String token, int headerEnd) {
+        String accepted = acceptedHeader;
+        if (accepted != null && accepted.length() == headerEnd && token.startsWith(accepted)) {
+            return;
+        }
+        byte[] header = decode(scratch.get().buffer, 0, headerEnd);
+        String[] algorithm = new String[1];
+        boolean[] critical = new boolean[1];
+        PayloadScanner.forEachMember(header, (json, keyStart, keyEnd, valueStart, valueEnd) -> {
+            if (PayloadScanner.keyEquals(json, keyStart, keyEnd, "alg")) {
+                algorithm[0] = PayloadScanner.readString(json, valueStart, valueEnd);
+            } else if (PayloadScanner.keyEquals(json, keyStart, keyEnd, "crit")) {
+                critical[0] = true;
+            }
+        });
+        // crit 확장은 지원하지 않으므로 있으면 거절합니다 (RFC 7515 4.1.11)
+        if (!"HS512".equals(algorithm[0]) || critical[0]) {
+            throw new BadJwtException("Unsupported JWT header");
+        }
+        acceptedHeader = token.substring(0, headerEnd);
+    }
+
+    private static byte[] decode(byte[] ascii, int start, int end) {
+        try {
+            ByteBuffer decoded = DECODER.decode(ByteBuffer.wrap(ascii, start, end - start));
+            byte[] bytes = new byte[decoded.remaining()];
+            decoded.get(bytes);
+            return bytes;
+        } catch (IllegalArgumentException ex) {
+            throw new BadJwtException("Malformed token", ex);
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException ex) {
+            // clone 을 지원하지 않는 provider 는 같은 키로 새로 초기화합니다
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Failed to create HS512 Mac", e);
+            }
+        }
+    }
+
+    /**
+     * 검증이 끝난 토큰. 시각 claim 은 epoch 초이고, 없으면 null 입니다.
+     */
+    public static final class VerifiedToken {
+        private final String tokenValue;
+        private final byte[] payload;
+        private long expiresAt = ABSENT;
+        private long notBefore = ABSENT;
+        private long issuedAt = ABSENT;
+
+        private VerifiedToken(String tokenValue, byte[] payload) {
+            this.tokenValue = tokenValue;
+            this.payload = payload;
+        }
+
+        public String tokenValue() {
+            return tokenValue;
+        }
+
+        public Long expiresAt() {
+            return expiresAt == ABSENT ? null : expiresAt;
+        }
+
+        public Long notBefore() {
+            return notBefore == ABSENT ? null : notBefore;
+        }
+
+        public Long issuedAt() {
+            return issuedAt == ABSENT ? null : issuedAt;
+        }
+
+        public String subject() {
+            return stringClaim("sub");
+        }
+
+        /**
+         * payload 의 모든 claim (JSON 값 그대로: 배열은 List, 객체는 Map, 숫자는 Long / Double)
+         * - 최상위 값이 문자열과 시각 claim (exp / nbf / iat) 뿐이면 스캔한 값으로 바로 만들고,
+         *   배열 / 객체 / 그 밖의 값이 하나라도 있으면 payload 전체를 JSON 으로 파싱합니다.
+         */
+        public Map<String, Object> claims() {
+            Map<String, Object> claims = new HashMap<>();
+            boolean[] flat = {true};
+            PayloadScanner.forEachMember(payload, (json, keyStart, keyEnd, valueStart, valueEnd) -> {
+                if (!flat[0]) {
+                    return;
+                }
+                // key 는 따옴표를 포함한 범위로 읽어서 escape 도 그대로 처리합니다
+                String name = PayloadScanner.readString(json, keyStart - 1, keyEnd + 1);
+                if (json[valueStart] == '"') {
+                    claims.put(name, PayloadScanner.readString(json, valueStart, valueEnd));
+                } else if (PayloadScanner.isTimestamp(json, keyStart, keyEnd)) {
+                    claims.put(name, PayloadScanner.readSeconds(json, valueStart, valueEnd));
+                } else {
+                    flat[0] = false;
+                }
+            });
+            if (flat[0]) {
+                return claims;
+            }
+            try {
+                return JSONObjectUtils.parse(new String(payload, StandardCharsets.UTF_8));
+            } catch (ParseException ex) {
+                throw new BadJwtException("Malformed JWT JSON", ex);
+            }
+        }
+
+        /**
+         * 최상위 문자열 claim. 없거나 문자열이 아니면 null
+         */
+        public String stringClaim(String name) {
+            String[] value = new String[1];
+            PayloadScanner.forEachMember(payload, (json, keyStart, keyEnd, valueStart, valueEnd) -> {
+                if (value[0] == null && json[valueStart] == '"' && PayloadScanner.keyEquals(json, keyStart, keyEnd, name)) {
+                    value[0] = PayloadScanner.readString(json, valueStart, valueEnd);
+                }
+            });
+            return value[0];
+        }
+    }
+
+    /**
+     * 최상위 객체의 항목만 훑는 최소한의 JSON 스캐너 (중첩 값은 건너뜁니다)
+     */
+    static final class PayloadScanner {
+
+        interface MemberVisitor {
+            void visit(byte[] json, int keyStart, int keyEnd, int valueStart, int valueEnd);
+        }
+
+        private final byte[] json;
+        private int position;
+
+        private PayloadScanner(byte[] json) {
+            this.json = json;
+        }
+
+        static void scanTimestamps(byte[] payload, VerifiedToken token) {
+            forEachMember(payload, (json, keyStart, keyEnd, valueStart, valueEnd) -> {
+                if (keyEnd - keyStart != 3) {
+                    return;
+                }
+                if (keyEquals(json, keyStart, keyEnd, "exp")) {
+                    token.expiresAt = readSeconds(json, valueStart, valueEnd);
+                } else if (keyEquals(json, keyStart, keyEnd, "nbf")) {
+                    token.notBefore = readSeconds(json, valueStart, valueEnd);
+                } else if (keyEquals(json, keyStart, keyEnd, "iat")) {
+                    token.issuedAt = readSeconds(json, valueStart, valueEnd);
+                }
+            });
+        }
+
+        static boolean isTimestamp(byte[] json, int keyStart, int keyEnd) {
+            return keyEquals(json, keyStart, keyEnd, "exp")
+                    || keyEquals(json, keyStart, keyEnd, "nbf")
+                    || keyEquals(json, keyStart, keyEnd, "iat");
+        }
+
+        static void forEachMember(byte[] json, MemberVisitor visitor) {
+            PayloadScanner scanner = new PayloadScanner(json);
+            scanner.skipWhitespace();
+            scanner.expect('{');
+            scanner.skipWhitespace();
+            if (scanner.peek() == '}') {
+                scanner.position++;
+                scanner.expectEnd();
+                return;
+            }
+            while (true) {
+                scanner.skipWhitespace();
+                scanner.expect('"');
+                int keyStart = scanner.position;
+                scanner.skipStringBody();
+                int keyEnd = scanner.position - 1;
+                scanner.skipWhitespace();
+                scanner.expect(':');
+                scanner.skipWhitespace();
+                int valueStart = scanner.position;
+                scanner.skipValue();
+                visitor.visit(json, keyStart, keyEnd, valueStart, scanner.position);
+                scanner.skipWhitespace();
+                byte next = scanner.next();
+                if (next == '}') {
+                    scanner.expectEnd();
+                    return;
+                }
+                if (next != ',') {
+                    throw malformed();
+                }
+            }
+        }
+
+        /**
+         * escape 없는 key 만 비교합니다 (auth-back-server 의 claim 이름은 모두 ASCII)
+         */
+        static boolean keyEquals(byte[] json, int keyStart, int keyEnd, String name) {
+            int length = name.length();
+            if (keyEnd - keyStart != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (json[keyStart + i] != name.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static String readString(byte[] json, int valueStart, int valueEnd) {
+            if (json[valueStart] != '"') {
+                return null;
+            }
+            int start = valueStart + 1;
+            int end = valueEnd - 1;
+            int escape = -1;
+            for (int i = start; i < end; i++) {
+                if (json[i] == '\\') {
+                    escape = i;
+                    break;
+                }
+            }
+            if (escape < 0) {
+                return new String(json, start, end - start, StandardCharsets.UTF_8);
+            }
+            StringBuilder value = new StringBuilder(end - start);
+            value.append(new String(json, start, escape - start, StandardCharsets.UTF_8));
+            int i = escape;
+            while (i < end) {
+                byte b = json[i];
+                if (b != '\\') {
+                    int runEnd = i;
+                    while (runEnd < end && json[runEnd] != '\\') {
+                        runEnd++;
+                    }
+                    value.append(new String(json, i, runEnd - i, StandardCharsets.UTF_8));
+                    i = runEnd;
+                    continue;
+                }
+                byte escaped = json[i + 1];
+                switch (escaped) {
+                    case '"', '\\', '/' -> value.append((char) escaped);
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'u' -> {
+                        if (i + 6 > end) {
+                            throw malformed();
+                        }
+                        value.append((char) Integer.parseInt(new String(json, i + 2, 4, StandardCharsets.US_ASCII), 16));
+                        i += 4;
+                    }
+                    default -> throw malformed();
+                }
+                i += 2;
+            }
+            return value.toString();
+        }
+
+        /**
+         * NumericDate (초). 소수점이 있으면 버립니다.
+         */
+        static long readSeconds(byte[] json, int valueStart, int valueEnd) {
+            long value = 0L;
+            int i = valueStart;
+            boolean negative = i < valueEnd && json[i] == '-';
+            if (negative) {
+                i++;
+            }
+            if (i >= valueEnd || json[i] < '0' || json[i] > '9') {
+                throw new BadJwtException("Invalid NumericDate claim");
+            }
+            for (; i < valueEnd; i++) {
+                byte b = json[i];
+                if (b >= '0' && b <= '9') {
+                    if (value > (Long.MAX_VALUE - 9) / 10) {
+                        throw new BadJwtException("Invalid NumericDate claim");
+                    }
+                    value = value * 10 + (b - '0');
+                } else if (b == '.') {
+                    break;
+                } else {
+                    // 지수 표기 등은 auth-back-server 가 쓰지 않으므로 거절합니다
+                    throw new BadJwtException("Invalid NumericDate claim");
+                }
+            }
+            return negative ? -value : value;
+        }
+
+        private void skipValue() {
+            byte b = peek();
+            if (b == '"') {
+                position++;
+                skipStringBody();
+            } else if (b == '{' || b == '[') {
+                skipContainer();
+            } else {
+                int start = position;
+                while (position < json.length) {
+                    byte c = json[position];
+                    if (c == ',' || c == '}' || c == ']' || c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                        break;
+                    }
+                    position++;
+                }
+                if (position == start) {
+                    throw malformed();
+                }
+            }
+        }
+
+        private void skipContainer() {
+            int depth = 0;
+            while (position < json.length) {
+                byte b = json[position++];
+                if (b == '"') {
+                    skipStringBody();
+                } else if (b == '{' || b == '[') {
+                    depth++;
+                } else if (b == '}' || b == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        return;
+                    }
+                }
+            }
+            throw malformed();
+        }
+
+        // 여는 따옴표 다음 위치에서 시작해서 닫는 따옴표 다음으로 이동합니다
+        private void skipStringBody() {
+            while (position < json.length) {
+                byte b = json[position++];
+                if (b == '\\') {
+                    position++;
+                } else if (b == '"') {
+                    return;
+                }
+            }
+            throw malformed();
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length) {
+                byte b = json[position];
+                if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                    return;
+                }
+                position++;
+            }
+        }
+
+        private void expectEnd() {
+            skipWhitespace();
+            if (position != json.length) {
+                throw malformed();
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw malformed();
+            }
+        }
+
+        private byte peek() {
+            if (position >= json.length) {
+                throw malformed();
+            }
+            return json[position];
+        }
+
+        private byte next() {
+            byte b = peek();
+            position++;
+            return b;
+        }
+
+        private static BadJwtException malformed() {
+            return new BadJwtException("Malformed JWT JSON");
+        }
+    }
+
+    private static final class Scratch {
+        private final Mac mac;
+        private final byte[] expected = new byte[SIGNATURE_LENGTH];
+        private byte[] buffer = new byte[1024];
+
+        private Scratch(Mac mac) {
+            this.mac = mac;
+        }
+
+        /**
+         * 토큰을 ASCII 로 버퍼에 옮기고 header.payload 의 서명을 계산해서 토큰의 서명 부분과 비교합니다
+         */
+        private boolean signatureMatches(String token, int payloadEnd) {
+            int length = token.length();
+            if (buffer.length < length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            for (int i = 0; i < length; i++) {
+                char c = token.charAt(i);
+                if (c > 0x7F) {
+                    throw new BadJwtException("Malformed token");
+                }
+                buffer[i] = (byte) c;
+            }
+            mac.update(buffer, 0, payloadEnd);
+            try {
+                mac.doFinal(expected, 0);
+            } catch (ShortBufferException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return encodedEquals(token, payloadEnd + 1);
+        }
+
+        /**
+         * expected 를 base64url (padding 없음) 로 인코딩하면서 토큰 문자와 상수 시간 비교합니다
+         */
+        private boolean encodedEquals(String token, int offset) {
+            int diff = 0;
+            int position = offset;
+            int i = 0;
+            for (; i + 3 <= SIGNATURE_LENGTH; i += 3) {
+                int bits = (expected[i] & 0xFF) << 16 | (expected[i + 1] & 0xFF) << 8 | (expected[i + 2] & 0xFF);
+                diff |= token.charAt(position++) ^ BASE64_URL[(bits >>> 18) & 0x3F];
+                diff |= token.charAt(position++) ^ BASE64_URL[(bits >>> 12) & 0x3F];
+                diff |= token.charAt(position++) ^ BASE64_URL[(bits >>> 6) & 0x3F];
+                diff |= token.charAt(position++) ^ BASE64_URL[bits & 0x3F];
+            }
+            // 64 = 21 x 3 + 1: 남은 1 byte 는 2 문자
+            int bits = (expected[i] & 0xFF) << 16;
+            diff |= token.charAt(position++) ^ BASE64_URL[(bits >>> 18) & 0x3F];
+            diff |= token.charAt(position) ^ BASE64_URL[(bits >>> 12) & 0x3F];
+            return diff == 0;
+        }
+    }
+}
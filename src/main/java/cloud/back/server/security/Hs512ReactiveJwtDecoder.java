@@ -0,0 +1,57 @@
+package cloud.back.server.security;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.MappedJwtClaimSetConverter;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * {@link Hs512JwtVerifier} 를 쓰는 {@link ReactiveJwtDecoder}
+ * - payload 의 모든 claim 을 NimbusReactiveJwtDecoder 와 같은 claim 변환 (MappedJwtClaimSetConverter) 을 거쳐 넣습니다.
+ * - auth-back-server 토큰처럼 최상위 값이 문자열과 시각 claim 뿐이면 JSON 파싱 없이 스캔한 값을 씁니다
+ *   ({@link Hs512JwtVerifier.VerifiedToken#claims}).
+ */
+public class Hs512ReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    private static final Map<String, Object> HEADERS = Map.of("alg", MacAlgorithm.HS512.getName());
+
+    private static final Converter<Map<String, Object>, Map<String, Object>> CLAIM_SET_CONVERTER =
+            MappedJwtClaimSetConverter.withDefaults(Map.of());
+
+    private final Hs512JwtVerifier verifier;
+
+    public Hs512ReactiveJwtDecoder(Hs512JwtVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) throws JwtException {
+        try {
+            return Mono.just(toJwt(verifier.verify(token)));
+        } catch (JwtException ex) {
+            return Mono.error(ex);
+        }
+    }
+
+    private static Jwt toJwt(Hs512JwtVerifier.VerifiedToken verified) {
+        Map<String, Object> claims = CLAIM_SET_CONVERTER.convert(verified.claims());
+        return build(Jwt.withTokenValue(verified.tokenValue())
+                .headers(headers -> headers.putAll(HEADERS))
+                .claims(target -> target.putAll(claims)));
+    }
+
+    private static Jwt build(Jwt.Builder builder) {
+        try {
+            return builder.build();
+        } catch (IllegalArgumentException ex) {
+            // claim 이 하나도 없는 토큰
+            throw new BadJwtException("Token has no claims", ex);
+        }
+    }
+}
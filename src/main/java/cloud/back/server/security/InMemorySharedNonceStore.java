@@ -0,0 +1,82 @@
+package cloud.back.server.security;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 프로세스 내부에서 동작하는 {@link SharedNonceStore}
+ * - 단일 replica 운영 또는 테스트에서 여러 노드를 흉내낼 때 사용합니다.
+ */
+public class InMemorySharedNonceStore implements SharedNonceStore {
+
+    private static final long PURGE_INTERVAL_MILLIS = 10_000L;
+
+    private final ConcurrentHashMap<NonceFingerprint, Long> claims = new ConcurrentHashMap<>();
+    private final Sinks.Many<Claimed> feed = Sinks.many().multicast().directBestEffort();
+    private final LongAdder published = new LongAdder();
+    private volatile long nextPurgeAt;
+
+    @Override
+    public Mono<List<Boolean>> claimAll(String nodeId, List<NonceClaim> batch) {
+        return Mono.fromSupplier(() -> {
+            long now = System.currentTimeMillis();
+            purgeExpired(now);
+            List<Boolean> results = new ArrayList<>(batch.size());
+            for (NonceClaim claim : batch) {
+                Long previous = claims.putIfAbsent(claim.fingerprint(), claim.expiresAtMillis());
+                boolean claimed = previous == null || previous < now;
+                if (previous != null && claimed) {
+                    // 만료된 항목을 덮어쓰는 경우
+                    claimed = claims.replace(claim.fingerprint(), previous, claim.expiresAtMillis());
+                }
+                results.add(claimed);
+                if (claimed) {
+                    publish(new Claimed(nodeId, claim));
+                }
+            }
+            return results;
+        });
+    }
+
+    @Override
+    public Flux<NonceClaim> claimsFromOtherNodes(String nodeId) {
+        return feed.asFlux()
+                .filter(claimed -> !claimed.nodeId().equals(nodeId))
+                .map(Claimed::claim);
+    }
+
+    public int size() {
+        return claims.size();
+    }
+
+    /**
+     * 다른 노드로 전파된 claim 수
+     */
+    public long publishedCount() {
+        return published.sum();
+    }
+
+    private void publish(Claimed claimed) {
+        synchronized (feed) {
+            feed.tryEmitNext(claimed);
+        }
+        published.increment();
+    }
+
+    private void purgeExpired(long now) {
+        if (now < nextPurgeAt) {
+            return;
+        }
+        nextPurgeAt = now + PURGE_INTERVAL_MILLIS;
+        claims.values().removeIf(expiresAt -> expiresAt < now);
+    }
+
+    private record Claimed(String nodeId, NonceClaim claim) {
+    }
+}
@@ -0,0 +1,13 @@
+package cloud.back.server.security;
+
+import org.springframework.security.oauth2.jwt.BadJwtException;
+
+/**
+ * 서명은 맞지만 exp 가 지난 토큰
+ */
+public class JwtExpiredException extends BadJwtException {
+
+    public JwtExpiredException(String message) {
+        super(message);
+    }
+}
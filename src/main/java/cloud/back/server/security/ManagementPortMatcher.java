@@ -0,0 +1,54 @@
+package cloud.back.server.security;
+
+import org.springframework.core.env.Environment;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+/**
+ * management 서버 포트 (management.server.port) 로 들어온 요청만 매칭합니다
+ * - 실제 포트는 management 서버가 뜬 뒤 Spring Boot 가 기록하는 local.management.port 로 확인합니다 (0 = 임의 포트도 지원).
+ * - management 서버가 따로 없으면 아무 요청도 매칭하지 않습니다.
+ */
+public class ManagementPortMatcher implements ServerWebExchangeMatcher {
+
+    private static final String LOCAL_MANAGEMENT_PORT = "local.management.port";
+
+    private final Environment environment;
+    private final boolean separateServer;
+    private volatile int port = -1;
+
+    public ManagementPortMatcher(Environment environment) {
+        this.environment = environment;
+        Integer managementPort = environment.getProperty("management.server.port", Integer.class);
+        Integer serverPort = environment.getProperty("server.port", Integer.class, 8080);
+        this.separateServer = managementPort != null && managementPort >= 0
+                && (managementPort == 0 || !managementPort.equals(serverPort));
+    }
+
+    @Override
+    public Mono<MatchResult> matches(ServerWebExchange exchange) {
+        InetSocketAddress local = exchange.getRequest().getLocalAddress();
+        int managementPort = managementPort();
+        return local != null && managementPort > 0 && local.getPort() == managementPort
+                ? MatchResult.match()
+                : MatchResult.notMatch();
+    }
+
+    private int managementPort() {
+        if (!separateServer) {
+            return -1;
+        }
+        int resolved = port;
+        if (resolved < 0) {
+            Integer local = environment.getProperty(LOCAL_MANAGEMENT_PORT, Integer.class);
+            if (local == null) {
+                return -1;
+            }
+            port = resolved = local;
+        }
+        return resolved;
+    }
+}
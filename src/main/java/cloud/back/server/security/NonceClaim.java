@@ -0,0 +1,7 @@
+package cloud.back.server.security;
+
+/**
+ * 공유 nonce 저장소에 기록하는 항목. expiresAtMillis 이후에는 timestamp 검증에서 걸러지므로 지워도 됩니다.
+ */
+public record NonceClaim(NonceFingerprint fingerprint, long expiresAtMillis) {
+}
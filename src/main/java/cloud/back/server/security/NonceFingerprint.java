@@ -0,0 +1,88 @@
+package cloud.back.server.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * gatewayId + nonce 의 128bit 지문
+ * - 문자열 결합 없이 문자 단위로 해시합니다.
+ * - seed 는 gateway shared secret 에서 유도하므로 모든 replica 에서 같은 값이 나오고,
+ *   secret 을 모르는 쪽에서 충돌을 의도적으로 만들 수 없습니다.
+ * - 0 은 빈 슬롯 표시로 쓰이므로 low 의 최하위 비트는 항상 1 입니다.
+ */
+public record NonceFingerprint(long high, long low) {
+
+    private static final long MULTIPLIER_HIGH = 0x9E3779B97F4A7C15L;
+    private static final long MULTIPLIER_LOW = 0xC2B2AE3D27D4EB4FL;
+
+    public static Hasher hasher(String sharedSecret) {
+        return new Hasher(sharedSecret);
+    }
+
+    public static final class Hasher {
+        private final long seedHigh;
+        private final long seedLow;
+
+        private Hasher(String sharedSecret) {
+            byte[] seed;
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update("gateway-nonce-fingerprint".getBytes(StandardCharsets.UTF_8));
+                seed = digest.digest(sharedSecret.getBytes(StandardCharsets.UTF_8));
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("SHA-256 is not available", ex);
+            }
+            this.seedHigh = readLong(seed, 0);
+            this.seedLow = readLong(seed, 8);
+        }
+
+        public NonceFingerprint fingerprint(String gatewayId, String nonce) {
+            long high = seedHigh;
+            long low = seedLow;
+
+            // gatewayId 길이를 먼저 섞어서 ("a:b", "c") 와 ("a", "b:c") 가 구분되도록 합니다
+            high = mixHigh(high, gatewayId.length());
+            low = mixLow(low, gatewayId.length());
+            for (int i = 0; i < gatewayId.length(); i++) {
+                char c = gatewayId.charAt(i);
+                high = mixHigh(high, c);
+                low = mixLow(low, c);
+            }
+            for (int i = 0; i < nonce.length(); i++) {
+                char c = nonce.charAt(i);
+                high = mixHigh(high, c);
+                low = mixLow(low, c);
+            }
+            high = fmix(high ^ nonce.length());
+            low = fmix(low ^ Long.rotateLeft(high, 17));
+            return new NonceFingerprint(high, low | 1L);
+        }
+    }
+
+    private static long mixHigh(long hash, int value) {
+        return (hash ^ value) * MULTIPLIER_HIGH;
+    }
+
+    private static long mixLow(long hash, int value) {
+        return Long.rotateLeft((hash ^ value) * MULTIPLIER_LOW, 31);
+    }
+
+    // MurmurHash3 finalizer
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xFF51AFD7ED558CCDL;
+        k ^= k >>> 33;
+        k *= 0xC4CEB9FE1A85EC53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static long readLong(byte[] bytes, int offset) {
+        long value = 0L;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,147 @@
+package cloud.back.server.security;
+
+import java.util.Arrays;
+
+/**
+ * 요청 timestamp 기준으로 버킷을 나눈 nonce 재사용 방지 저장소
+ * - 허용 구간은 [now - skew, now + skew] 이므로, 요청 timestamp 가 속한 버킷이 구간 밖으로 밀려나면
+ *   그 버킷 전체를 한 번에 비웁니다 (항목별 만료 처리 없음).
+ * - 각 버킷은 128bit 지문을 long[] 에 open addressing 으로 저장합니다.
+ * - 버킷이 가득 차면 유효한 nonce 를 밀어내지 않고 요청을 거절합니다 (fail closed).
+ * - 최대 메모리: 버킷 수 x 슬롯 수 x 16 bytes (버킷은 처음 쓰일 때 할당)
+ */
+public class NonceReplayStore {
+
+    public enum Result {
+        ACCEPTED,
+        REPLAYED,
+        SATURATED,
+        OUT_OF_WINDOW
+    }
+
+    private final long skewMillis;
+    private final long bucketMillis;
+    private final int bucketCapacity;
+    private final int tableSlots;
+    private final Bucket[] ring;
+
+    public NonceReplayStore(long skewMillis, long bucketMillis, int bucketCapacity) {
+        if (skewMillis <= 0 || bucketMillis <= 0 || bucketCapacity <= 0) {
+            throw new IllegalArgumentException("skewMillis, bucketMillis and bucketCapacity must be positive");
+        }
+        this.skewMillis = skewMillis;
+        this.bucketMillis = bucketMillis;
+        this.bucketCapacity = bucketCapacity;
+        // load factor 0.5 이하로 유지
+        this.tableSlots = Integer.highestOneBit(bucketCapacity * 2 - 1) << 1;
+        // 허용 구간(2 x skew)에 걸칠 수 있는 버킷 수 + 여유분
+        int ringSize = (int) ((2 * skewMillis) / bucketMillis) + 3;
+        this.ring = new Bucket[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            ring[i] = new Bucket();
+        }
+    }
+
+    /**
+     * nonce 지문을 기록합니다. 처음 보는 지문이면 ACCEPTED 를 반환합니다.
+     */
+    public Result record(NonceFingerprint fingerprint, long timestampMillis, long nowMillis) {
+        if (Math.abs(nowMillis - timestampMillis) > skewMillis) {
+            return Result.OUT_OF_WINDOW;
+        }
+        long epoch = Math.floorDiv(timestampMillis, bucketMillis);
+        long oldestLiveEpoch = Math.floorDiv(nowMillis - skewMillis, bucketMillis);
+        Bucket bucket = ring[(int) Math.floorMod(epoch, (long) ring.length)];
+
+        synchronized (bucket) {
+            if (bucket.epoch != epoch) {
+                if (bucket.epoch > epoch || bucket.epoch >= oldestLiveEpoch) {
+                    // 아직 유효한 버킷과 슬롯이 겹치는 경우 (시계 역행 등) - 지우지 않고 거절합니다
+                    return Result.SATURATED;
+                }
+                bucket.reset(epoch);
+            }
+            return bucket.insert(fingerprint.high(), fingerprint.low());
+        }
+    }
+
+    /**
+     * 기록하지 않고 지문이 이미 있는지만 확인합니다
+     */
+    public boolean contains(NonceFingerprint fingerprint, long timestampMillis, long nowMillis) {
+        if (Math.abs(nowMillis - timestampMillis) > skewMillis) {
+            return false;
+        }
+        long epoch = Math.floorDiv(timestampMillis, bucketMillis);
+        Bucket bucket = ring[(int) Math.floorMod(epoch, (long) ring.length)];
+        synchronized (bucket) {
+            return bucket.epoch == epoch && bucket.contains(fingerprint.high(), fingerprint.low());
+        }
+    }
+
+    public long maximumMemoryBytes() {
+        return (long) ring.length * tableSlots * 2 * Long.BYTES;
+    }
+
+    public int bucketCount() {
+        return ring.length;
+    }
+
+    private final class Bucket {
+        private long epoch = Long.MIN_VALUE;
+        private long[] table;
+        private int size;
+
+        private void reset(long newEpoch) {
+            if (table != null && size > 0) {
+                Arrays.fill(table, 0L);
+            }
+            size = 0;
+            epoch = newEpoch;
+        }
+
+        private boolean contains(long high, long low) {
+            if (table == null) {
+                return false;
+            }
+            int mask = tableSlots - 1;
+            int slot = (int) (low ^ (low >>> 32) ^ high) & mask;
+            while (true) {
+                int index = slot * 2;
+                long storedLow = table[index + 1];
+                if (storedLow == 0L) {
+                    return false;
+                }
+                if (storedLow == low && table[index] == high) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private Result insert(long high, long low) {
+            if (table == null) {
+                table = new long[tableSlots * 2];
+            }
+            int mask = tableSlots - 1;
+            int slot = (int) (low ^ (low >>> 32) ^ high) & mask;
+            while (true) {
+                int index = slot * 2;
+                long storedLow = table[index + 1];
+                if (storedLow == 0L) {
+                    if (size >= bucketCapacity) {
+                        return Result.SATURATED;
+                    }
+                    table[index] = high;
+                    table[index + 1] = low;
+                    size++;
+                    return Result.ACCEPTED;
+                }
+                if (storedLow == low && table[index] == high) {
+                    return Result.REPLAYED;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package cloud.back.server.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SecurityWebFilterChain 선택과 permitAll 판정을 한 번에 하는 인덱스
+ * - 체인별 securityMatcher 와 기본 체인의 permitAll 규칙을 (메서드, 경로) 하나의 Decision 으로 계산하고,
+ *   결과는 정규화한 경로 + 메서드 단위로 크기 제한이 있는 캐시에 둡니다.
+ * - 캐시 key 의 경로는 segment 마다 matrix 변수를 뗀 값으로 보고, 규칙 패턴에 리터럴로 나오지 않는 segment 는 "*" 로 바꿉니다.
+ *   ("/api/zeroq/v1/stores/42" 와 "/api/zeroq/v1/stores/43;v=1" 은 같은 key) 그런 segment 는 "*" / "{var}" / "**" 에만
+ *   맞을 수 있어 판정이 달라지지 않고, ID 가 들어간 경로도 캐시 항목 수가 라우트 모양 수로 묶입니다.
+ *   규칙에 부분 와일드카드 / 정규식 segment ("*.json", "{id:\\d+}") 가 있으면 정규화하지 않습니다.
+ * - 각 체인의 matcher 는 같은 Decision 을 보고 match / notMatch 를 고르므로 요청마다 패턴 목록을 다시 훑지 않습니다.
+ * - 토큰 없이 들어온 permitAll 요청은 인증 필터가 없는 공개 체인으로 보냅니다.
+ *   (토큰이 있으면 기본 체인에서 인증해서 X-User-* 헤더가 붙도록 그대로 둡니다)
+ */
+public class SecurityDispatchIndex {
+
+    public enum Chain {
+        PUBLIC,
+        GATEWAY_SERVICE,
+        DEFAULT
+    }
+
+    /**
+     * @param permitAll DEFAULT 체인에서 인증 없이 허용되는 요청인지
+     */
+    public record Decision(Chain chain, boolean permitAll) {
+    }
+
+    /**
+     * @param method null 이면 모든 메서드
+     */
+    public record Rule(HttpMethod method, String pattern) {
+    }
+
+    private static final String CHAIN_ATTR = SecurityDispatchIndex.class.getName() + ".chain";
+    private static final String ANY_SEGMENT = "*";
+
+    private static final Mono<ServerWebExchangeMatcher.MatchResult> MATCH = ServerWebExchangeMatcher.MatchResult.match();
+    private static final Mono<ServerWebExchangeMatcher.MatchResult> NOT_MATCH = ServerWebExchangeMatcher.MatchResult.notMatch();
+
+    private static final Decision PUBLIC = new Decision(Chain.PUBLIC, true);
+    private static final Decision GATEWAY_SERVICE = new Decision(Chain.GATEWAY_SERVICE, false);
+    private static final Decision DEFAULT_PERMIT_ALL = new Decision(Chain.DEFAULT, true);
+    private static final Decision DEFAULT_AUTHENTICATED = new Decision(Chain.DEFAULT, false);
+
+    private final List<CompiledRule> publicRules;
+    private final List<CompiledRule> gatewayServiceRules;
+    private final List<CompiledRule> permitAllRules;
+    private final Set<String> literalSegments;
+    private final Cache<Key, Decision> decisions;
+
+    public SecurityDispatchIndex(List<Rule> publicRules,
+                                 List<Rule> gatewayServiceRules,
+                                 List<Rule> permitAllRules,
+                                 long maximumSize) {
+        this.publicRules = compile(publicRules);
+        this.gatewayServiceRules = compile(gatewayServiceRules);
+        this.permitAllRules = compile(permitAllRules);
+        this.literalSegments = literalSegments(publicRules, gatewayServiceRules, permitAllRules);
+        this.decisions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public Decision decide(ServerWebExchange exchange) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        HttpMethod method = exchange.getRequest().getMethod();
+        return decisions.get(new Key(method, cacheKey(path)), key -> compute(method, path));
+    }
+
+    /**
+     * 캐시 key 로 쓰는 정규화한 경로
+     */
+    String cacheKey(PathContainer path) {
+        if (literalSegments == null) {
+            return path.value();
+        }
+        StringBuilder key = new StringBuilder(path.value().length());
+        for (PathContainer.Element element : path.elements()) {
+            if (element instanceof PathContainer.PathSegment segment) {
+                String value = segment.valueToMatch();
+                key.append(value.isEmpty() || literalSegments.contains(value) ? value : ANY_SEGMENT);
+            } else {
+                key.append(element.value());
+            }
+        }
+        return key.toString();
+    }
+
+    /**
+     * 캐시를 거치지 않고 판정합니다 (벤치마크 / 테스트용)
+     */
+    public Decision compute(HttpMethod method, PathContainer path) {
+        if (matchesAny(publicRules, method, path)) {
+            return PUBLIC;
+        }
+        if (matchesAny(gatewayServiceRules, method, path)) {
+            return GATEWAY_SERVICE;
+        }
+        return matchesAny(permitAllRules, method, path) ? DEFAULT_PERMIT_ALL : DEFAULT_AUTHENTICATED;
+    }
+
+    /**
+     * 이 요청을 처리할 체인. DEFAULT 체인의 permitAll 요청이라도 Authorization 헤더가 없으면 PUBLIC 입니다.
+     * 체인마다 matcher 가 불리므로 결과는 exchange 속성에 두고 다시 씁니다.
+     */
+    public Chain chainFor(ServerWebExchange exchange) {
+        Chain chain = exchange.getAttribute(CHAIN_ATTR);
+        if (chain == null) {
+            Decision decision = decide(exchange);
+            chain = decision.chain();
+            if (chain == Chain.DEFAULT && decision.permitAll()
+                    && !exchange.getRequest().getHeaders().containsHeader(HttpHeaders.AUTHORIZATION)) {
+                chain = Chain.PUBLIC;
+            }
+            exchange.getAttributes().put(CHAIN_ATTR, chain);
+        }
+        return chain;
+    }
+
+    public ServerWebExchangeMatcher chainMatcher(Chain chain) {
+        return exchange -> chainFor(exchange) == chain ? MATCH : NOT_MATCH;
+    }
+
+    /**
+     * DEFAULT 체인의 authorizeExchange 에서 permitAll 로 둘 요청
+     */
+    public ServerWebExchangeMatcher permitAllMatcher() {
+        return exchange -> decide(exchange).permitAll() ? MATCH : NOT_MATCH;
+    }
+
+    public Cache<?, ?> cache() {
+        return decisions;
+    }
+
+    private static boolean matchesAny(List<CompiledRule> rules, HttpMethod method, PathContainer path) {
+        for (CompiledRule rule : rules) {
+            if ((rule.method() == null || rule.method().equals(method)) && rule.pattern().matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 규칙 패턴의 리터럴 segment. 부분 와일드카드 / 정규식 segment 가 있으면 null (정규화하지 않음)
+     */
+    @SafeVarargs
+    private static Set<String> literalSegments(List<Rule>... ruleLists) {
+        Set<String> literals = new HashSet<>();
+        for (List<Rule> rules : ruleLists) {
+            for (Rule rule : rules) {
+                for (String part : rule.pattern().split("/")) {
+                    if (part.isEmpty() || part.equals("*") || part.equals("**") || isVariable(part)) {
+                        continue;
+                    }
+                    if (part.indexOf('*') >= 0 || part.indexOf('?') >= 0 || part.indexOf('{') >= 0) {
+                        return null;
+                    }
+                    literals.add(part);
+                }
+            }
+        }
+        return Set.copyOf(literals);
+    }
+
+    private static boolean isVariable(String part) {
+        return part.startsWith("{") && part.endsWith("}") && part.indexOf(':') < 0 && part.indexOf('}') == part.length() - 1;
+    }
+
+    private static List<CompiledRule> compile(List<Rule> rules) {
+        List<CompiledRule> compiled = new ArrayList<>(rules.size());
+        for (Rule rule : rules) {
+            compiled.add(new CompiledRule(rule.method(), PathPatternParser.defaultInstance.parse(rule.pattern())));
+        }
+        return List.copyOf(compiled);
+    }
+
+    private record CompiledRule(HttpMethod method, PathPattern pattern) {
+    }
+
+    private record Key(HttpMethod method, String path) {
+    }
+}
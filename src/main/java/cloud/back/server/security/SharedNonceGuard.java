@@ -0,0 +1,247 @@
+package cloud.back.server.security;
+
+import cloud.back.server.config.GatewayServiceAuthProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * replica 간 nonce 재사용 방지
+ * - 모든 nonce 는 공유 저장소가 기록을 확인한 뒤에 수락합니다. 다른 노드로 바로 보낸 replay 도
+ *   저장소에서 먼저 기록된 쪽만 통과하므로, 배치 지연이나 전파 지연 동안 열리는 구간이 없습니다.
+ * - 다른 노드가 기록한 nonce 는 {@link SharedNonceStore#claimsFromOtherNodes} 로 받아 로컬 지문 저장소
+ *   ({@link NonceReplayStore}) 에 넣고, 이미 알려진 중복은 저장소 왕복 없이 바로 거절합니다 (빠른 경로는 거절에만 씁니다).
+ * - claim 은 event loop 에서 multi-producer 큐에 넣기만 하고, 전용 스레드 하나가 큐를 비우며 배치로 보냅니다.
+ *   (배치는 maxBatchSize 가 차거나 maxBatchDelay 가 지나면 보내고, 저장소 요청은 한 번에 하나만 진행합니다)
+ * - 큐는 maxPendingClaims 로 제한합니다. 가득 차거나 저장소 요청이 실패하면 claim 을 거절합니다
+ *   (fail closed, 큐가 가득 찬 경우는 sheddedCount 로 셉니다).
+ *   gateway.nonce.shared.shedded 가 늘면 공유 저장소가 느리거나 끊긴 것이므로 알림 대상입니다.
+ */
+@Slf4j
+public class SharedNonceGuard implements DisposableBean {
+
+    private final SharedNonceStore store;
+    private final String nodeId;
+    private final long skewMillis;
+    private final NonceReplayStore knownClaims;
+    private final int maxBatchSize;
+    private final int maxPendingClaims;
+    private final Duration maxBatchDelay;
+
+    private final Queue<PendingClaim> pending = Queues.<PendingClaim>unboundedMultiproducer().get();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final Scheduler batchScheduler = Schedulers.newSingle("shared-nonce-batcher", true);
+    private final Scheduler.Worker worker = batchScheduler.createWorker();
+    private final Disposable feed;
+
+    // worker 스레드에서만 접근합니다
+    private boolean flushing;
+    private boolean batchDue;
+    private Disposable batchTimer;
+
+    private final LongAdder knownDuplicates = new LongAdder();
+    private final LongAdder remoteChecks = new LongAdder();
+    private final LongAdder shedded = new LongAdder();
+
+    public SharedNonceGuard(SharedNonceStore store, GatewayServiceAuthProperties properties) {
+        GatewayServiceAuthProperties.SharedNonce config = properties.getSharedNonce();
+        this.store = store;
+        this.nodeId = config.getNodeId();
+        this.skewMillis = properties.getAllowedClockSkewSeconds() * 1000L;
+        this.maxBatchSize = config.getMaxBatchSize();
+        this.maxPendingClaims = config.getMaxPendingClaims();
+        this.maxBatchDelay = config.getMaxBatchDelay();
+        this.knownClaims = new NonceReplayStore(
+                skewMillis,
+                properties.getNonceBucketSeconds() * 1000L,
+                properties.getNonceBucketCapacity()
+        );
+        // 버킷이 가득 차서 기록하지 못한 claim 은 저장소 확인으로 거절됩니다
+        this.feed = store.claimsFromOtherNodes(nodeId)
+                .subscribe(claim -> knownClaims.record(
+                        claim.fingerprint(), claim.expiresAtMillis() - skewMillis, System.currentTimeMillis()));
+    }
+
+    /**
+     * 공유 저장소가 nonce 를 이 노드의 claim 으로 기록하면 true, 이미 누군가 기록했으면 false.
+     * 큐가 가득 찼거나 저장소 요청이 실패하면 error
+     */
+    public Mono<Boolean> claim(NonceFingerprint fingerprint, long expiresAtMillis, long nowMillis) {
+        if (knownClaims.contains(fingerprint, expiresAtMillis - skewMillis, nowMillis)) {
+            knownDuplicates.increment();
+            return Mono.just(Boolean.FALSE);
+        }
+        NonceClaim claim = new NonceClaim(fingerprint, expiresAtMillis);
+        return Mono.create(sink -> {
+            remoteChecks.increment();
+            if (!enqueue(new PendingClaim(claim, sink))) {
+                sink.error(shed());
+            }
+        });
+    }
+
+    /**
+     * 다른 노드가 기록한 것으로 이미 알고 있어서 저장소 확인 없이 거절한 nonce 수
+     */
+    public long knownDuplicateCount() {
+        return knownDuplicates.sum();
+    }
+
+    public long remoteCheckCount() {
+        return remoteChecks.sum();
+    }
+
+    /**
+     * 배치 대기 큐가 가득 차서 거절한 claim 수
+     */
+    public long sheddedCount() {
+        return shedded.sum();
+    }
+
+    @Override
+    public void destroy() {
+        worker.dispose();
+        batchScheduler.dispose();
+        feed.dispose();
+    }
+
+    // event loop 에서 불립니다 - 큐에 넣고 worker 를 깨우기만 합니다
+    private boolean enqueue(PendingClaim claim) {
+        if (pendingCount.incrementAndGet() > maxPendingClaims) {
+            pendingCount.decrementAndGet();
+            return false;
+        }
+        pending.offer(claim);
+        signal();
+        return true;
+    }
+
+    private IllegalStateException shed() {
+        shedded.increment();
+        return new IllegalStateException("Shared nonce batch queue is full");
+    }
+
+    // drain 은 worker 에서 한 번에 하나만 돕니다 (work-in-progress 카운터)
+    private void signal() {
+        if (wip.getAndIncrement() == 0) {
+            schedule(this::drainLoop);
+        }
+    }
+
+    private void schedule(Runnable task) {
+        try {
+            worker.schedule(task);
+        } catch (RejectedExecutionException ex) {
+            // 종료 중 - 남은 claim 은 보내지 않습니다
+            log.debug("Shared nonce batcher is shut down");
+        }
+    }
+
+    private void drainLoop() {
+        int missed = 1;
+        do {
+            drain();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drain() {
+        if (flushing) {
+            return;
+        }
+        int queued = pendingCount.get();
+        if (queued == 0) {
+            batchDue = false;
+            return;
+        }
+        if (queued < maxBatchSize && !batchDue) {
+            // 첫 claim 부터 maxBatchDelay 동안 더 모읍니다
+            if (batchTimer == null) {
+                batchTimer = worker.schedule(() -> {
+                    batchTimer = null;
+                    batchDue = true;
+                    drainLoopOnce();
+                }, maxBatchDelay.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            return;
+        }
+        if (batchTimer != null) {
+            batchTimer.dispose();
+            batchTimer = null;
+        }
+        batchDue = false;
+        List<PendingClaim> batch = new ArrayList<>(Math.min(queued, maxBatchSize));
+        PendingClaim next;
+        while (batch.size() < maxBatchSize && (next = pending.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            // 카운터는 올렸지만 아직 큐에 넣지 않은 claim - 넣은 쪽이 다시 깨웁니다
+            return;
+        }
+        pendingCount.addAndGet(-batch.size());
+        flushing = true;
+        flush(batch)
+                .doFinally(signal -> schedule(() -> {
+                    flushing = false;
+                    // 저장소 요청 동안 쌓인 claim 은 이미 기다렸으므로 바로 보냅니다
+                    batchDue = true;
+                    drainLoopOnce();
+                }))
+                .subscribe();
+    }
+
+    private void drainLoopOnce() {
+        if (wip.getAndIncrement() == 0) {
+            drainLoop();
+        }
+    }
+
+    private Mono<Void> flush(List<PendingClaim> batch) {
+        List<NonceClaim> claims = new ArrayList<>(batch.size());
+        for (PendingClaim pendingClaim : batch) {
+            claims.add(pendingClaim.claim());
+        }
+        return Mono.defer(() -> store.claimAll(nodeId, claims))
+                .doOnNext(results -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        complete(batch.get(i), results.get(i));
+                    }
+                })
+                .doOnError(ex -> {
+                    log.warn("Shared nonce store batch failed (size={}): {}", batch.size(), ex.toString());
+                    for (PendingClaim pendingClaim : batch) {
+                        fail(pendingClaim, ex);
+                    }
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    private void complete(PendingClaim pendingClaim, boolean claimed) {
+        pendingClaim.sink().success(claimed);
+    }
+
+    private void fail(PendingClaim pendingClaim, Throwable ex) {
+        // 저장소가 확인해 주지 못한 nonce 는 거절합니다 (fail closed)
+        pendingClaim.sink().error(ex);
+    }
+
+    private record PendingClaim(NonceClaim claim, MonoSink<Boolean> sink) {
+    }
+}
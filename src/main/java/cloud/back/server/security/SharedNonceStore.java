@@ -0,0 +1,25 @@
+package cloud.back.server.security;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * gateway replica 들이 함께 쓰는 nonce 저장소 SPI
+ * - 구현체는 Redis, DB 등 원격 저장소를 감싸서 제공합니다.
+ * - 기본 구현은 {@link InMemorySharedNonceStore} (단일 노드 / 테스트용) 입니다.
+ */
+public interface SharedNonceStore {
+
+    /**
+     * claims 를 한 번에 기록합니다. 결과는 claims 와 같은 순서이며,
+     * 처음 기록된 nonce 는 true, 이미 누군가 기록한 nonce 는 false 입니다.
+     */
+    Mono<List<Boolean>> claimAll(String nodeId, List<NonceClaim> claims);
+
+    /**
+     * 다른 노드가 기록한 nonce 의 스트림. 각 노드가 이미 알려진 중복을 바로 거절하는 데 사용합니다.
+     */
+    Flux<NonceClaim> claimsFromOtherNodes(String nodeId);
+}
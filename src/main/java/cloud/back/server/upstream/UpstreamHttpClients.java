@@ -0,0 +1,174 @@
+package cloud.back.server.upstream;
+
+import cloud.back.server.config.UpstreamClientProperties;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.Http2AllocationStrategy;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.transport.ProxyProvider;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * upstream 서비스별 Reactor Netty 클라이언트
+ * - 서비스마다 이름이 upstream-{서비스 id} 인 ConnectionProvider 를 따로 두고, 풀 메트릭
+ *   (reactor.netty.connection.provider.* - active / idle / pending, h2c 는 active / pending streams) 을 켭니다.
+ * - h2c 서비스는 연결 하나에 maxConcurrentStreams 개의 요청을 multiplexing 합니다.
+ * - 연결 풀 설정을 뺀 나머지는 gateway 의 HttpClient 와 같게 만듭니다 (기본 netty-routing 필터를 꺼 두므로).
+ *   connect / response timeout, compression, wiretap, 응답 헤더 / 첫 줄 최대 크기, proxy, ssl (HttpClientSslConfigurer),
+ *   HttpClientCustomizer bean 순서입니다.
+ * - gateway httpclient 의 pool 설정은 쓰지 않고 서비스별 pool 설정 (gateway.upstream) 을 씁니다.
+ */
+@Component
+public class UpstreamHttpClients implements DisposableBean {
+
+    private final UpstreamClientProperties properties;
+    private final HttpClientProperties gatewayProperties;
+    private final HttpClientSslConfigurer sslConfigurer;
+    private final List<HttpClientCustomizer> customizers;
+    private final ConcurrentMap<String, Client> clients = new ConcurrentHashMap<>();
+
+    public UpstreamHttpClients(UpstreamClientProperties properties, HttpClientProperties gatewayProperties) {
+        this(properties, gatewayProperties, (HttpClientSslConfigurer) null, List.of());
+    }
+
+    @Autowired
+    public UpstreamHttpClients(UpstreamClientProperties properties,
+                               HttpClientProperties gatewayProperties,
+                               ObjectProvider<HttpClientSslConfigurer> sslConfigurer,
+                               ObjectProvider<HttpClientCustomizer> customizers) {
+        this(properties, gatewayProperties, sslConfigurer.getIfAvailable(), customizers.orderedStream().toList());
+    }
+
+    public UpstreamHttpClients(UpstreamClientProperties properties,
+                               HttpClientProperties gatewayProperties,
+                               HttpClientSslConfigurer sslConfigurer,
+                               List<HttpClientCustomizer> customizers) {
+        this.properties = properties;
+        this.gatewayProperties = gatewayProperties;
+        this.sslConfigurer = sslConfigurer;
+        this.customizers = customizers;
+    }
+
+    public HttpClient httpClient(String serviceId) {
+        return client(serviceId).httpClient();
+    }
+
+    /**
+     * 같은 연결 풀을 쓰는 WebClient (load balancing 없이 인스턴스 주소로 직접 호출할 때)
+     */
+    public WebClient webClient(String serviceId) {
+        return client(serviceId).webClient();
+    }
+
+    @Override
+    public void destroy() {
+        clients.values().forEach(client -> client.provider().dispose());
+        clients.clear();
+    }
+
+    private Client client(String serviceId) {
+        Client client = clients.get(serviceId);
+        if (client != null) {
+            return client;
+        }
+        return clients.computeIfAbsent(serviceId, this::create);
+    }
+
+    private Client create(String serviceId) {
+        UpstreamClientProperties.Pool pool = properties.poolFor(serviceId);
+        ConnectionProvider provider = connectionProvider(serviceId, pool);
+        HttpClient httpClient = configure(HttpClient.create(provider)
+                .protocol(pool.getProtocol() == UpstreamClientProperties.Protocol.H2C ? HttpProtocol.H2C : HttpProtocol.HTTP11));
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+        return new Client(provider, httpClient, webClient);
+    }
+
+    /**
+     * gateway HttpClient 설정 (spring.cloud.gateway.server.webflux.httpclient.*) 을 적용합니다
+     */
+    private HttpClient configure(HttpClient httpClient) {
+        HttpClientProperties gateway = gatewayProperties;
+        httpClient = httpClient
+                .compress(gateway.isCompression())
+                .httpResponseDecoder(spec -> {
+                    if (gateway.getMaxHeaderSize() != null) {
+                        spec.maxHeaderSize((int) gateway.getMaxHeaderSize().toBytes());
+                    }
+                    if (gateway.getMaxInitialLineLength() != null) {
+                        spec.maxInitialLineLength((int) gateway.getMaxInitialLineLength().toBytes());
+                    }
+                    return spec;
+                });
+        if (gateway.getConnectTimeout() != null) {
+            httpClient = httpClient.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, gateway.getConnectTimeout());
+        }
+        if (gateway.getResponseTimeout() != null) {
+            httpClient = httpClient.responseTimeout(gateway.getResponseTimeout());
+        }
+        if (gateway.isWiretap()) {
+            httpClient = httpClient.wiretap(true);
+        }
+        HttpClientProperties.Proxy proxy = gateway.getProxy();
+        if (StringUtils.hasText(proxy.getHost())) {
+            httpClient = httpClient.proxy(spec -> {
+                ProxyProvider.Builder builder = spec.type(proxy.getType()).host(proxy.getHost());
+                if (proxy.getPort() != null) {
+                    builder.port(proxy.getPort());
+                }
+                if (StringUtils.hasText(proxy.getUsername())) {
+                    builder.username(proxy.getUsername());
+                }
+                if (StringUtils.hasText(proxy.getPassword())) {
+                    builder.password(username -> proxy.getPassword());
+                }
+                if (StringUtils.hasText(proxy.getNonProxyHostsPattern())) {
+                    builder.nonProxyHosts(proxy.getNonProxyHostsPattern());
+                }
+            });
+        }
+        if (sslConfigurer != null) {
+            httpClient = sslConfigurer.configureSsl(httpClient);
+        }
+        for (HttpClientCustomizer customizer : customizers) {
+            httpClient = customizer.customize(httpClient);
+        }
+        return httpClient;
+    }
+
+    static ConnectionProvider connectionProvider(String serviceId, UpstreamClientProperties.Pool pool) {
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("upstream-" + serviceId)
+                .maxConnections(pool.getMaxConnections())
+                .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.getPendingAcquireTimeout())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .evictInBackground(pool.getEvictInBackground())
+                .metrics(true);
+        if (pool.getProtocol() == UpstreamClientProperties.Protocol.H2C) {
+            builder.allocationStrategy(Http2AllocationStrategy.builder()
+                    .maxConnections(pool.getMaxConnections())
+                    .maxConcurrentStreams(pool.getMaxConcurrentStreams())
+                    .build());
+        }
+        return builder.build();
+    }
+
+    private record Client(ConnectionProvider provider, HttpClient httpClient, WebClient webClient) {
+    }
+}
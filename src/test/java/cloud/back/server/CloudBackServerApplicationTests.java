@@ -1,15 +1,31 @@
 package cloud.back.server;
 
+import cloud.back.server.route.IndexedRoutePredicateHandlerMapping;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.gateway.handler.RoutePredicateHandlerMapping;
+import org.springframework.context.ApplicationContext;
 import org.springframework.test.context.ActiveProfiles;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 @SpringBootTest
 @ActiveProfiles("test")
 class CloudBackServerApplicationTests {
 
+    @Autowired
+    private ApplicationContext context;
+
     @Test
     void contextLoads() {
     }
 
+    @Test
+    void routeIndexShouldReplaceDefaultHandlerMapping() {
+        assertThat(context.getBeansOfType(RoutePredicateHandlerMapping.class).values())
+                .singleElement()
+                .isInstanceOf(IndexedRoutePredicateHandlerMapping.class);
+    }
+
 }
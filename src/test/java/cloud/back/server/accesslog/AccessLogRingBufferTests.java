@@ -0,0 +1,62 @@
+package cloud.back.server.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogRingBufferTests {
+
+    @Test
+    void failingHandlerShouldNotStallTheConsumer() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(4, 0);
+        for (int i = 0; i < ringBuffer.capacity(); i++) {
+            publish(ringBuffer, "/fail-" + i);
+        }
+        assertThat(ringBuffer.tryClaim()).isNegative();
+
+        int processed = ringBuffer.drain(event -> {
+            throw new IllegalStateException("appender failed");
+        }, 100);
+
+        // 실패한 항목도 소비한 것으로 보고 슬롯을 비웁니다
+        assertThat(processed).isEqualTo(ringBuffer.capacity());
+        assertThat(ringBuffer.failedCount()).isEqualTo(ringBuffer.capacity());
+        assertThat(ringBuffer.lastFailure()).hasMessage("appender failed");
+        assertThat(ringBuffer.pendingCount()).isZero();
+
+        publish(ringBuffer, "/ok");
+        List<String> written = new ArrayList<>();
+        ringBuffer.drain(event -> written.add(event.path), 100);
+        assertThat(written).containsExactly("/ok");
+        assertThat(ringBuffer.droppedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void failureShouldOnlySkipTheFailingEvent() {
+        AccessLogRingBuffer ringBuffer = new AccessLogRingBuffer(8, 0);
+        publish(ringBuffer, "/a");
+        publish(ringBuffer, "/boom");
+        publish(ringBuffer, "/b");
+
+        List<String> written = new ArrayList<>();
+        ringBuffer.drain(event -> {
+            if (event.path.equals("/boom")) {
+                throw new IllegalStateException("bad event");
+            }
+            written.add(event.path);
+        }, 100);
+
+        assertThat(written).containsExactly("/a", "/b");
+        assertThat(ringBuffer.failedCount()).isEqualTo(1);
+    }
+
+    private static void publish(AccessLogRingBuffer ringBuffer, String path) {
+        long sequence = ringBuffer.tryClaim();
+        assertThat(sequence).isNotNegative();
+        ringBuffer.get(sequence).set("GET", path, "route", 200, 0L, null, 0L, -1L);
+        ringBuffer.publish(sequence);
+    }
+}
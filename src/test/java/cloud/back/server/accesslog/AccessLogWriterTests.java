@@ -0,0 +1,29 @@
+package cloud.back.server.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessLogWriterTests {
+
+    @Test
+    void formatShouldEscapeClientControlledValues() {
+        AccessLogEvent event = new AccessLogEvent(2);
+        event.set("GET", "/api/muse/v1/home status=200\n", "muse-back-service-api", 404, 12L, null, 1_500_000L, -1L);
+        String[] values = event.headers(List.of("User-Agent", "X-Forwarded-For"));
+        values[0] = "curl\" admin=\"true\r\nmethod=GET path=/forged";
+        values[1] = "10.0.0.1\\\u2028";
+
+        StringBuilder line = new StringBuilder();
+        AccessLogWriter.format(event, line);
+
+        // 한 줄로 남고, 따옴표 밖에 클라이언트 값으로 만든 항목 (key=value) 이 생기지 않습니다
+        assertThat(line.toString()).doesNotContain("\n", "\r", "\u2028");
+        assertThat(line.toString()).isEqualTo("method=GET path=/api/muse/v1/home\\u0020status=200\\n"
+                + " route=muse-back-service-api status=404 bytes=12 upstream=- durationMs=1.500 ttfbMs=-"
+                + " User-Agent=\"curl\\\" admin=\\\"true\\r\\nmethod=GET path=/forged\""
+                + " X-Forwarded-For=\"10.0.0.1\\\\\\u2028\"");
+    }
+}
@@ -0,0 +1,99 @@
+package cloud.back.server.cache;
+
+import cloud.back.server.config.ResponseCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheStoreTests {
+
+    private static final byte[] BODY = "{\"contests\": []}".getBytes(StandardCharsets.UTF_8);
+
+    private final ResponseCacheStore store = new ResponseCacheStore(new ResponseCacheProperties());
+
+    @Test
+    void putShouldHonourMaxAgeAndStaleWhileRevalidate() {
+        long now = System.nanoTime();
+        HttpHeaders headers = headers("public, max-age=60, stale-while-revalidate=30");
+        headers.setETag("\"v1\"");
+        headers.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+
+        CachedResponse cached = store.put("/api/muse/v1/home", 200, headers, BODY, BODY.length, now);
+
+        assertThat(cached).isNotNull();
+        assertThat(store.get("/api/muse/v1/home")).isSameAs(cached);
+        assertThat(cached.body().isDirect()).isTrue();
+        assertThat(cached.body().remaining()).isEqualTo(BODY.length);
+        assertThat(cached.headers().containsHeader(HttpHeaders.TRANSFER_ENCODING)).isFalse();
+        assertThat(cached.isFresh(now + TimeUnit.SECONDS.toNanos(59))).isTrue();
+        assertThat(cached.isServableStale(now + TimeUnit.SECONDS.toNanos(61))).isTrue();
+        assertThat(cached.isServableStale(now + TimeUnit.SECONDS.toNanos(91))).isFalse();
+    }
+
+    @Test
+    void staleShouldBeServedOnlyWhenBackendAllowsIt() {
+        long now = System.nanoTime();
+        long afterFreshness = now + TimeUnit.SECONDS.toNanos(61);
+
+        CachedResponse withoutDirective = store.put("a", 200, headers("public, max-age=60"), BODY, BODY.length, now);
+        CachedResponse mustRevalidate = store.put("b", 200,
+                headers("public, max-age=60, must-revalidate, stale-while-revalidate=30"), BODY, BODY.length, now);
+        CachedResponse proxyRevalidate = store.put("c", 200,
+                headers("public, max-age=60, proxy-revalidate, stale-while-revalidate=30"), BODY, BODY.length, now);
+
+        assertThat(withoutDirective.isServableStale(afterFreshness)).isFalse();
+        assertThat(mustRevalidate.isServableStale(afterFreshness)).isFalse();
+        assertThat(proxyRevalidate.isServableStale(afterFreshness)).isFalse();
+    }
+
+    @Test
+    void putShouldSkipResponsesThatMustNotBeShared() {
+        long now = System.nanoTime();
+        HttpHeaders withCookie = headers("max-age=60");
+        withCookie.add(HttpHeaders.SET_COOKIE, "SESSION=abc");
+        HttpHeaders varyByUser = headers("max-age=60");
+        varyByUser.setVary(List.of("Authorization"));
+
+        assertThat(store.put("a", 200, headers("private, max-age=60"), BODY, BODY.length, now)).isNull();
+        assertThat(store.put("b", 200, headers("no-store"), BODY, BODY.length, now)).isNull();
+        assertThat(store.put("c", 200, headers(null), BODY, BODY.length, now)).isNull();
+        assertThat(store.put("d", 404, headers("max-age=60"), BODY, BODY.length, now)).isNull();
+        assertThat(store.put("e", 200, withCookie, BODY, BODY.length, now)).isNull();
+        assertThat(store.put("f", 200, varyByUser, BODY, BODY.length, now)).isNull();
+    }
+
+    @Test
+    void etagMatchesShouldUseWeakComparison() {
+        assertThat(CachedResponse.etagMatches("W/\"v1\"", "\"v1\"")).isTrue();
+        assertThat(CachedResponse.etagMatches("\"v0\", \"v1\"", "W/\"v1\"")).isTrue();
+        assertThat(CachedResponse.etagMatches("*", "\"v1\"")).isTrue();
+        assertThat(CachedResponse.etagMatches("\"v2\"", "\"v1\"")).isFalse();
+        assertThat(CachedResponse.etagMatches(null, "\"v1\"")).isFalse();
+    }
+
+    @Test
+    void parseShouldPreferSharedMaxAge() {
+        CacheDirectives directives = CacheDirectives.parse("public, max-age=10, s-maxage=120, stale-while-revalidate=\"5\"");
+
+        assertThat(directives.storable()).isTrue();
+        assertThat(directives.maxAgeSeconds()).isEqualTo(120);
+        assertThat(directives.staleWhileRevalidateSeconds()).isEqualTo(5);
+        assertThat(directives.staleServingSeconds()).isEqualTo(5);
+        assertThat(CacheDirectives.parse("max-age=10, stale-while-revalidate=5, Must-Revalidate").staleServingSeconds()).isZero();
+        assertThat(CacheDirectives.parse("max-age=10").staleServingSeconds()).isZero();
+    }
+
+    private static HttpHeaders headers(String cacheControl) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.CONTENT_TYPE, "application/json");
+        if (cacheControl != null) {
+            headers.setCacheControl(cacheControl);
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,100 @@
+package cloud.back.server.circuitbreaker;
+
+import cloud.back.server.config.CircuitBreakerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ServiceCircuitBreakerTests {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void breakerShouldOpenWhenFailureRateExceedsThreshold() {
+        ServiceCircuitBreaker breaker = new ServiceCircuitBreaker("muse-back-service", settings(10));
+        long now = TimeUnit.SECONDS.toNanos(1_000);
+
+        for (int i = 0; i < 4; i++) {
+            complete(breaker, now, false);
+        }
+        assertThat(breaker.state()).isEqualTo(ServiceCircuitBreaker.State.CLOSED);
+        for (int i = 0; i < 6; i++) {
+            complete(breaker, now, true);
+        }
+
+        assertThat(breaker.state()).isEqualTo(ServiceCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire(now)).isEqualTo(ServiceCircuitBreaker.Decision.REJECTED_OPEN);
+        assertThat(breaker.remainingOpenNanos(now)).isPositive();
+    }
+
+    @Test
+    void halfOpenProbesShouldCloseBreakerWhenTheySucceed() {
+        ServiceCircuitBreaker breaker = new ServiceCircuitBreaker("muse-back-service", settings(10));
+        long now = TimeUnit.SECONDS.toNanos(1_000);
+        for (int i = 0; i < 10; i++) {
+            complete(breaker, now, true);
+        }
+
+        long later = now + TimeUnit.SECONDS.toNanos(6);
+        ServiceCircuitBreaker.Decision first = breaker.tryAcquire(later);
+        ServiceCircuitBreaker.Decision second = breaker.tryAcquire(later);
+        assertThat(first).isEqualTo(ServiceCircuitBreaker.Decision.PROBE);
+        assertThat(second).isEqualTo(ServiceCircuitBreaker.Decision.PROBE);
+        assertThat(breaker.tryAcquire(later)).isEqualTo(ServiceCircuitBreaker.Decision.REJECTED_OPEN);
+
+        breaker.onComplete(first, MILLIS, false, later);
+        breaker.onComplete(second, MILLIS, false, later);
+        assertThat(breaker.state()).isEqualTo(ServiceCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedProbeShouldReopenBreaker() {
+        ServiceCircuitBreaker breaker = new ServiceCircuitBreaker("muse-back-service", settings(10));
+        long now = TimeUnit.SECONDS.toNanos(1_000);
+        for (int i = 0; i < 10; i++) {
+            complete(breaker, now, true);
+        }
+
+        long later = now + TimeUnit.SECONDS.toNanos(6);
+        ServiceCircuitBreaker.Decision probe = breaker.tryAcquire(later);
+        breaker.onComplete(probe, MILLIS, true, later);
+
+        assertThat(breaker.state()).isEqualTo(ServiceCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void bulkheadShouldRejectCallsOverTheLimit() {
+        ServiceCircuitBreaker breaker = new ServiceCircuitBreaker("muse-back-service", settings(2));
+        long now = TimeUnit.SECONDS.toNanos(1_000);
+
+        ServiceCircuitBreaker.Decision first = breaker.tryAcquire(now);
+        ServiceCircuitBreaker.Decision second = breaker.tryAcquire(now);
+        assertThat(breaker.tryAcquire(now)).isEqualTo(ServiceCircuitBreaker.Decision.REJECTED_BULKHEAD);
+
+        breaker.onCancel(first);
+        assertThat(breaker.tryAcquire(now)).isEqualTo(ServiceCircuitBreaker.Decision.PERMITTED);
+        breaker.onCancel(second);
+    }
+
+    private static void complete(ServiceCircuitBreaker breaker, long now, boolean failure) {
+        ServiceCircuitBreaker.Decision decision = breaker.tryAcquire(now);
+        assertThat(decision).isEqualTo(ServiceCircuitBreaker.Decision.PERMITTED);
+        breaker.onComplete(decision, MILLIS, failure, now);
+    }
+
+    private static CircuitBreakerProperties.Settings settings(int maxConcurrentCalls) {
+        CircuitBreakerProperties.Settings settings = new CircuitBreakerProperties.Settings();
+        settings.setWindowSeconds(10);
+        settings.setMinimumCalls(10);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallRateThreshold(100);
+        settings.setSlowCallDuration(Duration.ofSeconds(1));
+        settings.setWaitDurationInOpen(Duration.ofSeconds(5));
+        settings.setPermittedCallsInHalfOpen(2);
+        settings.setMaxConcurrentCalls(maxConcurrentCalls);
+        return settings;
+    }
+}
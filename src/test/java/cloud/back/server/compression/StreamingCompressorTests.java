@@ -0,0 +1,73 @@
+package cloud.back.server.compression;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingCompressorTests {
+
+    private final DefaultDataBufferFactory factory = DefaultDataBufferFactory.sharedInstance;
+    private final DeflaterPool pool = new DeflaterPool(6, 4);
+
+    @Test
+    void gzipStreamShouldRoundTripAcrossChunks() throws IOException {
+        String body = "{\"artworks\": [" + "{\"id\": 1, \"title\": \"untitled\"},".repeat(2_000) + "{}]}";
+
+        byte[] compressed = compress(ContentCoding.GZIP, body, 1_000);
+
+        assertThat(compressed.length).isLessThan(body.length() / 10);
+        assertThat(new String(new GZIPInputStream(new ByteArrayInputStream(compressed)).readAllBytes(), StandardCharsets.UTF_8))
+                .isEqualTo(body);
+    }
+
+    @Test
+    void deflateStreamShouldUseZlibFormat() throws IOException {
+        String body = "{\"gallery\": []}".repeat(100);
+
+        byte[] compressed = compress(ContentCoding.DEFLATE, body, 64);
+
+        InputStream inflated = new InflaterInputStream(new ByteArrayInputStream(compressed));
+        assertThat(new String(inflated.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    void negotiateShouldHonourQualityValues() {
+        assertThat(ContentCoding.negotiate("gzip, deflate, br")).isEqualTo(ContentCoding.GZIP);
+        assertThat(ContentCoding.negotiate("deflate, gzip;q=0.5")).isEqualTo(ContentCoding.DEFLATE);
+        assertThat(ContentCoding.negotiate("gzip;q=0, *;q=0.1")).isEqualTo(ContentCoding.DEFLATE);
+        assertThat(ContentCoding.negotiate("br")).isEqualTo(ContentCoding.IDENTITY);
+        assertThat(ContentCoding.negotiate(null)).isEqualTo(ContentCoding.IDENTITY);
+    }
+
+    private byte[] compress(ContentCoding coding, String body, int chunkSize) {
+        byte[] input = body.getBytes(StandardCharsets.UTF_8);
+        StreamingCompressor compressor = new StreamingCompressor(pool, coding);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int offset = 0; offset < input.length; offset += chunkSize) {
+            DataBuffer chunk = factory.wrap(Arrays.copyOfRange(input, offset, Math.min(input.length, offset + chunkSize)));
+            drain(compressor.compress(chunk, factory), out);
+        }
+        drain(compressor.finish(factory), out);
+        compressor.close();
+        return out.toByteArray();
+    }
+
+    private static void drain(DataBuffer buffer, ByteArrayOutputStream out) {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        out.writeBytes(bytes);
+        DataBufferUtils.release(buffer);
+    }
+}
@@ -0,0 +1,68 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.compression.ContentCoding;
+import cloud.back.server.compression.DeflaterPool;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressingResponseDecoratorTests {
+
+    private static final String BODY = "{\"artworks\": []}".repeat(200);
+
+    private final DeflaterPool pool = new DeflaterPool(6, 4);
+
+    @Test
+    void fullResponseShouldBeCompressed() {
+        MockServerHttpResponse response = response(HttpStatus.OK);
+
+        write(response);
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    }
+
+    @Test
+    void partialContentShouldNotBeCompressed() {
+        MockServerHttpResponse response = response(HttpStatus.PARTIAL_CONTENT);
+
+        write(response);
+
+        assertThat(response.getHeaders().containsHeader(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(response.getBodyAsString().block(Duration.ofSeconds(5))).isEqualTo(BODY);
+    }
+
+    @Test
+    void contentRangeShouldNotBeCompressed() {
+        MockServerHttpResponse response = response(HttpStatus.OK);
+        response.getHeaders().set(HttpHeaders.CONTENT_RANGE, "bytes 0-" + (BODY.length() - 1) + "/" + BODY.length());
+
+        write(response);
+
+        assertThat(response.getHeaders().containsHeader(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(response.getBodyAsString().block(Duration.ofSeconds(5))).isEqualTo(BODY);
+    }
+
+    private static MockServerHttpResponse response(HttpStatus status) {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response;
+    }
+
+    private void write(MockServerHttpResponse response) {
+        CompressingResponseDecorator decorator =
+                new CompressingResponseDecorator(response, ContentCoding.GZIP, pool, 1024, List.of());
+        decorator.writeWith(Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(BODY.getBytes(StandardCharsets.UTF_8))))
+                .block(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,233 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.config.HedgingProperties;
+import cloud.back.server.config.LoadBalancerStrategyProperties;
+import cloud.back.server.config.UpstreamClientProperties;
+import cloud.back.server.loadbalancer.InstanceLoadTracker;
+import cloud.back.server.metrics.GatewayRouteMetrics;
+import cloud.back.server.upstream.UpstreamHttpClients;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class HedgingFilterTests {
+
+    private static final String SERVICE = "zeroq-back-service";
+    private static final Route ROUTE = Route.async()
+            .id("zeroq-back-service-api")
+            .uri("lb://" + SERVICE)
+            .predicate(exchange -> true)
+            .build();
+    private static final int LARGE_SIZE = 2 * 1024 * 1024;
+    private static final int CHUNK_SIZE = 256 * 1024;
+    private static final GatewayFilterChain NOT_ROUTED =
+            exchange -> Mono.error(new AssertionError("request went past the hedging filter"));
+
+    private final GatewayRouteMetrics routeMetrics = new GatewayRouteMetrics(new SimpleMeterRegistry());
+    private final UpstreamHttpClients upstreamClients =
+            new UpstreamHttpClients(new UpstreamClientProperties(), new HttpClientProperties());
+    private final List<DisposableServer> servers = new ArrayList<>();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        upstreamClients.destroy();
+        servers.forEach(DisposableServer::disposeNow);
+    }
+
+    @Test
+    void smallResponseShouldBeBufferedAndWritten() {
+        HedgingFilter filter = filter(Duration.ofSeconds(2), instance("a", Duration.ZERO), instance("b", Duration.ZERO));
+        MockServerWebExchange exchange = exchange("/api/zeroq/v1/small");
+
+        filter.filter(exchange, NOT_ROUTED).block(Duration.ofSeconds(10));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("{\"instance\": \"a\"}");
+        assertThat(filter.streamedCount()).isZero();
+    }
+
+    @Test
+    void oversizedResponseShouldStreamFirstAttempt() {
+        HedgingFilter filter = filter(Duration.ofSeconds(2), instance("a", Duration.ZERO), instance("b", Duration.ZERO));
+        MockServerWebExchange exchange = exchange("/api/zeroq/v1/large");
+
+        filter.filter(exchange, NOT_ROUTED).block(Duration.ofSeconds(10));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getContentLength()).isEqualTo(LARGE_SIZE);
+        assertThat(bodySize(exchange)).isEqualTo(LARGE_SIZE);
+        assertThat(filter.streamedCount()).isEqualTo(1);
+        assertThat(upstreamCalls).hasValue(1);
+    }
+
+    @Test
+    void chunkedResponseShouldStreamFirstAttempt() {
+        HedgingFilter filter = filter(Duration.ofSeconds(2), instance("a", Duration.ZERO), instance("b", Duration.ZERO));
+        MockServerWebExchange exchange = exchange("/api/zeroq/v1/chunked");
+
+        filter.filter(exchange, NOT_ROUTED).block(Duration.ofSeconds(10));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(bodySize(exchange)).isEqualTo(LARGE_SIZE);
+        assertThat(filter.streamedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void hedgeShouldWinWhenFirstAttemptIsSlow() {
+        HedgingFilter filter = filter(Duration.ofMillis(20),
+                instance("slow", Duration.ofMillis(500)), instance("fast", Duration.ZERO));
+        MockServerWebExchange exchange = exchange("/api/zeroq/v1/small");
+
+        filter.filter(exchange, NOT_ROUTED).block(Duration.ofSeconds(10));
+
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("{\"instance\": \"fast\"}");
+        assertThat(filter.hedgedCount()).isEqualTo(1);
+        assertThat(filter.hedgeWinCount()).isEqualTo(1);
+        assertUpstream(exchange, "fast");
+    }
+
+    @Test
+    void firstAttemptShouldBeRecordedAsUpstream() {
+        HedgingFilter filter = filter(Duration.ofSeconds(2), instance("a", Duration.ZERO), instance("b", Duration.ZERO));
+        MockServerWebExchange exchange = exchange("/api/zeroq/v1/large");
+
+        filter.filter(exchange, NOT_ROUTED).block(Duration.ofSeconds(10));
+
+        assertUpstream(exchange, "a");
+    }
+
+    @Test
+    void oversizedHedgeShouldGiveWayToFirstAttempt() {
+        HedgingFilter filter = filter(Duration.ofMillis(20),
+                instance("slow", Duration.ofMillis(300)), instance("fast", Duration.ZERO));
+        MockServerWebExchange exchange = exchange("/api/zeroq/v1/large");
+
+        filter.filter(exchange, NOT_ROUTED).block(Duration.ofSeconds(10));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Instance")).isEqualTo("slow");
+        assertThat(bodySize(exchange)).isEqualTo(LARGE_SIZE);
+        assertThat(filter.hedgedCount()).isEqualTo(1);
+        assertThat(filter.hedgeWinCount()).isZero();
+    }
+
+    @SuppressWarnings("unchecked")
+    private HedgingFilter filter(Duration hedgeDelay, ServiceInstance... instances) {
+        HedgingProperties properties = new HedgingProperties();
+        properties.setRoutes(Set.of(ROUTE.getId()));
+        properties.setMinSamples(1);
+        properties.setMinDelay(hedgeDelay);
+        properties.setMaxDelay(hedgeDelay);
+        properties.setBudgetRatio(1.0);
+        properties.setMaximumBodySize(DataSize.ofMegabytes(1));
+        routeMetrics.meters(ROUTE).record(TimeUnit.MILLISECONDS.toNanos(1), 200, false);
+
+        // 첫 시도는 첫 번째 인스턴스, hedge 는 그다음 인스턴스
+        AtomicInteger next = new AtomicInteger();
+        ReactorServiceInstanceLoadBalancer loadBalancer = request -> Mono.<Response<ServiceInstance>>just(
+                new DefaultResponse(instances[Math.floorMod(next.getAndIncrement(), instances.length)]));
+        LoadBalancerClientFactory clientFactory = mock(LoadBalancerClientFactory.class);
+        when(clientFactory.getInstance(SERVICE, ReactorServiceInstanceLoadBalancer.class)).thenReturn(loadBalancer);
+
+        return new HedgingFilter(properties, routeMetrics, clientFactory,
+                new InstanceLoadTracker(new LoadBalancerStrategyProperties()), upstreamClients,
+                mock(ObjectProvider.class));
+    }
+
+    private ServiceInstance instance(String name, Duration delay) {
+        DisposableServer server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> {
+                    upstreamCalls.incrementAndGet();
+                    response.header("X-Instance", name);
+                    return Mono.delay(delay).then(Mono.defer(() -> {
+                        if (request.uri().endsWith("/large")) {
+                            return response.header(HttpHeaders.CONTENT_LENGTH, Integer.toString(LARGE_SIZE))
+                                    .sendByteArray(Mono.just(new byte[LARGE_SIZE]))
+                                    .then();
+                        }
+                        if (request.uri().endsWith("/chunked")) {
+                            return response.sendByteArray(Flux.range(0, LARGE_SIZE / CHUNK_SIZE).map(i -> new byte[CHUNK_SIZE]))
+                                    .then();
+                        }
+                        byte[] body = ("{\"instance\": \"" + name + "\"}").getBytes(StandardCharsets.UTF_8);
+                        return response.header(HttpHeaders.CONTENT_LENGTH, Integer.toString(body.length))
+                                .sendByteArray(Mono.just(body))
+                                .then();
+                    }));
+                })
+                .bindNow();
+        servers.add(server);
+        return new DefaultServiceInstance(name, SERVICE, "127.0.0.1", server.port(), false);
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, ROUTE);
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, URI.create("lb://" + SERVICE + path));
+        return exchange;
+    }
+
+    /**
+     * 응답한 인스턴스가 GATEWAY_REQUEST_URL_ATTR / GATEWAY_LOADBALANCER_RESPONSE_ATTR 로 남아야 합니다 (AccessLogFilter 의 upstream)
+     */
+    private static void assertUpstream(MockServerWebExchange exchange, String instanceId) {
+        Response<ServiceInstance> selected = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        assertThat(selected).isNotNull();
+        assertThat(selected.getServer().getInstanceId()).isEqualTo(instanceId);
+        URI upstream = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        assertThat(upstream).isNotNull();
+        assertThat(upstream.getScheme()).isEqualTo("http");
+        assertThat(upstream.getPort()).isEqualTo(selected.getServer().getPort());
+        assertThat(upstream.getPath()).isEqualTo(exchange.getRequest().getPath().value());
+    }
+
+    private static int bodySize(MockServerWebExchange exchange) {
+        return DataBufferUtils.join(exchange.getResponse().getBody())
+                .map(buffer -> {
+                    int size = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return size;
+                })
+                .defaultIfEmpty(0)
+                .block(Duration.ofSeconds(10));
+    }
+}
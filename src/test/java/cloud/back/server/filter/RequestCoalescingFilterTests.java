@@ -0,0 +1,146 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.config.RequestCoalescingProperties;
+import cloud.back.server.config.SecurityConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class RequestCoalescingFilterTests {
+
+    private static final Route MUSE_ROUTE = Route.async()
+            .id("muse-back-service-api")
+            .uri("lb://muse-back-service")
+            .predicate(exchange -> true)
+            .build();
+
+    private final Sinks.Empty<Void> upstreamGate = Sinks.empty();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @Test
+    void concurrentIdenticalRequestsShouldShareOneUpstreamCall() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties(Duration.ofSeconds(5)));
+        MockServerWebExchange leader = exchange("/api/muse/v1/contests/7");
+        MockServerWebExchange follower = exchange("/api/muse/v1/contests/7");
+
+        Mono<Void> leading = filter.filter(leader, upstream());
+        Mono<Void> following = filter.filter(follower, upstream());
+        Mono.when(leading, following, Mono.fromRunnable(upstreamGate::tryEmitEmpty)).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("{\"id\": 7}");
+        assertThat(follower.getResponse().getHeaders().getFirst(RequestCoalescingFilter.COALESCED_HEADER)).isEqualTo("true");
+        assertThat(filter.followerCount()).isEqualTo(1);
+    }
+
+    @Test
+    void followerShouldCallUpstreamItselfAfterMaxWait() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties(Duration.ofMillis(50)));
+        MockServerWebExchange leader = exchange("/api/muse/v1/contests/7");
+        MockServerWebExchange follower = exchange("/api/muse/v1/contests/7");
+        upstreamGate.tryEmitEmpty();
+
+        filter.filter(leader, exchange -> Mono.never()).subscribe();
+        filter.filter(follower, upstream()).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(filter.fallbackCount()).isEqualTo(1);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("{\"id\": 7}");
+    }
+
+    @Test
+    void requestAfterLeaderFinishedShouldStartNewUpstreamCall() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties(Duration.ofSeconds(5)));
+        upstreamGate.tryEmitEmpty();
+
+        filter.filter(exchange("/api/muse/v1/contests/7"), upstream()).block(Duration.ofSeconds(5));
+        filter.filter(exchange("/api/muse/v1/contests/7"), upstream()).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(filter.followerCount()).isZero();
+    }
+
+    @Test
+    void requestsWithDifferentVaryHeadersShouldNotBeCoalesced() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties(Duration.ofSeconds(5)));
+        MockServerWebExchange korean = exchange(MockServerHttpRequest.get("/api/muse/v1/home").header("Accept-Language", "ko"));
+        MockServerWebExchange english = exchange(MockServerHttpRequest.get("/api/muse/v1/home").header("Accept-Language", "en"));
+
+        Mono.when(filter.filter(korean, upstream()), filter.filter(english, upstream()),
+                Mono.fromRunnable(upstreamGate::tryEmitEmpty)).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(2);
+    }
+
+    @Test
+    void followerFromOtherOriginShouldKeepItsOwnCorsHeaders() {
+        RequestCoalescingFilter filter = new RequestCoalescingFilter(properties(Duration.ofSeconds(5)));
+        CorsWebFilter cors = new CorsWebFilter(new SecurityConfiguration().corsConfigurationSource());
+        MockServerWebExchange leader = exchange(MockServerHttpRequest.get("http://gateway.local/api/muse/v1/home")
+                .header(HttpHeaders.ORIGIN, "http://localhost:3000"));
+        MockServerWebExchange follower = exchange(MockServerHttpRequest.get("http://gateway.local/api/muse/v1/home")
+                .header(HttpHeaders.ORIGIN, "http://localhost:3001"));
+
+        Mono<Void> leading = cors.filter(leader, exchange -> {
+            exchange.getResponse().getHeaders().set("RateLimit-Remaining", "100");
+            return filter.filter(exchange, upstream());
+        });
+        Mono<Void> following = cors.filter(follower, exchange -> {
+            exchange.getResponse().getHeaders().set("RateLimit-Remaining", "99");
+            return filter.filter(exchange, upstream());
+        });
+        Mono.when(leading, following, Mono.fromRunnable(upstreamGate::tryEmitEmpty)).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(1);
+        HttpHeaders headers = follower.getResponse().getHeaders();
+        assertThat(headers.getFirst(RequestCoalescingFilter.COALESCED_HEADER)).isEqualTo("true");
+        assertThat(headers.get(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).containsExactly("http://localhost:3001");
+        assertThat(headers.getVary()).contains(HttpHeaders.ORIGIN);
+        assertThat(headers.getFirst("RateLimit-Remaining")).isEqualTo("99");
+        assertThat(leader.getResponse().getHeaders().getAccessControlAllowOrigin()).isEqualTo("http://localhost:3000");
+    }
+
+    private GatewayFilterChain upstream() {
+        return exchange -> upstreamGate.asMono().then(Mono.defer(() -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            byte[] body = "{\"id\": 7}".getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }));
+    }
+
+    private static RequestCoalescingProperties properties(Duration maxWait) {
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setRoutes(Set.of("muse-back-service-api"));
+        properties.setMaxWait(maxWait);
+        return properties;
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return exchange(MockServerHttpRequest.get(path));
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, MUSE_ROUTE);
+        return exchange;
+    }
+}
@@ -0,0 +1,242 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.cache.CachedResponse;
+import cloud.back.server.cache.ResponseCacheStore;
+import cloud.back.server.config.CompressionProperties;
+import cloud.back.server.config.ResponseCacheProperties;
+import cloud.back.server.config.SecurityConfiguration;
+import cloud.back.server.config.UpstreamClientProperties;
+import cloud.back.server.upstream.UpstreamHttpClients;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class ResponseCacheFilterTests {
+
+    private static final String URL = "http://gateway.local/api/muse/v1/home";
+    private static final String FIRST_ORIGIN = "http://localhost:3000";
+    private static final String SECOND_ORIGIN = "http://localhost:3001";
+    private static final Route MUSE_ROUTE = Route.async()
+            .id("muse-back-service-api")
+            .uri("lb://muse-back-service")
+            .predicate(exchange -> true)
+            .build();
+    // 압축 최소 크기 (1KB) 를 넘는 본문
+    private static final String LARGE_BODY = "{\"contests\": [" + "{\"id\": 7, \"title\": \"muse\"},".repeat(100) + "{}]}";
+
+    // 운영과 같은 CORS 설정 (공개 체인의 .cors(...) 와 같은 처리)
+    private final CorsWebFilter cors = new CorsWebFilter(new SecurityConfiguration().corsConfigurationSource());
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final UpstreamHttpClients upstreamClients =
+            new UpstreamHttpClients(new UpstreamClientProperties(), new HttpClientProperties());
+    private final LoadBalancerClientFactory clientFactory = mock(LoadBalancerClientFactory.class);
+    private final ResponseCacheStore store = new ResponseCacheStore(properties());
+
+    @AfterEach
+    void tearDown() {
+        upstreamClients.destroy();
+    }
+
+    @Test
+    void secondOriginShouldHitEntryCachedBehindCors() {
+        ResponseCacheFilter filter = filter();
+        MockServerWebExchange first = exchange(FIRST_ORIGIN);
+        MockServerWebExchange second = exchange(SECOND_ORIGIN);
+
+        run(filter, first);
+        run(filter, second);
+
+        assertThat(upstreamCalls).hasValue(1);
+        HttpHeaders headers = second.getResponse().getHeaders();
+        assertThat(headers.getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(headers.getAccessControlAllowOrigin()).isEqualTo(SECOND_ORIGIN);
+        assertThat(headers.get(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN)).hasSize(1);
+        assertThat(headers.getVary()).containsOnlyOnce(HttpHeaders.ORIGIN);
+        assertThat(headers.getFirst("RateLimit-Remaining")).isEqualTo("99");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("{\"contests\": []}");
+    }
+
+    @Test
+    void requestWithCookieShouldBypassCache() {
+        ResponseCacheFilter filter = filter();
+        MockServerWebExchange anonymous = exchange(FIRST_ORIGIN);
+        MockServerWebExchange withCookie = MockServerWebExchange.from(MockServerHttpRequest.get(URL)
+                .header(HttpHeaders.ORIGIN, FIRST_ORIGIN)
+                .header(HttpHeaders.COOKIE, "SESSION=abc"));
+
+        run(filter, anonymous);
+        run(filter, withCookie);
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(withCookie.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isNull();
+    }
+
+    @Test
+    void compressedResponseShouldBeServedFromCacheBehindCors() {
+        ResponseCacheFilter filter = filter();
+        CompressionProperties compressionProperties = new CompressionProperties();
+        compressionProperties.setRoutes(Set.of(MUSE_ROUTE.getId()));
+        CompressionFilter compression = new CompressionFilter(compressionProperties);
+        GatewayFilterChain compressed = exchange -> compression.filter(exchange, upstream(LARGE_BODY));
+        MockServerWebExchange first = gzipExchange(FIRST_ORIGIN);
+        MockServerWebExchange second = gzipExchange(SECOND_ORIGIN);
+
+        cors.filter(first, exchange -> filter.filter(exchange, compressed)).block(Duration.ofSeconds(5));
+        cors.filter(second, exchange -> filter.filter(exchange, compressed)).block(Duration.ofSeconds(5));
+
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(first.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        HttpHeaders headers = second.getResponse().getHeaders();
+        assertThat(headers.getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("HIT");
+        assertThat(headers.getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(headers.getVary()).contains(HttpHeaders.ORIGIN, HttpHeaders.ACCEPT_ENCODING);
+        assertThat(headers.getAccessControlAllowOrigin()).isEqualTo(SECOND_ORIGIN);
+        assertThat(gunzip(second)).isEqualTo(LARGE_BODY);
+    }
+
+    @Test
+    void staleEntryShouldBeRevalidatedThroughTheServiceConnectionPool() throws InterruptedException {
+        AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+        DisposableServer server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .handle((request, response) -> {
+                    ifNoneMatch.set(request.requestHeaders().get(HttpHeaders.IF_NONE_MATCH));
+                    return response.status(HttpStatus.NOT_MODIFIED.value())
+                            .header(HttpHeaders.CACHE_CONTROL, "public, max-age=60")
+                            .send();
+                })
+                .bindNow();
+        try {
+            ServiceInstance instance = new DefaultServiceInstance("muse-1", "muse-back-service", "127.0.0.1", server.port(), false);
+            ReactorServiceInstanceLoadBalancer loadBalancer =
+                    request -> Mono.<Response<ServiceInstance>>just(new DefaultResponse(instance));
+            when(clientFactory.getInstance("muse-back-service", ReactorServiceInstanceLoadBalancer.class)).thenReturn(loadBalancer);
+            HttpHeaders cachedHeaders = new HttpHeaders();
+            cachedHeaders.setContentType(MediaType.APPLICATION_JSON);
+            cachedHeaders.setCacheControl("public, max-age=1, stale-while-revalidate=30");
+            cachedHeaders.setETag("\"v1\"");
+            byte[] body = "{\"contests\": []}".getBytes(StandardCharsets.UTF_8);
+            // 신선 기간 (1초) 이 지난 항목
+            store.put("/api/muse/v1/home", 200, cachedHeaders, body, body.length, System.nanoTime() - TimeUnit.SECONDS.toNanos(2));
+            MockServerWebExchange exchange = exchange(FIRST_ORIGIN);
+            exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, MUSE_ROUTE);
+
+            run(filter(), exchange);
+
+            assertThat(exchange.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER)).isEqualTo("STALE");
+            assertThat(upstreamCalls).hasValue(0);
+            long deadline = System.currentTimeMillis() + 5_000L;
+            CachedResponse refreshed = store.get("/api/muse/v1/home");
+            while ((refreshed == null || !refreshed.isFresh(System.nanoTime())) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10L);
+                refreshed = store.get("/api/muse/v1/home");
+            }
+            assertThat(refreshed).isNotNull();
+            assertThat(refreshed.isFresh(System.nanoTime())).isTrue();
+            assertThat(ifNoneMatch.get()).isEqualTo("\"v1\"");
+            assertThat(store.revalidationCount()).isEqualTo(1);
+        } finally {
+            server.disposeNow();
+        }
+    }
+
+    private ResponseCacheFilter filter() {
+        return new ResponseCacheFilter(properties(), store, clientFactory, upstreamClients);
+    }
+
+    private static ResponseCacheProperties properties() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setPaths(List.of("/api/muse/v1/home"));
+        return properties;
+    }
+
+    // CORS 처리 (WebFilter) -> rate limit 헤더 -> 응답 캐시 -> backend 순서로 실행합니다
+    private void run(ResponseCacheFilter filter, MockServerWebExchange exchange) {
+        cors.filter(exchange, corsed -> {
+            // RateLimitFilter 처럼 요청마다 남은 한도를 붙입니다
+            corsed.getResponse().getHeaders().set("RateLimit-Remaining", upstreamCalls.get() == 0 ? "100" : "99");
+            return filter.filter(corsed, upstream());
+        }).block(Duration.ofSeconds(5));
+    }
+
+    private GatewayFilterChain upstream() {
+        return upstream("{\"contests\": []}");
+    }
+
+    private GatewayFilterChain upstream(String content) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            response.getHeaders().setCacheControl("public, max-age=60");
+            byte[] body = content.getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    private static MockServerWebExchange exchange(String origin) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(URL).header(HttpHeaders.ORIGIN, origin));
+    }
+
+    private static MockServerWebExchange gzipExchange(String origin) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(URL)
+                .header(HttpHeaders.ORIGIN, origin)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, MUSE_ROUTE);
+        return exchange;
+    }
+
+    private static String gunzip(MockServerWebExchange exchange) {
+        byte[] compressed = DataBufferUtils.join(exchange.getResponse().getBody())
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .block(Duration.ofSeconds(5));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package cloud.back.server.filter;
+
+import cloud.back.server.security.GatewayServiceAuthenticationToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserHeaderFilterTests {
+
+    private final UserHeaderFilter filter = new UserHeaderFilter();
+
+    @Test
+    void jwtHeadersShouldReplaceClientSuppliedValues() {
+        Jwt jwt = jwt();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/muse/v1/albums")
+                .header("X-User-Key", "U-spoofed")
+                .header("Accept", "application/json"));
+
+        HttpHeaders forwarded = forward(exchange, new JwtAuthenticationToken(jwt)).getRequest().getHeaders();
+
+        assertThat(forwarded.get("X-User-Key")).containsExactly("U-1234567890");
+        assertThat(forwarded.getFirst("X-User-Name")).isEqualTo("%ED%99%8D%EA%B8%B8%EB%8F%99");
+        assertThat(forwarded.getFirst("X-User-Role")).isEqualTo("USER");
+        assertThat(forwarded.getFirst("Accept")).isEqualTo("application/json");
+        assertThat((String) exchange.getAttribute(UserHeaderFilter.USER_KEY_ATTR)).isEqualTo("U-1234567890");
+    }
+
+    @Test
+    void derivedHeadersShouldBeBuiltOncePerPrincipal() {
+        Jwt jwt = jwt();
+        Authentication gateway = GatewayServiceAuthenticationToken.authenticated(
+                "GW-STORE-001", "POST", "/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat",
+                "1760000000000", "nonce", "signature"
+        );
+        Authentication sameGateway = GatewayServiceAuthenticationToken.authenticated(
+                "GW-STORE-001", "POST", "/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat",
+                "1760000000001", "nonce-2", "signature"
+        );
+
+        assertThat(filter.userHeaders(new JwtAuthenticationToken(jwt)))
+                .isSameAs(filter.userHeaders(new JwtAuthenticationToken(jwt)));
+        assertThat(filter.userHeaders(gateway)).isSameAs(filter.userHeaders(sameGateway));
+        assertThat(filter.userHeaders(gateway).headers().getFirst("X-Gateway-Id")).isEqualTo("GW-STORE-001");
+    }
+
+    private ServerWebExchange forward(ServerWebExchange exchange, Authentication authentication) {
+        AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+        filter.filter(exchange, mutated -> {
+                    forwarded.set(mutated);
+                    return Mono.empty();
+                })
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication))
+                .block();
+        return forwarded.get();
+    }
+
+    private static Jwt jwt() {
+        return Jwt.withTokenValue("token")
+                .header("alg", "HS512")
+                .subject("홍길동")
+                .claim("userKey", "U-1234567890")
+                .claim("role", "USER")
+                .issuedAt(Instant.now())
+                .expiresAt(Instant.now().plusSeconds(3600))
+                .build();
+    }
+}
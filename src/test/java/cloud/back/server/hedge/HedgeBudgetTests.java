@@ -0,0 +1,36 @@
+package cloud.back.server.hedge;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgeBudgetTests {
+
+    @Test
+    void tryWithdrawShouldAllowOneHedgePerTwentyRequestsAtFivePercent() {
+        HedgeBudget budget = new HedgeBudget(0.05, 10);
+
+        int allowed = 0;
+        for (int i = 0; i < 1_000; i++) {
+            budget.deposit();
+            if (budget.tryWithdraw()) {
+                allowed++;
+            }
+        }
+
+        assertThat(allowed).isEqualTo(50);
+    }
+
+    @Test
+    void depositShouldStopAtBurst() {
+        HedgeBudget budget = new HedgeBudget(0.5, 3);
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isTrue();
+        assertThat(budget.tryWithdraw()).isFalse();
+    }
+}
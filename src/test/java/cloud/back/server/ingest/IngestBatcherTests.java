@@ -0,0 +1,95 @@
+package cloud.back.server.ingest;
+
+import cloud.back.server.config.IngestBatchingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestBatcherTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<Integer> sentBatches = new CopyOnWriteArrayList<>();
+
+    @Test
+    void offerShouldFlushWhenBatchIsFullAndTickShouldFlushTheRest() {
+        IngestBatcher batcher = new IngestBatcher("heartbeat", batch(4, 100, 1), (body, records) -> {
+            sentBatches.add(records);
+            return Mono.empty();
+        }, registry);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(batcher.offer(record("GW-STORE-" + i))).isTrue();
+        }
+        assertThat(sentBatches).containsExactly(4);
+        assertThat(batcher.bufferedCount()).isEqualTo(2);
+
+        batcher.tick();
+
+        assertThat(sentBatches).containsExactly(4, 2);
+        assertThat(registry.get("gateway.ingest.records").tag("result", "flushed").counter().count()).isEqualTo(6.0);
+        assertThat(registry.get("gateway.ingest.batch.size").summary().count()).isEqualTo(2);
+    }
+
+    @Test
+    void offerShouldRejectWhenBufferIsFull() {
+        // upstream 이 응답하지 않아 flush 슬롯이 모두 막힌 상태
+        IngestBatcher batcher = new IngestBatcher("heartbeat", batch(2, 4, 1), (body, records) -> Mono.never(), registry);
+
+        for (int i = 0; i < 6; i++) {
+            assertThat(batcher.offer(record("GW-STORE-" + i))).isTrue();
+        }
+
+        assertThat(batcher.offer(record("GW-STORE-6"))).isFalse();
+        assertThat(registry.get("gateway.ingest.records").tag("result", "rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void encodeShouldEmbedPayloadsAsJson() {
+        byte[] body = IngestBatcher.encode(List.of(
+                new IngestRecord("GW-\"1\"", "/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat", 1_760_000_000_000L,
+                        "{\"temperature\": 21.5}".getBytes(StandardCharsets.UTF_8)),
+                record("GW-2")
+        ));
+
+        assertThat(new String(body, StandardCharsets.UTF_8)).isEqualTo(
+                "[{\"gatewayId\":\"GW-\\\"1\\\"\",\"path\":\"/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat\","
+                        + "\"receivedAt\":1760000000000,\"payload\":{\"temperature\": 21.5}},"
+                        + "{\"gatewayId\":\"GW-2\",\"path\":\"/ingest\",\"receivedAt\":1,\"payload\":{}}]");
+    }
+
+    @Test
+    void isJsonValueShouldAcceptOnlyASingleJsonValue() {
+        assertThat(IngestBatcher.isJsonValue(bytes("{\"temperature\": 21.5, \"tags\": [1, 2]}"))).isTrue();
+        assertThat(IngestBatcher.isJsonValue(bytes(" [1, {\"a\": null}] \n"))).isTrue();
+        assertThat(IngestBatcher.isJsonValue(bytes("42"))).isTrue();
+
+        assertThat(IngestBatcher.isJsonValue(bytes(""))).isFalse();
+        assertThat(IngestBatcher.isJsonValue(bytes("{\"temperature\": 21.5"))).isFalse();
+        assertThat(IngestBatcher.isJsonValue(bytes("{\"a\": 1}, {\"b\": 2}"))).isFalse();
+        assertThat(IngestBatcher.isJsonValue(bytes("{} {}"))).isFalse();
+        assertThat(IngestBatcher.isJsonValue(bytes("temperature=21.5"))).isFalse();
+        assertThat(IngestBatcher.isJsonValue(bytes("]"))).isFalse();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static IngestRecord record(String gatewayId) {
+        return new IngestRecord(gatewayId, "/ingest", 1L, "{}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static IngestBatchingProperties.Batch batch(int maxBatchSize, int bufferCapacity, int maxConcurrentFlushes) {
+        IngestBatchingProperties.Batch batch = new IngestBatchingProperties.Batch();
+        batch.setMaxBatchSize(maxBatchSize);
+        batch.setBufferCapacity(bufferCapacity);
+        batch.setMaxConcurrentFlushes(maxConcurrentFlushes);
+        return batch;
+    }
+}
@@ -0,0 +1,52 @@
+package cloud.back.server.loadbalancer;
+
+import cloud.back.server.config.LoadBalancerStrategyProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PeakEwmaLoadBalancerTests {
+
+    private final InstanceLoadTracker tracker = new InstanceLoadTracker(new LoadBalancerStrategyProperties());
+    private final PeakEwmaLoadBalancer loadBalancer = new PeakEwmaLoadBalancer(null, "zeroq-back-service", tracker);
+
+    private final ServiceInstance healthy = instance("zeroq-1", 8081);
+    private final ServiceInstance paused = instance("zeroq-2", 8082);
+
+    @Test
+    void chooseShouldAvoidInstanceWithInflightRequests() {
+        DefaultRequest<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+        tracker.onStartRequest(request, new DefaultResponse(paused));
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(loadBalancer.choose(List.of(healthy, paused)).getServer()).isEqualTo(healthy);
+        }
+    }
+
+    @Test
+    void completedRequestShouldRaiseLatencyCost() throws InterruptedException {
+        DefaultRequest<RequestDataContext> request = new DefaultRequest<>(new RequestDataContext());
+        DefaultResponse response = new DefaultResponse(paused);
+        tracker.onStartRequest(request, response);
+        Thread.sleep(20L);
+        tracker.onComplete(new CompletionContext<ResponseData, ServiceInstance, RequestDataContext>(
+                CompletionContext.Status.SUCCESS, request, response));
+
+        assertThat(tracker.inflight(paused)).isZero();
+        assertThat(tracker.cost(paused)).isGreaterThan(tracker.cost(healthy));
+        assertThat(loadBalancer.choose(List.of(healthy, paused)).getServer()).isEqualTo(healthy);
+    }
+
+    private static ServiceInstance instance(String instanceId, int port) {
+        return new DefaultServiceInstance(instanceId, "zeroq-back-service", "127.0.0.1", port, false);
+    }
+}
@@ -0,0 +1,99 @@
+package cloud.back.server.logback;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountingAsyncAppenderTests {
+
+    private static final int QUEUE_SIZE = 10;
+    private static final int DISCARDING_THRESHOLD = 5;
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("test");
+    private final BlockingAppender blocking = new BlockingAppender();
+    private final CountingAsyncAppender appender = new CountingAsyncAppender();
+
+    @AfterEach
+    void tearDown() {
+        blocking.release.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void infoEventsShouldBeCountedAsDiscardedBelowThreshold() throws InterruptedException {
+        start();
+
+        for (int i = 0; i < QUEUE_SIZE; i++) {
+            appender.doAppend(event(Level.INFO));
+        }
+
+        // 남은 자리가 threshold (5) 아래로 내려가면 INFO 는 큐에 넣지 않고 셉니다
+        assertThat(appender.discardedCount()).isEqualTo(QUEUE_SIZE - DISCARDING_THRESHOLD - 1);
+        assertThat(appender.queueFullCount()).isZero();
+        assertThat(appender.getNumberOfElementsInQueue()).isEqualTo(DISCARDING_THRESHOLD + 1);
+    }
+
+    @Test
+    void warnEventsShouldBeCountedAsQueueFullWhenNeverBlocking() throws InterruptedException {
+        start();
+
+        for (int i = 0; i < QUEUE_SIZE + 3; i++) {
+            appender.doAppend(event(Level.WARN));
+        }
+
+        // WARN 은 threshold 와 관계없이 큐를 채우고, 가득 찬 뒤에는 호출 스레드를 막지 않고 버립니다
+        assertThat(appender.queueFullCount()).isEqualTo(3);
+        assertThat(appender.discardedCount()).isZero();
+        assertThat(appender.getRemainingCapacity()).isZero();
+    }
+
+    // worker 가 첫 이벤트에서 멈춰 있게 해서, 이후 이벤트는 모두 큐에 남게 합니다
+    private void start() throws InterruptedException {
+        blocking.setContext(context);
+        blocking.start();
+        appender.setContext(context);
+        appender.setQueueSize(QUEUE_SIZE);
+        appender.setDiscardingThreshold(DISCARDING_THRESHOLD);
+        appender.setNeverBlock(true);
+        appender.addAppender(blocking);
+        appender.start();
+
+        appender.doAppend(event(Level.WARN));
+        assertThat(blocking.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(appender.getRemainingCapacity()).isEqualTo(QUEUE_SIZE);
+    }
+
+    private LoggingEvent event(Level level) {
+        LoggingEvent event = new LoggingEvent(Logger.class.getName(), logger, level, "event", null, null);
+        // 큐에 넣기 전 MDC 복사 (prepareForDeferredProcessing) 가 MDC adapter 없이도 되도록
+        event.setMDCPropertyMap(Map.of());
+        return event;
+    }
+
+    private static final class BlockingAppender extends AppenderBase<ILoggingEvent> {
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package cloud.back.server.logback.filter;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.status.Status;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomLogbackFilterTests {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void shouldAcceptOnlyListedLevels() {
+        CustomLogbackFilter filter = filter("WARN|ERROR");
+
+        assertThat(filter.decide(event(Level.ERROR))).isEqualTo(FilterReply.ACCEPT);
+        assertThat(filter.decide(event(Level.WARN))).isEqualTo(FilterReply.ACCEPT);
+        assertThat(filter.decide(event(Level.INFO))).isEqualTo(FilterReply.DENY);
+        assertThat(filter.decide(event(Level.DEBUG))).isEqualTo(FilterReply.DENY);
+    }
+
+    @Test
+    void shouldIgnoreSurroundingWhitespaceAndCase() {
+        CustomLogbackFilter filter = filter(" warn | Error ");
+
+        assertThat(filter.decide(event(Level.WARN))).isEqualTo(FilterReply.ACCEPT);
+        assertThat(filter.decide(event(Level.ERROR))).isEqualTo(FilterReply.ACCEPT);
+        assertThat(filter.decide(event(Level.INFO))).isEqualTo(FilterReply.DENY);
+    }
+
+    @Test
+    void unknownAndBlankEntriesShouldFallBackToDebugWithWarning() {
+        // 이전 구현 (Level.valueOf) 과 같은 결과
+        CustomLogbackFilter filter = filter("ERROR| |VERBOSE");
+
+        assertThat(filter.decide(event(Level.ERROR))).isEqualTo(FilterReply.ACCEPT);
+        assertThat(filter.decide(event(Level.DEBUG))).isEqualTo(FilterReply.ACCEPT);
+        assertThat(filter.decide(event(Level.INFO))).isEqualTo(FilterReply.DENY);
+        assertThat(context.getStatusManager().getCopyOfStatusList())
+                .anyMatch(status -> status.getLevel() == Status.WARN && status.getMessage().contains("VERBOSE"));
+    }
+
+    @Test
+    void emptyOrMissingLevelsShouldDenyEverything() {
+        assertThat(filter("").decide(event(Level.ERROR))).isEqualTo(FilterReply.DENY);
+        assertThat(filter(null).decide(event(Level.ERROR))).isEqualTo(FilterReply.DENY);
+    }
+
+    private CustomLogbackFilter filter(String levels) {
+        CustomLogbackFilter filter = new CustomLogbackFilter();
+        filter.setContext(context);
+        filter.setLevels(levels);
+        filter.start();
+        return filter;
+    }
+
+    private static LoggingEvent event(Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(level);
+        return event;
+    }
+}
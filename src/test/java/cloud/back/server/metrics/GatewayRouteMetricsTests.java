@@ -0,0 +1,50 @@
+package cloud.back.server.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayRouteMetricsTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final GatewayRouteMetrics metrics = new GatewayRouteMetrics(registry);
+
+    @Test
+    void recordShouldTagByRouteAndUpstreamService() {
+        Route route = Route.async()
+                .id("muse-back-service-api")
+                .uri("lb://MUSE-BACK-SERVER")
+                .predicate(exchange -> true)
+                .build();
+
+        metrics.meters(route).record(TimeUnit.MILLISECONDS.toNanos(12), 200, false);
+        metrics.meters(route).record(TimeUnit.MILLISECONDS.toNanos(30), 502, false);
+
+        assertThat(metrics.meters(route)).isSameAs(metrics.meters(route));
+        assertThat(registry.get(GatewayRouteMetrics.LATENCY)
+                .tag("route", "muse-back-service-api")
+                .tag("service", "MUSE-BACK-SERVER")
+                .timer().count()).isEqualTo(2);
+        assertThat(registry.get(GatewayRouteMetrics.REQUESTS)
+                .tag("route", "muse-back-service-api")
+                .tag("status", "5xx")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get(GatewayRouteMetrics.ERRORS)
+                .tag("route", "muse-back-service-api")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void recordShouldCountUnmatchedRequests() {
+        metrics.meters(null).record(TimeUnit.MILLISECONDS.toNanos(1), 404, false);
+
+        assertThat(registry.get(GatewayRouteMetrics.REQUESTS)
+                .tag("route", "unmatched")
+                .tag("status", "4xx")
+                .counter().count()).isEqualTo(1.0);
+    }
+}
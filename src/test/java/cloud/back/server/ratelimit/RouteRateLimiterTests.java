@@ -0,0 +1,62 @@
+package cloud.back.server.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteRateLimiterTests {
+
+    private final RouteRateLimiter limiter = new RouteRateLimiter(10.0, 5, Duration.ofMinutes(1), 1_000);
+
+    @Test
+    void tryAcquireShouldAllowBurstThenReject() {
+        long now = TimeUnit.SECONDS.toNanos(1_000);
+
+        for (int i = 0; i < 5; i++) {
+            RouteRateLimiter.Decision decision = limiter.tryAcquire("gateway:GW-STORE-001", now);
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.remaining()).isEqualTo(4 - i);
+        }
+        RouteRateLimiter.Decision rejected = limiter.tryAcquire("gateway:GW-STORE-001", now);
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.retryAfterNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+        assertThat(limiter.tryAcquire("gateway:GW-STORE-002", now).allowed()).isTrue();
+    }
+
+    @Test
+    void newKeysShouldBeRejectedInsteadOfEvictingActiveBuckets() {
+        RouteRateLimiter small = new RouteRateLimiter(10.0, 5, Duration.ofMinutes(1), 2);
+        long now = TimeUnit.SECONDS.toNanos(1_000);
+        for (int i = 0; i < 5; i++) {
+            small.tryAcquire("U-1", now);
+        }
+        small.tryAcquire("U-2", now);
+
+        // 키를 바꿔 보내도 U-1 의 bucket 은 밀려나지 않습니다
+        for (int i = 0; i < 100; i++) {
+            assertThat(small.tryAcquire("U-rotated-" + i, now).allowed()).isFalse();
+        }
+
+        assertThat(small.tryAcquire("U-1", now).allowed()).isFalse();
+        assertThat(small.tryAcquire("U-2", now).allowed()).isTrue();
+        assertThat(small.rejectedNewKeyCount()).isEqualTo(100);
+        assertThat(small.estimatedKeyCount()).isEqualTo(2);
+    }
+
+    @Test
+    void tryAcquireShouldRefillAtReplenishRate() {
+        long now = TimeUnit.SECONDS.toNanos(1_000);
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("U-1", now);
+        }
+
+        assertThat(limiter.tryAcquire("U-1", now + TimeUnit.MILLISECONDS.toNanos(99)).allowed()).isFalse();
+        assertThat(limiter.tryAcquire("U-1", now + TimeUnit.MILLISECONDS.toNanos(100)).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("U-1", now + TimeUnit.SECONDS.toNanos(1)).remaining()).isEqualTo(4);
+    }
+}
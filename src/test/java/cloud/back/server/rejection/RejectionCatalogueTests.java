@@ -0,0 +1,76 @@
+package cloud.back.server.rejection;
+
+import cloud.back.server.security.JwtExpiredException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.oauth2.core.OAuth2AuthenticationException;
+import org.springframework.security.oauth2.core.OAuth2Error;
+import org.springframework.security.oauth2.core.OAuth2ErrorCodes;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RejectionCatalogueTests {
+
+    private final RejectionCatalogue catalogue = new RejectionCatalogue();
+
+    @Test
+    void rejectShouldWritePreEncodedBodyWithContentLength() {
+        MockServerWebExchange exchange = exchange();
+
+        catalogue.reject(exchange, Rejection.RATE_LIMITED).block();
+
+        String expected = "{\"error\": \"Too many requests\", \"status\": 429}";
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(exchange.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(exchange.getResponse().getHeaders().getContentLength())
+                .isEqualTo(expected.getBytes(StandardCharsets.UTF_8).length);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(expected);
+    }
+
+    @Test
+    void sharedBodyShouldBeReusableAcrossResponses() {
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = exchange();
+            catalogue.reject(exchange, Rejection.CIRCUIT_OPEN).block();
+            assertThat(exchange.getResponse().getBodyAsString().block())
+                    .isEqualTo("{\"error\": \"Service temporarily unavailable\", \"status\": 503}");
+        }
+        assertThat(catalogue.count(Rejection.CIRCUIT_OPEN)).isEqualTo(3);
+        assertThat(catalogue.count(Rejection.BULKHEAD_FULL)).isZero();
+    }
+
+    @Test
+    void bearerEntryPointShouldDistinguishMissingInvalidAndExpiredTokens() {
+        MockServerWebExchange missing = exchange();
+        catalogue.bearerEntryPoint().commence(missing, new AuthenticationCredentialsNotFoundException("none")).block();
+        assertThat(missing.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+        assertThat(catalogue.count(Rejection.MISSING_TOKEN)).isEqualTo(1);
+
+        OAuth2Error error = new OAuth2Error(OAuth2ErrorCodes.INVALID_TOKEN);
+        MockServerWebExchange invalid = exchange();
+        catalogue.bearerEntryPoint().commence(invalid, new OAuth2AuthenticationException(error, "bad signature")).block();
+        assertThat(invalid.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE))
+                .isEqualTo("Bearer error=\"invalid_token\"");
+        assertThat(invalid.getResponse().getBodyAsString().block()).doesNotContain("bad signature");
+        assertThat(catalogue.count(Rejection.INVALID_TOKEN)).isEqualTo(1);
+
+        MockServerWebExchange expired = exchange();
+        catalogue.bearerEntryPoint()
+                .commence(expired, new OAuth2AuthenticationException(error, "expired", new JwtExpiredException("Jwt expired")))
+                .block();
+        assertThat(expired.getResponse().getBodyAsString().block())
+                .isEqualTo("{\"error\": \"Token has expired\", \"status\": 401}");
+        assertThat(catalogue.count(Rejection.EXPIRED_TOKEN)).isEqualTo(1);
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/muse/v1/home").build());
+    }
+}
@@ -0,0 +1,83 @@
+package cloud.back.server.route;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "gateway.routes.routes[0].id=config-example",
+        "gateway.routes.routes[0].path=/api/example/v1/**",
+        "gateway.routes.routes[0].uri=lb://example-back-service"
+})
+@ActiveProfiles("test")
+class ConfiguredRouteLocatorTests {
+
+    private static final String OVERRIDES = "configured-route-overrides";
+
+    @Autowired
+    private ConfiguredRouteLocator locator;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @AfterEach
+    void tearDown() {
+        context.getEnvironment().getPropertySources().remove(OVERRIDES);
+        locator.reload();
+    }
+
+    @Test
+    void environmentChangeShouldSwapRouteTable() {
+        assertThat(routeIds()).containsExactly("config-example");
+
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource(OVERRIDES, Map.of(
+                "gateway.routes.routes[0].id", "config-example-v2",
+                "gateway.routes.routes[0].path", "/api/example/v2/**",
+                "gateway.routes.routes[0].uri", "lb://example-back-service",
+                "gateway.routes.routes[0].method", "GET"
+        )));
+        context.publishEvent(new EnvironmentChangeEvent(context, Set.of(
+                "gateway.routes.routes[0].id", "gateway.routes.routes[0].path", "gateway.routes.routes[0].method"
+        )));
+
+        Route route = locator.getRoutes().blockFirst();
+        assertThat(route).isNotNull();
+        assertThat(route.getId()).isEqualTo("config-example-v2");
+        assertThat(route.getMetadata()).containsEntry(RouteMatchIndex.PATH, "/api/example/v2/**");
+    }
+
+    @Test
+    void unrelatedEnvironmentChangeShouldKeepRouteTable() {
+        Route before = locator.getRoutes().blockFirst();
+
+        context.publishEvent(new EnvironmentChangeEvent(context, Set.of("logging.level.cloud.back")));
+
+        assertThat(locator.getRoutes().blockFirst()).isSameAs(before);
+    }
+
+    @Test
+    void invalidConfigurationShouldKeepExistingRoutes() {
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource(OVERRIDES, Map.of(
+                "gateway.routes.routes[0].uri", ""
+        )));
+        context.publishEvent(new EnvironmentChangeEvent(context, Set.of("gateway.routes.routes[0].uri")));
+
+        assertThat(routeIds()).containsExactly("config-example");
+    }
+
+    private List<String> routeIds() {
+        return locator.getRoutes().map(Route::getId).collectList().block();
+    }
+}
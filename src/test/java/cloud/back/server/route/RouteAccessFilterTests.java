@@ -0,0 +1,79 @@
+package cloud.back.server.route;
+
+import cloud.back.server.rejection.Rejection;
+import cloud.back.server.rejection.RejectionCatalogue;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteAccessFilterTests {
+
+    private final RejectionCatalogue rejections = new RejectionCatalogue();
+    private final AtomicInteger routed = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> Mono.fromRunnable(routed::incrementAndGet);
+
+    @Test
+    void anonymousRequestShouldGetCatalogueUnauthorizedResponse() {
+        RouteAccessFilter filter = new RouteAccessFilter(true, Set.of(), rejections);
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, chain).block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.WWW_AUTHENTICATE)).isEqualTo("Bearer");
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains(Rejection.MISSING_TOKEN.message());
+        assertThat(rejections.count(Rejection.MISSING_TOKEN)).isEqualTo(1);
+        assertThat(routed).hasValue(0);
+    }
+
+    @Test
+    void wrongRoleShouldGetCatalogueForbiddenResponse() {
+        RouteAccessFilter filter = new RouteAccessFilter(true, Set.of("ADMIN"), rejections);
+        MockServerWebExchange exchange = exchange();
+
+        filter.filter(exchange, chain)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(jwt("USER")))
+                .block();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(exchange.getResponse().getBodyAsString().block()).contains(Rejection.ACCESS_DENIED.message());
+        assertThat(routed).hasValue(0);
+    }
+
+    @Test
+    void matchingRoleShouldBeRouted() {
+        RouteAccessFilter filter = new RouteAccessFilter(true, Set.of("ADMIN"), rejections);
+
+        filter.filter(exchange(), chain)
+                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(jwt("ADMIN")))
+                .block();
+
+        assertThat(routed).hasValue(1);
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/example/v1/items"));
+    }
+
+    private static JwtAuthenticationToken jwt(String role) {
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "HS512")
+                .subject("user-1")
+                .claim("role", role)
+                .build();
+        return new JwtAuthenticationToken(jwt, List.of());
+    }
+}
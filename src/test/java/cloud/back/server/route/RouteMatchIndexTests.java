@@ -0,0 +1,81 @@
+package cloud.back.server.route;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RouteMatchIndexTests {
+
+    private final RouteMatchIndex index = new RouteMatchIndex(List.of(
+            route("auth-login", "/auth/login", "POST"),
+            route("user-api-all", "/api/users/**", null),
+            route("zeroq-back-service-api", "/api/zeroq/v1/**", null),
+            route("zeroq-back-sensor-api", "/api/zeroq/v1/sensor/**", null),
+            route("muse-artwork", "/api/muse/v1/artworks/{id}", "GET"),
+            Route.async().id("unindexed").uri("lb://legacy").predicate(exchange -> true).build()
+    ));
+
+    @Test
+    void candidatesShouldPreferLongestPrefix() {
+        assertThat(ids("/api/zeroq/v1/sensor/ingest", HttpMethod.POST))
+                .containsExactly("zeroq-back-sensor-api", "zeroq-back-service-api", "unindexed");
+        assertThat(ids("/api/zeroq/v1/stores", HttpMethod.GET))
+                .containsExactly("zeroq-back-service-api", "unindexed");
+    }
+
+    @Test
+    void candidatesShouldFilterByMethod() {
+        assertThat(ids("/auth/login", HttpMethod.POST)).containsExactly("auth-login", "unindexed");
+        assertThat(ids("/auth/login", HttpMethod.GET)).containsExactly("unindexed");
+    }
+
+    @Test
+    void candidatesShouldMatchSingleSegmentVariables() {
+        assertThat(ids("/api/muse/v1/artworks/42", HttpMethod.GET)).containsExactly("muse-artwork", "unindexed");
+        assertThat(ids("/api/muse/v1/artworks/42/comments", HttpMethod.GET)).containsExactly("unindexed");
+    }
+
+    @Test
+    void prefixPatternShouldMatchItsOwnPath() {
+        assertThat(ids("/api/users", HttpMethod.POST)).containsExactly("user-api-all", "unindexed");
+        assertThat(index.indexedCount()).isEqualTo(5);
+        assertThat(index.unindexedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void unindexedRouteShouldKeepItsPositionAmongCandidates() {
+        RouteMatchIndex mixed = new RouteMatchIndex(List.of(
+                route("auth-login", "/auth/login", "POST"),
+                Route.async().id("legacy").uri("lb://legacy").predicate(exchange -> true).build(),
+                route("zeroq-back-service-api", "/api/zeroq/v1/**", null)
+        ));
+
+        assertThat(ids(mixed, "/auth/login", HttpMethod.POST)).containsExactly("auth-login", "legacy");
+        assertThat(ids(mixed, "/api/zeroq/v1/stores", HttpMethod.GET)).containsExactly("legacy", "zeroq-back-service-api");
+    }
+
+    private List<String> ids(String path, HttpMethod method) {
+        return ids(index, path, method);
+    }
+
+    private static List<String> ids(RouteMatchIndex index, String path, HttpMethod method) {
+        return index.candidates(PathContainer.parsePath(path), method).stream().map(Route::getId).toList();
+    }
+
+    private static Route route(String id, String path, String method) {
+        Route.AsyncBuilder builder = Route.async()
+                .id(id)
+                .uri("lb://" + id)
+                .predicate(exchange -> true)
+                .metadata(RouteMatchIndex.PATH, path);
+        if (method != null) {
+            builder.metadata(RouteMatchIndex.METHODS, method);
+        }
+        return builder.build();
+    }
+}
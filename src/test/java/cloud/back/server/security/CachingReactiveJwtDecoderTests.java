@@ -0,0 +1,123 @@
+package cloud.back.server.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachingReactiveJwtDecoderTests {
+
+    @Test
+    void decodeShouldSkipDelegateForRepeatedToken() {
+        AtomicInteger invocations = new AtomicInteger();
+        ReactiveJwtDecoder delegate = token -> {
+            invocations.incrementAndGet();
+            return Mono.just(jwt(token, Instant.now().plusSeconds(60)));
+        };
+        CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(delegate, newCache());
+
+        Jwt first = decoder.decode("header.payload.signature").block();
+        Jwt second = decoder.decode("header.payload.signature").block();
+
+        assertThat(second).isSameAs(first);
+        assertThat(invocations.get()).isEqualTo(1);
+        assertThat(decoder.stats().hitCount()).isEqualTo(1);
+        assertThat(decoder.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void decodeShouldNotCacheExpiredToken() {
+        AtomicInteger invocations = new AtomicInteger();
+        ReactiveJwtDecoder delegate = token -> {
+            invocations.incrementAndGet();
+            return Mono.just(jwt(token, Instant.now().minusSeconds(1)));
+        };
+        CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(delegate, newCache());
+
+        decoder.decode("header.payload.signature").block();
+        decoder.decode("header.payload.signature").block();
+
+        assertThat(invocations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void decodeShouldNotCacheFailures() {
+        AtomicInteger invocations = new AtomicInteger();
+        ReactiveJwtDecoder delegate = token -> {
+            invocations.incrementAndGet();
+            return Mono.error(new BadJwtException("invalid"));
+        };
+        CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(delegate, newCache());
+
+        assertThatThrownBy(() -> decoder.decode("header.payload.signature").block())
+                .isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("header.payload.signature").block())
+                .isInstanceOf(BadJwtException.class);
+        assertThat(invocations.get()).isEqualTo(2);
+    }
+
+    @Test
+    void decodeShouldKeepEveryClaimOfHs512TokenAcrossCacheHits() {
+        String secret = "test-jwt-secret-test-jwt-secret-test-jwt-secret-test-jwt-secret";
+        Instant issuedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        // 최상위 값이 모두 문자열인 토큰 - JSON 파싱 없이 스캔한 값으로 Jwt 를 만드는 경로
+        String token = Jwts.builder()
+                .subject("user")
+                .issuer("https://auth.example.com")
+                .audience().single("cloud-back-server")
+                .claim("tenant", "muse")
+                .claim("userKey", "U-1")
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(issuedAt.plusSeconds(600)))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+                .compact();
+        CachingReactiveJwtDecoder decoder = new CachingReactiveJwtDecoder(
+                new Hs512ReactiveJwtDecoder(new Hs512JwtVerifier(secret, Duration.ofSeconds(60))), newCache());
+
+        Jwt first = decoder.decode(token).block();
+        Jwt cached = decoder.decode(token).block();
+
+        assertThat(cached).isSameAs(first);
+        assertThat(cached.getClaimAsString(JwtClaimNames.ISS)).isEqualTo("https://auth.example.com");
+        assertThat(cached.getAudience()).containsExactly("cloud-back-server");
+        assertThat(cached.getClaimAsString("tenant")).isEqualTo("muse");
+        assertThat(cached.getClaimAsString("userKey")).isEqualTo("U-1");
+        assertThat(cached.getSubject()).isEqualTo("user");
+        assertThat(cached.getExpiresAt()).isEqualTo(issuedAt.plusSeconds(600));
+    }
+
+    private Cache<CachingReactiveJwtDecoder.TokenDigest, Jwt> newCache() {
+        return Caffeine.newBuilder()
+                .maximumWeight(1024 * 1024)
+                .weigher(CachingReactiveJwtDecoder::weigh)
+                .expireAfter(CachingReactiveJwtDecoder.expiry(Duration.ofMinutes(30)))
+                .executor(Runnable::run)
+                .recordStats()
+                .build();
+    }
+
+    private Jwt jwt(String token, Instant expiresAt) {
+        return Jwt.withTokenValue(token)
+                .header("alg", "HS512")
+                .subject("user")
+                .issuedAt(expiresAt.minusSeconds(120))
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
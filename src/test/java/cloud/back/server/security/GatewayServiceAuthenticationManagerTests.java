@@ -62,4 +62,35 @@ class GatewayServiceAuthenticationManagerTests {
         assertThatThrownBy(() -> manager.authenticate(token).block())
                 .isInstanceOf(Exception.class);
     }
+
+    @Test
+    void authenticateShouldRejectReplayedNonce() throws Exception {
+        GatewayServiceAuthProperties properties = new GatewayServiceAuthProperties();
+        properties.setSharedSecret("test-shared-secret");
+        properties.setAllowedClockSkewSeconds(300);
+        GatewayServiceAuthenticationManager manager = new GatewayServiceAuthenticationManager(properties);
+
+        String gatewayId = "GW-STORE-001";
+        String method = "POST";
+        String path = "/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat";
+        String timestamp = String.valueOf(Instant.now().toEpochMilli());
+        String nonce = UUID.randomUUID().toString();
+        String signature = GatewayServiceAuthenticationManager.hmacHex(
+                GatewayServiceAuthenticationManager.buildPayload(gatewayId, method, path, timestamp, nonce),
+                properties.getSharedSecret()
+        );
+
+        GatewayServiceAuthenticationToken token = new GatewayServiceAuthenticationToken(
+                gatewayId,
+                method,
+                path,
+                timestamp,
+                nonce,
+                signature
+        );
+
+        assertThat(manager.authenticate(token).block()).isNotNull();
+        assertThatThrownBy(() -> manager.authenticate(token).block())
+                .hasMessageContaining("nonce already used");
+    }
 }
@@ -0,0 +1,73 @@
+package cloud.back.server.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewaySignatureEngineTests {
+
+    private static final String SECRET = "test-shared-secret";
+    private static final String GATEWAY_ID = "GW-STORE-001";
+    private static final String METHOD = "POST";
+    private static final String PATH = "/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat";
+    private static final String TIMESTAMP = "1760000000000";
+    private static final String NONCE = "9f1c2d3e-0000-4000-8000-000000000001";
+
+    private final GatewaySignatureEngine engine = new GatewaySignatureEngine(SECRET);
+
+    @Test
+    void signHexShouldMatchLegacyHmacHex() throws Exception {
+        String expected = legacySignature(GATEWAY_ID, PATH);
+
+        assertThat(engine.signHex(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE)).isEqualTo(expected);
+        assertThat(engine.verify(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE, expected)).isTrue();
+    }
+
+    @Test
+    void verifyShouldMatchLegacyHmacHexForNonAsciiAndLongPayloads() throws Exception {
+        String path = "/internal/zeroq/gateway/매장/" + "x".repeat(1_000);
+        String expected = legacySignature("GW-가게-001", path);
+
+        assertThat(engine.verify("GW-가게-001", METHOD, path, TIMESTAMP, NONCE, expected)).isTrue();
+    }
+
+    @Test
+    void verifyShouldRejectSignatureForAnotherPayload() throws Exception {
+        String otherGateway = legacySignature("GW-STORE-002", PATH);
+
+        assertThat(engine.verify(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE, otherGateway)).isFalse();
+    }
+
+    @Test
+    void verifyShouldRejectMalformedHex() throws Exception {
+        String valid = legacySignature(GATEWAY_ID, PATH);
+
+        assertThat(engine.verify(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE, null)).isFalse();
+        assertThat(engine.verify(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE, "")).isFalse();
+        // 길이가 홀수이거나 짧은 / 긴 서명
+        assertThat(engine.verify(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE, valid.substring(1))).isFalse();
+        assertThat(engine.verify(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE, valid.substring(2))).isFalse();
+        assertThat(engine.verify(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE, valid + "0")).isFalse();
+        // hex 가 아닌 문자
+        assertThat(engine.verify(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE, "g" + valid.substring(1))).isFalse();
+        assertThat(engine.verify(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE, valid.substring(0, 63) + " ")).isFalse();
+    }
+
+    @Test
+    void verifyShouldRejectUpperCaseHex() throws Exception {
+        String valid = legacySignature(GATEWAY_ID, PATH);
+        String upper = valid.toUpperCase(Locale.ROOT);
+
+        assertThat(upper).isNotEqualTo(valid);
+        assertThat(engine.verify(GATEWAY_ID, METHOD, PATH, TIMESTAMP, NONCE, upper)).isFalse();
+    }
+
+    private static String legacySignature(String gatewayId, String path) throws Exception {
+        return GatewayServiceAuthenticationManager.hmacHex(
+                GatewayServiceAuthenticationManager.buildPayload(gatewayId, METHOD, path, TIMESTAMP, NONCE),
+                SECRET
+        );
+    }
+}
@@ -0,0 +1,110 @@
+package cloud.back.server.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Hs512JwtVerifierTests {
+
+    private static final String SECRET = "test-jwt-secret-test-jwt-secret-test-jwt-secret-test-jwt-secret";
+    private static final Instant NOW = Instant.ofEpochSecond(1_760_000_000L);
+
+    private final Hs512JwtVerifier verifier = new Hs512JwtVerifier(SECRET, Duration.ZERO, Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    void verifyShouldAcceptTokenIssuedByJjwt() {
+        String token = token(SECRET, NOW.plusSeconds(3600), Map.of(
+                "userKey", "U-1234567890",
+                "role", "USER",
+                "profile", Map.of("nickname", "gil\"dong", "tags", new String[]{"a", "}"})
+        ));
+
+        Hs512JwtVerifier.VerifiedToken verified = verifier.verify(token);
+
+        assertThat(verified.subject()).isEqualTo("홍길동");
+        assertThat(verified.stringClaim("userKey")).isEqualTo("U-1234567890");
+        assertThat(verified.stringClaim("role")).isEqualTo("USER");
+        assertThat(verified.stringClaim("profile")).isNull();
+        assertThat(verified.expiresAt()).isEqualTo(NOW.getEpochSecond() + 3600);
+    }
+
+    @Test
+    void verifyShouldRejectForeignSignatureAndExpiredToken() {
+        String otherSecret = SECRET.replace("test", "fake");
+
+        assertThatThrownBy(() -> verifier.verify(token(otherSecret, NOW.plusSeconds(60), Map.of())))
+                .isExactlyInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> verifier.verify(token(SECRET, NOW.minusSeconds(1), Map.of())))
+                .isInstanceOf(JwtExpiredException.class);
+        assertThatThrownBy(() -> verifier.verify("not.a.jwt"))
+                .isInstanceOf(BadJwtException.class);
+    }
+
+    @Test
+    void decoderShouldBuildJwtFromGatewayClaims() {
+        String token = token(SECRET, NOW.plusSeconds(3600), Map.of("userKey", "U-1", "role", "ADMIN"));
+
+        Jwt jwt = decoder().decode(token).block();
+
+        assertThat(jwt.getSubject()).isEqualTo("홍길동");
+        assertThat(jwt.getClaimAsString("userKey")).isEqualTo("U-1");
+        assertThat(jwt.getClaimAsString("role")).isEqualTo("ADMIN");
+        assertThat(jwt.getIssuedAt()).isEqualTo(NOW);
+        assertThat(jwt.getExpiresAt()).isEqualTo(NOW.plusSeconds(3600));
+        assertThat(jwt.getTokenValue()).isEqualTo(token);
+    }
+
+    @Test
+    void decoderShouldKeepClaimsOutsideTheGatewaySet() {
+        String token = token(SECRET, NOW.plusSeconds(3600), Map.of(
+                "userKey", "U-1",
+                "locale", "ko",
+                "iss", "https://auth.example.com",
+                "aud", List.of("cloud-back-server", "muse"),
+                "scp", List.of("artwork.read", "artwork.write"),
+                "profile", Map.of("nickname", "gildong")
+        ));
+
+        Jwt jwt = decoder().decode(token).block();
+
+        assertThat(jwt.getSubject()).isEqualTo("홍길동");
+        assertThat(jwt.getClaimAsString("userKey")).isEqualTo("U-1");
+        assertThat(jwt.getClaimAsString("locale")).isEqualTo("ko");
+        assertThat(jwt.getClaimAsString(JwtClaimNames.ISS)).isEqualTo("https://auth.example.com");
+        assertThat(jwt.getAudience()).containsExactlyInAnyOrder("cloud-back-server", "muse");
+        assertThat(jwt.getClaimAsStringList("scp")).containsExactly("artwork.read", "artwork.write");
+        assertThat(jwt.getClaimAsMap("profile")).containsEntry("nickname", "gildong");
+        assertThat(jwt.getIssuedAt()).isEqualTo(NOW);
+        assertThat(jwt.getExpiresAt()).isEqualTo(NOW.plusSeconds(3600));
+    }
+
+    private static Hs512ReactiveJwtDecoder decoder() {
+        return new Hs512ReactiveJwtDecoder(
+                new Hs512JwtVerifier(SECRET, Duration.ofSeconds(60), Clock.fixed(NOW, ZoneOffset.UTC)));
+    }
+
+    private static String token(String secret, Instant expiresAt, Map<String, ?> claims) {
+        return Jwts.builder()
+                .subject("홍길동")
+                .claims(claims)
+                .issuedAt(Date.from(NOW))
+                .expiration(Date.from(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS512)
+                .compact();
+    }
+}
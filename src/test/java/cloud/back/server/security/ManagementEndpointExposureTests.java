@@ -0,0 +1,42 @@
+package cloud.back.server.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0"
+)
+@ActiveProfiles("test")
+class ManagementEndpointExposureTests {
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void circuitBreakersShouldNotBePublicOnGatewayPort() {
+        client("local.server.port").get().uri("/actuator/circuitbreakers")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        client("local.server.port").get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void circuitBreakersShouldBeServedOnManagementPort() {
+        client("local.management.port").get().uri("/actuator/circuitbreakers")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private WebTestClient client(String portProperty) {
+        return WebTestClient.bindToServer()
+                .baseUrl("http://127.0.0.1:" + environment.getRequiredProperty(portProperty))
+                .build();
+    }
+}
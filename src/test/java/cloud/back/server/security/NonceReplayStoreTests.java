@@ -0,0 +1,64 @@
+package cloud.back.server.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NonceReplayStoreTests {
+
+    private static final long SKEW_MILLIS = 300_000L;
+    private static final long BUCKET_MILLIS = 10_000L;
+
+    private final NonceFingerprint.Hasher hasher = NonceFingerprint.hasher("test-shared-secret");
+
+    @Test
+    void recordShouldRejectReplayedNonce() {
+        NonceReplayStore store = new NonceReplayStore(SKEW_MILLIS, BUCKET_MILLIS, 16);
+        long now = 1_760_000_000_000L;
+        NonceFingerprint fingerprint = hasher.fingerprint("GW-STORE-001", "nonce-1");
+
+        assertThat(store.record(fingerprint, now, now)).isEqualTo(NonceReplayStore.Result.ACCEPTED);
+        assertThat(store.record(fingerprint, now, now + 1_000L)).isEqualTo(NonceReplayStore.Result.REPLAYED);
+        assertThat(store.record(hasher.fingerprint("GW-STORE-002", "nonce-1"), now, now))
+                .isEqualTo(NonceReplayStore.Result.ACCEPTED);
+    }
+
+    @Test
+    void recordShouldRejectTimestampOutsideWindow() {
+        NonceReplayStore store = new NonceReplayStore(SKEW_MILLIS, BUCKET_MILLIS, 16);
+        long now = 1_760_000_000_000L;
+
+        assertThat(store.record(hasher.fingerprint("GW-STORE-001", "nonce-1"), now - SKEW_MILLIS - 1, now))
+                .isEqualTo(NonceReplayStore.Result.OUT_OF_WINDOW);
+    }
+
+    @Test
+    void recordShouldFailClosedWhenBucketIsFull() {
+        NonceReplayStore store = new NonceReplayStore(SKEW_MILLIS, BUCKET_MILLIS, 4);
+        long now = 1_760_000_000_000L;
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(store.record(hasher.fingerprint("GW-STORE-001", "nonce-" + i), now, now))
+                    .isEqualTo(NonceReplayStore.Result.ACCEPTED);
+        }
+        assertThat(store.record(hasher.fingerprint("GW-STORE-001", "nonce-4"), now, now))
+                .isEqualTo(NonceReplayStore.Result.SATURATED);
+        // 가득 찬 상태에서도 기존 nonce 는 계속 replay 로 판정됩니다
+        assertThat(store.record(hasher.fingerprint("GW-STORE-001", "nonce-0"), now, now))
+                .isEqualTo(NonceReplayStore.Result.REPLAYED);
+    }
+
+    @Test
+    void recordShouldReuseBucketOnceItLeavesTheWindow() {
+        NonceReplayStore store = new NonceReplayStore(SKEW_MILLIS, BUCKET_MILLIS, 4);
+        long start = 1_760_000_000_000L;
+        for (int i = 0; i < 4; i++) {
+            store.record(hasher.fingerprint("GW-STORE-001", "nonce-" + i), start, start);
+        }
+
+        // 같은 슬롯을 쓰는 다음 주기의 버킷 - 이전 버킷은 통째로 비워집니다
+        long later = start + store.bucketCount() * BUCKET_MILLIS;
+        assertThat(store.record(hasher.fingerprint("GW-STORE-001", "nonce-4"), later, later))
+                .isEqualTo(NonceReplayStore.Result.ACCEPTED);
+    }
+}
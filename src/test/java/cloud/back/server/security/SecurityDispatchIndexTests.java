@@ -0,0 +1,72 @@
+package cloud.back.server.security;
+
+import cloud.back.server.config.SecurityConfiguration;
+import cloud.back.server.security.SecurityDispatchIndex.Chain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecurityDispatchIndexTests {
+
+    private final SecurityDispatchIndex index = new SecurityConfiguration().securityDispatchIndex();
+
+    @Test
+    void chainForShouldFollowConfiguredChainOrder() {
+        assertThat(chain(MockServerHttpRequest.get("/.well-known/jwks.json"))).isEqualTo(Chain.PUBLIC);
+        // actuator 는 management 포트 전용 - 게이트웨이 포트에서는 공개 체인이 아닙니다
+        assertThat(chain(MockServerHttpRequest.get("/actuator/prometheus"))).isEqualTo(Chain.DEFAULT);
+        assertThat(chain(MockServerHttpRequest.post("/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat")))
+                .isEqualTo(Chain.GATEWAY_SERVICE);
+        assertThat(chain(MockServerHttpRequest.get("/api/zeroq/v1/stores/42"))).isEqualTo(Chain.DEFAULT);
+        // permitAll 규칙은 메서드까지 봅니다
+        assertThat(chain(MockServerHttpRequest.delete("/api/muse/v1/artworks/42"))).isEqualTo(Chain.DEFAULT);
+    }
+
+    @Test
+    void anonymousPermitAllRequestShouldSkipDefaultChain() {
+        assertThat(chain(MockServerHttpRequest.get("/api/muse/v1/artworks/42"))).isEqualTo(Chain.PUBLIC);
+        assertThat(chain(MockServerHttpRequest.post("/api/users"))).isEqualTo(Chain.PUBLIC);
+        assertThat(chain(MockServerHttpRequest.get("/api/muse/v1/artworks/42")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")))
+                .isEqualTo(Chain.DEFAULT);
+    }
+
+    @Test
+    void decisionsShouldBeMemoisedPerPathAndMethod() {
+        chain(MockServerHttpRequest.get("/api/muse/v1/gallery/7"));
+        chain(MockServerHttpRequest.get("/api/muse/v1/gallery/7").header(HttpHeaders.AUTHORIZATION, "Bearer token"));
+        chain(MockServerHttpRequest.post("/api/muse/v1/gallery/7"));
+
+        assertThat(index.cache().estimatedSize()).isEqualTo(2);
+        assertThat(index.cache().stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void pathsThatOnlyDifferInIdsShouldShareOneCacheEntry() {
+        for (int id = 0; id < 100; id++) {
+            assertThat(chain(MockServerHttpRequest.get("/api/zeroq/v1/stores/" + id + "/sensors"))).isEqualTo(Chain.DEFAULT);
+            assertThat(chain(MockServerHttpRequest.get("/api/muse/v1/artworks/" + id + ";lang=ko"))).isEqualTo(Chain.PUBLIC);
+        }
+
+        assertThat(index.cache().estimatedSize()).isEqualTo(2);
+    }
+
+    @Test
+    void cacheKeyShouldKeepSegmentsThatRulesMatchLiterally() {
+        // 리터럴 segment 와 trailing slash 는 판정을 바꿀 수 있으므로 그대로 둡니다
+        assertThat(index.cacheKey(PathContainer.parsePath("/api/users"))).isEqualTo("/api/users");
+        assertThat(index.cacheKey(PathContainer.parsePath("/api/users/"))).isEqualTo("/api/users/");
+        assertThat(index.cacheKey(PathContainer.parsePath("/api/users/42;v=1"))).isEqualTo("/api/users/*");
+        assertThat(index.cacheKey(PathContainer.parsePath("/api/zeroq/v1/stores/42"))).isEqualTo("/api/zeroq/v1/*/*");
+        assertThat(chain(MockServerHttpRequest.post("/api/users"))).isEqualTo(Chain.PUBLIC);
+        assertThat(chain(MockServerHttpRequest.post("/api/users/42"))).isEqualTo(Chain.DEFAULT);
+    }
+
+    private Chain chain(MockServerHttpRequest.BaseBuilder<?> request) {
+        return index.chainFor(MockServerWebExchange.from(request));
+    }
+}
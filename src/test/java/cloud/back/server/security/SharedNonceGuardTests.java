@@ -0,0 +1,202 @@
+package cloud.back.server.security;
+
+import cloud.back.server.config.GatewayServiceAuthProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SharedNonceGuardTests {
+
+    private final InMemorySharedNonceStore store = new InMemorySharedNonceStore();
+    private final List<SharedNonceGuard> guards = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        guards.forEach(SharedNonceGuard::destroy);
+    }
+
+    @Test
+    void replayOnAnotherNodeShouldBeRejectedImmediately() throws Exception {
+        GatewayServiceAuthenticationManager nodeA = manager("node-a");
+        GatewayServiceAuthenticationManager nodeB = manager("node-b");
+        GatewayServiceAuthenticationToken token = signedToken();
+
+        // node A 는 저장소가 기록을 확인한 뒤에 수락하므로, 바로 보낸 replay 도 node B 에서 거절됩니다
+        assertThat(nodeA.authenticate(token).block()).isNotNull();
+        assertThatThrownBy(() -> nodeB.authenticate(token).block())
+                .hasMessageContaining("nonce already used");
+    }
+
+    @Test
+    void replayWithinTheBatchWindowShouldBeRejected() {
+        GatewayServiceAuthProperties propertiesA = properties("node-a");
+        GatewayServiceAuthProperties propertiesB = properties("node-b");
+        propertiesA.getSharedNonce().setMaxBatchDelay(Duration.ofMillis(100));
+        propertiesB.getSharedNonce().setMaxBatchDelay(Duration.ofMillis(100));
+        SharedNonceGuard guardA = new SharedNonceGuard(store, propertiesA);
+        SharedNonceGuard guardB = new SharedNonceGuard(store, propertiesB);
+        guards.add(guardA);
+        guards.add(guardB);
+        NonceFingerprint fingerprint = NonceFingerprint.hasher("test-shared-secret").fingerprint("GW-STORE-001", "nonce-1");
+        long now = System.currentTimeMillis();
+
+        // 두 노드의 claim 이 모두 배치 대기 중일 때 같은 nonce 가 들어와도 한 쪽만 수락됩니다
+        List<Boolean> results = Flux.merge(
+                guardA.claim(fingerprint, now + 300_000L, now),
+                guardB.claim(fingerprint, now + 300_000L, now)
+        ).collectList().block(Duration.ofSeconds(2));
+
+        assertThat(results).containsExactlyInAnyOrder(Boolean.TRUE, Boolean.FALSE);
+        assertThat(guardA.remoteCheckCount() + guardB.remoteCheckCount()).isEqualTo(2);
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void propagatedReplayShouldBeRejectedWithoutRemoteCheck() throws Exception {
+        GatewayServiceAuthenticationManager nodeA = manager("node-a");
+        GatewayServiceAuthenticationManager nodeB = manager("node-b");
+        GatewayServiceAuthenticationToken token = signedToken();
+
+        assertThat(nodeA.authenticate(token).block()).isNotNull();
+        awaitPublished(1);
+
+        assertThatThrownBy(() -> nodeB.authenticate(token).block())
+                .hasMessageContaining("nonce already used");
+        assertThat(guards.get(1).knownDuplicateCount()).isEqualTo(1);
+        assertThat(guards.get(1).remoteCheckCount()).isZero();
+    }
+
+    @Test
+    void freshNoncesShouldBeConfirmedByTheStore() throws Exception {
+        GatewayServiceAuthenticationManager nodeA = manager("node-a");
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(nodeA.authenticate(signedToken()).block()).isNotNull();
+        }
+        assertThat(guards.get(0).remoteCheckCount()).isEqualTo(10);
+        assertThat(guards.get(0).knownDuplicateCount()).isZero();
+        assertThat(store.size()).isEqualTo(10);
+    }
+
+    @Test
+    void claimsShouldBeShedOnceTheBatchQueueIsFull() {
+        // 응답하지 않는 저장소 - 배치가 끝나지 않아 claim 이 큐에 쌓입니다
+        SharedNonceStore stalled = new SharedNonceStore() {
+            @Override
+            public Mono<List<Boolean>> claimAll(String nodeId, List<NonceClaim> claims) {
+                return Mono.never();
+            }
+
+            @Override
+            public Flux<NonceClaim> claimsFromOtherNodes(String nodeId) {
+                return Flux.never();
+            }
+        };
+        GatewayServiceAuthProperties properties = properties("node-a");
+        properties.getSharedNonce().setMaxBatchSize(1);
+        properties.getSharedNonce().setMaxPendingClaims(8);
+        SharedNonceGuard guard = new SharedNonceGuard(stalled, properties);
+        guards.add(guard);
+        NonceFingerprint.Hasher hasher = NonceFingerprint.hasher("test-shared-secret");
+        long now = System.currentTimeMillis();
+
+        AtomicInteger rejected = new AtomicInteger();
+        for (int i = 0; i < 1_000; i++) {
+            // 저장소가 확인하기 전에는 완료되지 않으므로 기다리지 않고 구독만 합니다
+            guard.claim(hasher.fingerprint("GW-STORE-001", "nonce-" + i), now + 60_000L, now)
+                    .subscribe(claimed -> { }, ex -> rejected.incrementAndGet());
+        }
+
+        // 저장소로 보낸 배치 하나 (1) + 큐 (8) 를 넘는 claim 은 모두 거절됩니다
+        assertThat(rejected.get()).isGreaterThanOrEqualTo(991);
+        assertThat(guard.sheddedCount()).isEqualTo(rejected.get());
+        assertThatThrownBy(() -> guard.claim(hasher.fingerprint("GW-STORE-001", "late"), now + 60_000L, now).block())
+                .hasMessageContaining("queue is full");
+    }
+
+    @Test
+    void concurrentClaimsShouldAllReachTheStore() throws Exception {
+        GatewayServiceAuthProperties properties = properties("node-a");
+        SharedNonceGuard guard = new SharedNonceGuard(store, properties);
+        guards.add(guard);
+        NonceFingerprint.Hasher hasher = NonceFingerprint.hasher("test-shared-secret");
+        long now = System.currentTimeMillis();
+        int threads = 8;
+        int perThread = 500;
+
+        // 여러 event loop 에서 동시에 claim 해도 경합으로 버리는 claim 이 없어야 합니다
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        NonceFingerprint fingerprint = hasher.fingerprint("GW-STORE-001", "nonce-" + thread + "-" + i);
+                        assertThat(guard.claim(fingerprint, now + 60_000L, now).block()).isTrue();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        awaitPublished(threads * perThread);
+        assertThat(guard.sheddedCount()).isZero();
+    }
+
+    private GatewayServiceAuthenticationManager manager(String nodeId) {
+        GatewayServiceAuthProperties properties = properties(nodeId);
+        SharedNonceGuard guard = new SharedNonceGuard(store, properties);
+        guards.add(guard);
+        return new GatewayServiceAuthenticationManager(properties, guard);
+    }
+
+    private static GatewayServiceAuthProperties properties(String nodeId) {
+        GatewayServiceAuthProperties properties = new GatewayServiceAuthProperties();
+        properties.setSharedSecret("test-shared-secret");
+        properties.setAllowedClockSkewSeconds(300);
+        properties.getSharedNonce().setEnabled(true);
+        properties.getSharedNonce().setNodeId(nodeId);
+        return properties;
+    }
+
+    private GatewayServiceAuthenticationToken signedToken() throws Exception {
+        String gatewayId = "GW-STORE-001";
+        String method = "POST";
+        String path = "/internal/zeroq/gateway/sensor/ingest/gateway-heartbeat";
+        String timestamp = String.valueOf(Instant.now().toEpochMilli());
+        String nonce = UUID.randomUUID().toString();
+        String signature = GatewayServiceAuthenticationManager.hmacHex(
+                GatewayServiceAuthenticationManager.buildPayload(gatewayId, method, path, timestamp, nonce),
+                "test-shared-secret"
+        );
+        return new GatewayServiceAuthenticationToken(gatewayId, method, path, timestamp, nonce, signature);
+    }
+
+    private void awaitPublished(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2_000L;
+        while (store.publishedCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5L);
+        }
+        assertThat(store.publishedCount()).isEqualTo(expected);
+    }
+}
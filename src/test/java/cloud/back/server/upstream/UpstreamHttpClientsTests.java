@@ -0,0 +1,68 @@
+package cloud.back.server.upstream;
+
+import cloud.back.server.config.UpstreamClientProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UpstreamHttpClientsTests {
+
+    private final UpstreamClientProperties properties = new UpstreamClientProperties();
+    private final UpstreamHttpClients clients = new UpstreamHttpClients(properties, new HttpClientProperties());
+
+    @AfterEach
+    void tearDown() {
+        clients.destroy();
+    }
+
+    @Test
+    void poolForShouldMergeServiceOverridesWithDefaults() {
+        UpstreamClientProperties.Pool sensor = new UpstreamClientProperties.Pool();
+        sensor.setProtocol(UpstreamClientProperties.Protocol.H2C);
+        sensor.setMaxConnections(8);
+        properties.getServices().put("zeroq-back-sensor", sensor);
+
+        UpstreamClientProperties.Pool merged = properties.poolFor("zeroq-back-sensor");
+
+        assertThat(merged.getProtocol()).isEqualTo(UpstreamClientProperties.Protocol.H2C);
+        assertThat(merged.getMaxConnections()).isEqualTo(8);
+        assertThat(merged.getPendingAcquireTimeout()).isEqualTo(Duration.ofSeconds(5));
+        assertThat(properties.poolFor("muse-back-service").getMaxConnections()).isEqualTo(500);
+    }
+
+    @Test
+    void httpClientShouldBeCreatedOncePerServiceWithConfiguredProtocol() {
+        UpstreamClientProperties.Pool sensor = new UpstreamClientProperties.Pool();
+        sensor.setProtocol(UpstreamClientProperties.Protocol.H2C);
+        properties.getServices().put("zeroq-back-sensor", sensor);
+
+        assertThat(clients.httpClient("zeroq-back-sensor")).isSameAs(clients.httpClient("zeroq-back-sensor"));
+        assertThat(clients.httpClient("zeroq-back-sensor").configuration().protocols()).containsExactly(HttpProtocol.H2C);
+        assertThat(clients.httpClient("muse-back-service").configuration().protocols()).containsExactly(HttpProtocol.HTTP11);
+    }
+
+    @Test
+    void httpClientShouldApplyGatewayHttpClientSettingsAndCustomizers() {
+        HttpClientProperties gatewayProperties = new HttpClientProperties();
+        gatewayProperties.setResponseTimeout(Duration.ofSeconds(3));
+        gatewayProperties.setWiretap(true);
+        HttpClientCustomizer customizer = httpClient -> httpClient.headers(headers -> headers.set("X-Customized", "true"));
+        UpstreamHttpClients customized = new UpstreamHttpClients(properties, gatewayProperties, null, List.of(customizer));
+        try {
+            HttpClient client = customized.httpClient("muse-back-service");
+
+            assertThat(client.configuration().responseTimeout()).isEqualTo(Duration.ofSeconds(3));
+            assertThat(client.configuration().headers().get("X-Customized")).isEqualTo("true");
+        } finally {
+            customized.destroy();
+        }
+    }
+}